@@ -0,0 +1,119 @@
+package com.reciclamais.waste_management.config;
+
+import com.reciclamais.waste_management.config.SessionAttributeSerializer.Format;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.servlet.FlashMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização dos atributos de uma sessão autenticada (contexto de
+ * segurança, token CSRF e mensagem de redirecionamento) por
+ * {@link SessionAttributeSerializer}: serialização Java ({@code java}),
+ * formato compacto com o limite de compressão padrão ({@code compact}) e
+ * comprimindo todos os valores ({@code compact-deflate}).
+ *
+ * Mede o tempo para gravar e para ler todos os atributos; o tamanho da
+ * sessão em bytes (total e por atributo) é impresso no início de cada
+ * execução. Execute com {@code gradle jmh -Pjmh.include=SessionSerialization}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionSerializationBenchmark {
+
+    @Param({"java", "compact", "compact-deflate"})
+    private String serializerName;
+
+    private SessionAttributeSerializer serializer;
+    private Map<String, Object> attributes;
+    private List<byte[]> serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        serializer = switch (serializerName) {
+            case "java" -> new SessionAttributeSerializer(Format.JAVA, 0, classLoader);
+            case "compact" -> new SessionAttributeSerializer(Format.COMPACT, 1024, classLoader);
+            case "compact-deflate" -> new SessionAttributeSerializer(Format.COMPACT, 0, classLoader);
+            default -> throw new IllegalArgumentException("Serializador desconhecido: " + serializerName);
+        };
+        attributes = sessionAttributes();
+        serialized = serialize();
+        int bytes = serialized.stream().mapToInt(value -> value.length).sum();
+        System.out.printf("%n%s: %d bytes por sessão%n", serializerName, bytes);
+        int index = 0;
+        for (String name : attributes.keySet()) {
+            System.out.printf("  %s: %d bytes%n", name, serialized.get(index++).length);
+        }
+    }
+
+    @Benchmark
+    public List<byte[]> serialize() throws IOException {
+        List<byte[]> values = new ArrayList<>(attributes.size());
+        for (Object value : attributes.values()) {
+            values.add(serializer.serializeToByteArray(value));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<Object> deserialize() throws IOException {
+        List<Object> values = new ArrayList<>(serialized.size());
+        for (byte[] value : serialized) {
+            values.add(serializer.deserializeFromByteArray(value));
+        }
+        return values;
+    }
+
+    private static Map<String, Object> sessionAttributes() {
+        UserDetails user = User.withUsername("maria.silva@example.com")
+                .password("")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                .build();
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("192.168.0.15", UUID.randomUUID().toString()));
+
+        FlashMap flashMap = new FlashMap();
+        flashMap.put("message", "Resíduo registrado com sucesso!");
+        flashMap.put("messageType", "alert-success");
+        flashMap.setTargetRequestPath("/waste/register");
+        flashMap.startExpirationPeriod(180);
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(authentication));
+        attributes.put("org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository.CSRF_TOKEN",
+                new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", UUID.randomUUID().toString()));
+        attributes.put("org.springframework.web.servlet.support.SessionFlashMapManager.FLASH_MAPS",
+                new ArrayList<>(List.of(flashMap)));
+        return attributes;
+    }
+}
@@ -0,0 +1,70 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.dto.WastePredictionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas do dashboard sobre os motores de análise em memória: agregação
+ * por tipo com conversão para DTOs ({@link WasteService#getWasteByType()}),
+ * ranking de usuários ({@link WasteService#getUserRankings()}) e regressão
+ * da previsão ({@link ForecastService#predictNextMonthWaste()}).
+ *
+ * Execute com {@code gradle jmh}; o profiler de GC informa a taxa de alocação
+ * ({@code gc.alloc.rate.norm}, bytes por operação).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardQueriesBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int wastes;
+
+    @Param({"aggregates", "columnar"})
+    private String engine;
+
+    private WasteService wasteService;
+    private ForecastService forecastService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WasteAnalytics analytics = WasteDataset.load(engine, wastes);
+        // Sem repositórios: com os dados carregados, as consultas não acessam o banco
+        wasteService = new WasteService(null, null, null, analytics, null);
+        forecastService = new ForecastService(null, analytics);
+    }
+
+    @Benchmark
+    public List<TypeWasteDTO> wasteByType() {
+        return wasteService.getWasteByType();
+    }
+
+    @Benchmark
+    public List<UserRankingDTO> userRankings() {
+        return wasteService.getUserRankings();
+    }
+
+    @Benchmark
+    public WastePredictionDTO nextMonthForecast() {
+        return forecastService.predictNextMonthWaste();
+    }
+}
@@ -0,0 +1,117 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Conjuntos de resíduos em memória para os benchmarks, carregados diretamente
+ * nos motores de análise ({@link WasteAggregateStore} e {@link WasteColumnStore})
+ * sem passar pelo banco de dados.
+ *
+ * Os resíduos são gerados com semente fixa: 36 meses de histórico, tipos
+ * uniformes, 60% reciclados e poucos usuários concentrando a maior parte dos
+ * registros.
+ */
+final class WasteDataset {
+
+    private static final long SEED = 42;
+    private static final int MAX_USERS = 10_000;
+    private static final int MONTHS = 36;
+    private static final int CHUNK_SIZE = 100_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+
+    private WasteDataset() {
+    }
+
+    /**
+     * Cria o motor de análise e o carrega com {@code wastes} resíduos.
+     *
+     * @param engine aggregates ou columnar, como {@code waste.analytics.engine}
+     * @param wastes Quantidade de resíduos
+     * @return Motor de análise pronto para consultas
+     */
+    static WasteAnalytics load(String engine, int wastes) {
+        return switch (engine) {
+            case "aggregates" -> fill(aggregateStore(), wastes);
+            case "columnar" -> fill(columnStore(), wastes);
+            default -> throw new IllegalArgumentException("Motor de análise desconhecido: " + engine);
+        };
+    }
+
+    private static WasteAggregateStore aggregateStore() {
+        // A reconstrução consulta apenas os agrupamentos, vazios no início
+        WasteRepository emptyRepository = (WasteRepository) Proxy.newProxyInstance(
+                WasteRepository.class.getClassLoader(), new Class<?>[]{WasteRepository.class},
+                (proxy, method, args) -> List.of());
+        SingleConnectionDataSource dataSource =
+                new SingleConnectionDataSource("jdbc:h2:mem:jmh-" + System.nanoTime(), true);
+        WasteAggregateStore store = new WasteAggregateStore(emptyRepository,
+                new DataSourceTransactionManager(dataSource), true);
+        store.rebuild();
+        dataSource.destroy();
+        return store;
+    }
+
+    private static WasteColumnStore columnStore() {
+        // Tabelas vazias apenas para a carga inicial das colunas
+        SingleConnectionDataSource dataSource =
+                new SingleConnectionDataSource("jdbc:h2:mem:jmh-" + System.nanoTime(), true);
+        new JdbcTemplate(dataSource).execute(
+                "CREATE TABLE tb_users (id BIGINT PRIMARY KEY, name VARCHAR(50));" +
+                "CREATE TABLE tb_waste (date DATE, weight DOUBLE, type VARCHAR(20), user_id BIGINT, recycled BOOLEAN)");
+        WasteColumnStore store = new WasteColumnStore(dataSource, new DataSourceTransactionManager(dataSource));
+        store.rebuild();
+        dataSource.destroy();
+        return store;
+    }
+
+    private static <T extends WasteAnalytics> T fill(T store, int wastes) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<User> users = users(Math.max(1, Math.min(MAX_USERS, wastes / 10)));
+        Type[] types = Type.values();
+        List<Waste> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < wastes; i++) {
+            double skew = random.nextDouble();
+            User user = users.get((int) (skew * skew * users.size()));
+            LocalDate date = FIRST_DAY.plusMonths(random.nextInt(MONTHS)).plusDays(random.nextInt(28));
+            chunk.add(new Waste(null, types[random.nextInt(types.length)], 0.5 + random.nextDouble() * 50,
+                    date, "Coleta de benchmark", user, random.nextDouble() < 0.6));
+            if (chunk.size() == CHUNK_SIZE) {
+                publish(store, chunk);
+            }
+        }
+        publish(store, chunk);
+        return store;
+    }
+
+    private static void publish(WasteAnalytics store, List<Waste> chunk) {
+        WasteRecordedEvent event = new WasteRecordedEvent(List.copyOf(chunk));
+        if (store instanceof WasteAggregateStore aggregates) {
+            aggregates.onWasteRecorded(event);
+        } else {
+            ((WasteColumnStore) store).onWasteRecorded(event);
+        }
+        chunk.clear();
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new User((long) i, "Usuário " + i, "usuario" + i + "@example.com", "senha", TypeUser.USER));
+        }
+        return users;
+    }
+}
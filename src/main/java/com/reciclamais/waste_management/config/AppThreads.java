@@ -0,0 +1,49 @@
+package com.reciclamais.waste_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fábrica das threads dos executores da aplicação (widgets do dashboard,
+ * stream de atualizações e fila de gravação).
+ *
+ * Com {@code spring.threads.virtual.enabled=true} em Java 21 ou superior
+ * (perfil {@code virtual-threads}), as threads criadas são virtuais, como as
+ * que atendem as requisições do Tomcat; caso contrário, são threads de
+ * plataforma nomeadas com o prefixo informado.
+ */
+@Component
+public class AppThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppThreads.class);
+
+    private final boolean virtual;
+
+    public AppThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        logger.info("Executores da aplicação com threads {}", virtual ? "virtuais" : "de plataforma");
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Cria a fábrica de threads de um executor.
+     *
+     * @param prefix Prefixo do nome das threads
+     * @return Fábrica de threads virtuais ou de plataforma
+     */
+    public ThreadFactory factory(String prefix) {
+        return virtual
+                ? new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory()
+                : new CustomizableThreadFactory(prefix);
+    }
+}
@@ -0,0 +1,144 @@
+package com.reciclamais.waste_management.config;
+
+import com.reciclamais.waste_management.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt executado em um pool dedicado e limitado.
+ *
+ * O hash de senhas (cadastro, login e usuários iniciais) é intencionalmente
+ * caro; executado nas threads das requisições, um pico de cadastros ocupa
+ * todos os núcleos e atrasa o dashboard. Aqui no máximo {@code threads}
+ * hashes rodam ao mesmo tempo, com até {@code queueCapacity} aguardando; a
+ * requisição espera o resultado por até {@code maxWait}. Fila cheia ou espera
+ * excedida geram {@link PasswordHashingBusyException} (503).
+ *
+ * {@link #upgradeEncoding(String)} indica rehash sempre que o custo do hash
+ * armazenado difere do configurado, para mais ou para menos; no login o Spring
+ * Security grava o novo hash pelo {@code UserDetailsPasswordService}.
+ *
+ * Métricas: {@code reciclamais.password.hash} (tempo do hash, tag operation),
+ * {@code reciclamais.password.hash.wait} (espera na fila),
+ * {@code reciclamais.password.hash.rejected} e {@code reciclamais.password.hash.queued}.
+ */
+public class BoundedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedBCryptPasswordEncoder.class);
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public BoundedBCryptPasswordEncoder(int strength, int threads, int queueCapacity, Duration maxWait,
+                                        MeterRegistry registry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.maxWait = maxWait;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.waitTimer = Timer.builder("reciclamais.password.hash.wait")
+                .description("Espera na fila do executor de hash de senhas")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("reciclamais.password.hash.rejected")
+                .description("Hashes recusados por sobrecarga")
+                .register(registry);
+        Gauge.builder("reciclamais.password.hash.queued", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        logger.info("Hash de senhas: BCrypt custo {}, {} threads, fila de {}, espera máxima {}",
+                strength, threads, queueCapacity, maxWait);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> hash) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Muitas senhas sendo processadas, tente novamente em instantes");
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            // Libera o lugar na fila se o hash ainda não começou
+            executor.remove((Runnable) future);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Tempo de espera do hash de senha excedido (" + maxWait + ")");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrompido aguardando o hash de senha");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha no hash de senha", e.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("reciclamais.password.hash")
+                .description("Tempo de cálculo do hash BCrypt")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,520 @@
+package com.reciclamais.waste_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cache local de sessões na frente do {@link JdbcIndexedSessionRepository}.
+ *
+ * Sem o cache, toda requisição autenticada lê a sessão com os atributos
+ * serializados e grava o último acesso de volta. Aqui:
+ *
+ * 1. Leitura
+ *    - Cada requisição consulta apenas a linha da sessão pela chave
+ *      (versão e último acesso); os atributos vêm do cache
+ *      enquanto a versão for a mesma
+ *    - Versão diferente (outra instância alterou a sessão) ou sessão fora do
+ *      cache: a sessão é lida completa, com os atributos
+ *
+ * 2. Gravação
+ *    - Alterações de atributos, do id, da validade ou do usuário gravam a linha
+ *      e os atributos alterados e incrementam {@code VERSION}
+ *    - Quando só o último acesso mudou, ele é gravado no máximo uma vez a cada
+ *      {@code flushInterval} por sessão, sem alterar a versão
+ *
+ * 3. Expiração
+ *    - Como o último acesso no banco pode estar atrasado em até
+ *      {@code flushInterval}, a limpeza só remove sessões expiradas há mais
+ *      que esse intervalo, em lotes ({@link #cleanUpExpiredSessions()})
+ *
+ * 4. Limite
+ *    - No máximo {@code maxSize} sessões em cache; ao exceder, a acessada há
+ *      mais tempo é removida
+ */
+public class CachingSessionRepository implements FindByIndexNameSessionRepository<CachingSessionRepository.CachedSession> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingSessionRepository.class);
+
+    private static final String SELECT_ROW =
+            "SELECT PRIMARY_ID, VERSION, LAST_ACCESS_TIME FROM SPRING_SESSION WHERE SESSION_ID = ?";
+    private static final String SELECT_SESSION =
+            "SELECT S.CREATION_TIME, S.LAST_ACCESS_TIME, S.MAX_INACTIVE_INTERVAL, SA.ATTRIBUTE_NAME, SA.ATTRIBUTE_BYTES " +
+            "FROM SPRING_SESSION S LEFT JOIN SPRING_SESSION_ATTRIBUTES SA ON S.PRIMARY_ID = SA.SESSION_PRIMARY_ID " +
+            "WHERE S.PRIMARY_ID = ?";
+    private static final String INSERT_SESSION =
+            "INSERT INTO SPRING_SESSION (PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, " +
+            "MAX_INACTIVE_INTERVAL, EXPIRY_TIME, PRINCIPAL_NAME, VERSION) VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String UPDATE_SESSION =
+            "UPDATE SPRING_SESSION SET SESSION_ID = ?, LAST_ACCESS_TIME = ?, MAX_INACTIVE_INTERVAL = ?, " +
+            "EXPIRY_TIME = ?, PRINCIPAL_NAME = ?, VERSION = VERSION + 1 WHERE SESSION_ID = ?";
+    private static final String TOUCH_SESSION =
+            "UPDATE SPRING_SESSION SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? " +
+            "WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?";
+    private static final String INSERT_ATTRIBUTE =
+            "INSERT INTO SPRING_SESSION_ATTRIBUTES (SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES) VALUES (?, ?, ?)";
+    private static final String UPDATE_ATTRIBUTE =
+            "UPDATE SPRING_SESSION_ATTRIBUTES SET ATTRIBUTE_BYTES = ? WHERE SESSION_PRIMARY_ID = ? AND ATTRIBUTE_NAME = ?";
+    private static final String DELETE_ATTRIBUTE =
+            "DELETE FROM SPRING_SESSION_ATTRIBUTES WHERE SESSION_PRIMARY_ID = ? AND ATTRIBUTE_NAME = ?";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM SPRING_SESSION WHERE PRIMARY_ID IN " +
+            "(SELECT PRIMARY_ID FROM SPRING_SESSION WHERE EXPIRY_TIME < ? FETCH FIRST ? ROWS ONLY)";
+
+    private static final TypeDescriptor OBJECT = TypeDescriptor.valueOf(Object.class);
+    private static final TypeDescriptor BYTES = TypeDescriptor.valueOf(byte[].class);
+
+    private final JdbcIndexedSessionRepository delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactionOperations;
+    private final ConversionService conversionService;
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+    private final Duration flushInterval;
+    private final int cleanupBatchSize;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long stale;
+    private long evictions;
+    private long coalesced;
+    private long flushes;
+
+    public CachingSessionRepository(JdbcIndexedSessionRepository delegate, JdbcTemplate jdbcTemplate,
+                                    TransactionOperations transactionOperations, ConversionService conversionService,
+                                    Duration flushInterval, int cleanupBatchSize, int maxSize) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionOperations = transactionOperations;
+        this.conversionService = conversionService;
+        this.flushInterval = flushInterval;
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CachingSessionRepository.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        logger.info("Cache de sessões criado (máximo: {}, gravação do último acesso: a cada {})", maxSize, flushInterval);
+    }
+
+    /**
+     * Contadores do cache: acertos, leituras completas (sessão fora do cache),
+     * versões desatualizadas, remoções por limite, últimos acessos não gravados
+     * (agrupados) e gravados.
+     */
+    public record Stats(long hits, long misses, long stale, long evictions, long coalesced, long flushes, int size) {
+    }
+
+    @Override
+    public CachedSession createSession() {
+        // A sessão do repositório JDBC traz o id e a validade configurados; nada é gravado aqui
+        return new CachedSession(new MapSession(delegate.createSession()), null);
+    }
+
+    @Override
+    public CachedSession findById(String id) {
+        Row row = findRow(id);
+        if (row == null) {
+            evict(id);
+            return null;
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+            if (entry != null && entry.version == row.version() && entry.primaryId.equals(row.primaryId())) {
+                hits++;
+            } else {
+                if (entry != null) {
+                    stale++;
+                }
+                misses++;
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            entry = load(id, row);
+            if (entry == null) {
+                return null;
+            }
+        }
+
+        MapSession copy;
+        synchronized (entry) {
+            // Outra instância pode ter gravado um acesso mais recente
+            if (row.lastAccess().isAfter(entry.session.getLastAccessedTime())) {
+                entry.session.setLastAccessedTime(row.lastAccess());
+            }
+            copy = new MapSession(entry.session);
+        }
+        if (isExpired(copy)) {
+            evict(id);
+            return null;
+        }
+        return new CachedSession(copy, entry);
+    }
+
+    @Override
+    public void save(CachedSession session) {
+        synchronized (session) {
+            if (session.entry == null) {
+                insert(session);
+            } else if (session.hasChanges()) {
+                update(session);
+            } else {
+                touch(session);
+            }
+            session.clearChanges();
+        }
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+        evict(id);
+    }
+
+    @Override
+    public Map<String, CachedSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        return delegate.findByIndexNameAndIndexValue(indexName, indexValue).keySet().stream()
+                .map(this::findById)
+                .filter(session -> session != null)
+                .collect(Collectors.toMap(CachedSession::getId, session -> session));
+    }
+
+    /**
+     * Remove do banco, em lotes de {@code cleanupBatchSize}, as sessões
+     * expiradas há mais de {@code flushInterval}, e do cache as expiradas.
+     *
+     * @return Quantidade de sessões removidas do banco
+     */
+    public int cleanUpExpiredSessions() {
+        long before = Instant.now().minus(flushInterval).toEpochMilli();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = transactionOperations.execute(status -> jdbcTemplate.update(DELETE_EXPIRED, before, cleanupBatchSize));
+            deleted += batch;
+        } while (batch == cleanupBatchSize);
+
+        synchronized (this) {
+            entries.values().removeIf(entry -> {
+                synchronized (entry) {
+                    return isExpired(entry.session);
+                }
+            });
+        }
+        if (deleted > 0) {
+            logger.info("{} sessões expiradas removidas", deleted);
+        }
+        return deleted;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, stale, evictions, coalesced, flushes, entries.size());
+    }
+
+    private Entry load(String id, Row row) {
+        // Leitura própria em vez de delegate.findById: o repositório JDBC removeria como expirada uma
+        // sessão cujo último acesso ainda não foi gravado
+        MapSession loaded = jdbcTemplate.query(SELECT_SESSION, rs -> {
+            MapSession session = null;
+            while (rs.next()) {
+                if (session == null) {
+                    session = new MapSession(id);
+                    session.setCreationTime(Instant.ofEpochMilli(rs.getLong(1)));
+                    session.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong(2)));
+                    session.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt(3)));
+                }
+                String name = rs.getString(4);
+                if (name != null) {
+                    session.setAttribute(name, deserialize(rs.getBytes(5)));
+                }
+            }
+            return session;
+        }, row.primaryId());
+        if (loaded == null) {
+            evict(id);
+            return null;
+        }
+        // A versão foi lida antes: se a sessão mudou entre as consultas, a próxima leitura recarrega
+        Entry entry = new Entry(row.primaryId(), row.version(), loaded);
+        synchronized (this) {
+            entries.put(id, entry);
+        }
+        return entry;
+    }
+
+    private void insert(CachedSession session) {
+        MapSession state = session.session;
+        String primaryId = UUID.randomUUID().toString();
+        transactionOperations.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_SESSION, primaryId, state.getId(), state.getCreationTime().toEpochMilli(),
+                    state.getLastAccessedTime().toEpochMilli(), (int) state.getMaxInactiveInterval().getSeconds(),
+                    expiryTime(state), principalName(state));
+            for (String name : state.getAttributeNames()) {
+                jdbcTemplate.update(INSERT_ATTRIBUTE, primaryId, name, serialize(state.getAttribute(name)));
+            }
+        });
+        Entry entry = new Entry(primaryId, 0, new MapSession(state));
+        synchronized (this) {
+            entries.put(state.getId(), entry);
+        }
+        session.entry = entry;
+    }
+
+    private void update(CachedSession session) {
+        MapSession state = session.session;
+        Entry entry = session.entry;
+        Set<String> changed = Set.copyOf(session.changedAttributes);
+        Integer updated = transactionOperations.execute(status -> {
+            int rows = jdbcTemplate.update(UPDATE_SESSION, state.getId(), state.getLastAccessedTime().toEpochMilli(),
+                    (int) state.getMaxInactiveInterval().getSeconds(), expiryTime(state), principalName(state),
+                    session.originalId);
+            if (rows == 0) {
+                return 0;
+            }
+            for (String name : changed) {
+                Object value = state.getAttribute(name);
+                if (value == null) {
+                    jdbcTemplate.update(DELETE_ATTRIBUTE, entry.primaryId, name);
+                } else {
+                    byte[] bytes = serialize(value);
+                    if (jdbcTemplate.update(UPDATE_ATTRIBUTE, bytes, entry.primaryId, name) == 0) {
+                        jdbcTemplate.update(INSERT_ATTRIBUTE, entry.primaryId, name, bytes);
+                    }
+                }
+            }
+            return rows;
+        });
+        if (updated == null || updated == 0) {
+            // Removida por outra instância (logout ou expiração)
+            evict(session.originalId);
+            return;
+        }
+
+        synchronized (entry) {
+            // Aplica somente o que esta requisição alterou: requisições simultâneas da mesma sessão não se sobrescrevem
+            for (String name : changed) {
+                entry.session.setAttribute(name, state.getAttribute(name));
+            }
+            entry.session.setId(state.getId());
+            entry.session.setMaxInactiveInterval(state.getMaxInactiveInterval());
+            if (state.getLastAccessedTime().isAfter(entry.session.getLastAccessedTime())) {
+                entry.session.setLastAccessedTime(state.getLastAccessedTime());
+            }
+            entry.flushedAccess = state.getLastAccessedTime();
+            entry.version++;
+        }
+        if (!state.getId().equals(session.originalId)) {
+            synchronized (this) {
+                entries.remove(session.originalId);
+                entries.put(state.getId(), entry);
+            }
+        }
+    }
+
+    private void touch(CachedSession session) {
+        Instant lastAccess = session.session.getLastAccessedTime();
+        Entry entry = session.entry;
+        boolean flush;
+        synchronized (entry) {
+            if (lastAccess.isAfter(entry.session.getLastAccessedTime())) {
+                entry.session.setLastAccessedTime(lastAccess);
+            }
+            flush = !lastAccess.isBefore(entry.flushedAccess.plus(flushInterval));
+            if (flush) {
+                entry.flushedAccess = lastAccess;
+            }
+        }
+        if (flush) {
+            long millis = lastAccess.toEpochMilli();
+            jdbcTemplate.update(TOUCH_SESSION, millis, expiryTime(session.session), session.getId(), millis);
+        }
+        synchronized (this) {
+            if (flush) {
+                flushes++;
+            } else {
+                coalesced++;
+            }
+        }
+    }
+
+    private Row findRow(String id) {
+        List<Row> rows = jdbcTemplate.query(SELECT_ROW, (rs, rowNum) -> new Row(rs.getString(1).trim(), rs.getLong(2),
+                Instant.ofEpochMilli(rs.getLong(3))), id);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private synchronized void evict(String id) {
+        entries.remove(id);
+    }
+
+    private boolean isExpired(MapSession session) {
+        // O último acesso lido do banco pode estar atrasado em até flushInterval
+        return !session.getMaxInactiveInterval().isNegative()
+                && Instant.now().isAfter(session.getLastAccessedTime()
+                        .plus(session.getMaxInactiveInterval())
+                        .plus(flushInterval));
+    }
+
+    private static long expiryTime(MapSession session) {
+        if (session.getMaxInactiveInterval().isNegative()) {
+            return Long.MAX_VALUE;
+        }
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    private String principalName(MapSession session) {
+        return principalNameResolver.resolveIndexValueFor(session);
+    }
+
+    private byte[] serialize(Object value) {
+        return (byte[]) conversionService.convert(value, OBJECT, BYTES);
+    }
+
+    private Object deserialize(byte[] bytes) {
+        return conversionService.convert(bytes, BYTES, OBJECT);
+    }
+
+    private record Row(String primaryId, long version, Instant lastAccess) {
+    }
+
+    /**
+     * Sessão em cache: estado conhecido, versão da linha e último acesso gravado.
+     * Alterada somente com o lock da própria entrada.
+     */
+    private static final class Entry {
+        private final String primaryId;
+        private final MapSession session;
+        private long version;
+        private Instant flushedAccess;
+
+        private Entry(String primaryId, long version, MapSession session) {
+            this.primaryId = primaryId;
+            this.version = version;
+            this.session = session;
+            this.flushedAccess = session.getLastAccessedTime();
+        }
+    }
+
+    /**
+     * Sessão entregue a uma requisição: cópia do estado em cache que registra
+     * os atributos alterados, para gravar somente a diferença.
+     */
+    public static final class CachedSession implements Session {
+
+        private final MapSession session;
+        private final Set<String> changedAttributes = new HashSet<>();
+        private Entry entry;
+        private String originalId;
+        private boolean maxInactiveChanged;
+
+        private CachedSession(MapSession session, Entry entry) {
+            this.session = session;
+            this.entry = entry;
+            this.originalId = session.getId();
+        }
+
+        @Override
+        public String getId() {
+            return session.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return session.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return session.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return session.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            session.setAttribute(attributeName, attributeValue);
+            changedAttributes.add(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            session.removeAttribute(attributeName);
+            changedAttributes.add(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return session.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            session.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return session.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(session.getMaxInactiveInterval())) {
+                maxInactiveChanged = true;
+            }
+            session.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return session.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return session.isExpired();
+        }
+
+        private boolean hasChanges() {
+            return !changedAttributes.isEmpty() || maxInactiveChanged || !session.getId().equals(originalId);
+        }
+
+        private void clearChanges() {
+            changedAttributes.clear();
+            maxInactiveChanged = false;
+            originalId = session.getId();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.reciclamais.waste_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Limita o acesso simultâneo ao banco quando
+ * {@code waste.datasource.concurrency-limit.enabled=true} (ativado no perfil
+ * {@code virtual-threads}), envolvendo o DataSource em um {@link BoundedDataSource}.
+ *
+ * O limite padrão ({@code waste.datasource.concurrency-limit.permits: 0}) é o
+ * tamanho máximo do pool do Hikari ({@code spring.datasource.hikari.maximum-pool-size}):
+ * mais permissões que conexões só moveriam a espera para dentro do pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "waste.datasource.concurrency-limit.enabled", havingValue = "true")
+public class DataSourceConcurrencyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConcurrencyConfig.class);
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        int permits = environment.getProperty("waste.datasource.concurrency-limit.permits", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("waste.datasource.concurrency-limit.acquire-timeout",
+                Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                int limit = permits > 0 ? permits : poolSize(dataSource);
+                logger.info("Acesso ao banco limitado a {} conexões simultâneas (DataSource '{}', espera máxima: {})",
+                        limit, beanName, acquireTimeout);
+                return new BoundedDataSource(dataSource, limit, acquireTimeout);
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        throw new IllegalStateException("Informe waste.datasource.concurrency-limit.permits para o DataSource "
+                + dataSource.getClass().getName());
+    }
+}
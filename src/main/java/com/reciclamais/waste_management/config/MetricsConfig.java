@@ -0,0 +1,114 @@
+package com.reciclamais.waste_management.config;
+
+import com.reciclamais.waste_management.controller.RenderedFragmentCache;
+import com.reciclamais.waste_management.service.DashboardStreamService;
+import com.reciclamais.waste_management.service.UserCache;
+import com.reciclamais.waste_management.service.WasteIngestionQueue;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas da aplicação, expostas pelo Actuator em formato Prometheus
+ * ({@code /actuator/prometheus}, na porta de gerenciamento).
+ *
+ * Além das métricas automáticas do Spring Boot (HikariCP, estatísticas do
+ * Hibernate, tempo das consultas dos repositórios em
+ * {@code spring.data.repository.invocations}), são registrados:
+ * - {@code reciclamais.service}: tempo e quantidade de chamadas dos métodos
+ *   públicos de WasteService, ForecastService e UserService ({@code @Timed},
+ *   com as tags class, method e exception)
+ * - {@code spring.session.store}: tempo das operações do repositório de
+ *   sessões com cache ({@link CachingSessionRepository}, medido por
+ *   {@link SessionStoreMetrics})
+ * - Contadores e ocupação dos caches (usuários, fragmentos e sessões), da fila de gravação e do stream do dashboard
+ * - Conexões em uso e threads aguardando no {@link BoundedDataSource}, quando ativo
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsConfig.class);
+
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        logger.info("Registrando métricas do cache de usuários");
+        return registry -> {
+            counter(registry, "reciclamais.user.cache.hits", userCache, cache -> cache.getStats().hits());
+            counter(registry, "reciclamais.user.cache.misses", userCache, cache -> cache.getStats().misses());
+            counter(registry, "reciclamais.user.cache.evictions", userCache, cache -> cache.getStats().evictions());
+            gauge(registry, "reciclamais.user.cache.size", userCache, cache -> cache.getStats().size());
+        };
+    }
+
+    @Bean
+    public MeterBinder fragmentCacheMetrics(RenderedFragmentCache fragmentCache) {
+        logger.info("Registrando métricas do cache de fragmentos do dashboard");
+        return registry -> {
+            counter(registry, "reciclamais.fragment.cache.hits", fragmentCache, cache -> cache.getStats().hits());
+            counter(registry, "reciclamais.fragment.cache.misses", fragmentCache, cache -> cache.getStats().misses());
+            gauge(registry, "reciclamais.fragment.cache.size", fragmentCache, cache -> cache.getStats().size());
+        };
+    }
+
+    @Bean
+    public MeterBinder ingestionQueueMetrics(WasteIngestionQueue ingestionQueue) {
+        logger.info("Registrando métricas da fila de gravação");
+        return registry -> {
+            counter(registry, "reciclamais.ingestion.accepted", ingestionQueue, queue -> queue.getStats().accepted());
+            counter(registry, "reciclamais.ingestion.rejected", ingestionQueue, queue -> queue.getStats().rejected());
+            counter(registry, "reciclamais.ingestion.written", ingestionQueue, queue -> queue.getStats().written());
+            counter(registry, "reciclamais.ingestion.failed", ingestionQueue, queue -> queue.getStats().failed());
+            gauge(registry, "reciclamais.ingestion.pending", ingestionQueue, queue -> queue.getStats().pending());
+        };
+    }
+
+    @Bean
+    public MeterBinder dashboardStreamMetrics(DashboardStreamService streamService) {
+        logger.info("Registrando métricas do stream do dashboard");
+        return registry -> gauge(registry, "reciclamais.dashboard.stream.subscribers", streamService,
+                DashboardStreamService::getSubscriberCount);
+    }
+
+    @Bean
+    public MeterBinder sessionCacheMetrics(CachingSessionRepository sessionRepository) {
+        logger.info("Registrando métricas do cache de sessões");
+        return registry -> {
+            counter(registry, "reciclamais.session.cache.hits", sessionRepository, cache -> cache.getStats().hits());
+            counter(registry, "reciclamais.session.cache.misses", sessionRepository, cache -> cache.getStats().misses());
+            counter(registry, "reciclamais.session.cache.stale", sessionRepository, cache -> cache.getStats().stale());
+            counter(registry, "reciclamais.session.cache.evictions", sessionRepository, cache -> cache.getStats().evictions());
+            counter(registry, "reciclamais.session.last.access.coalesced", sessionRepository, cache -> cache.getStats().coalesced());
+            counter(registry, "reciclamais.session.last.access.flushed", sessionRepository, cache -> cache.getStats().flushes());
+            gauge(registry, "reciclamais.session.cache.size", sessionRepository, cache -> cache.getStats().size());
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(BoundedDataSource.class::isInstance)
+                .map(BoundedDataSource.class::cast)
+                .forEach(dataSource -> {
+                    gauge(registry, "reciclamais.datasource.concurrency.limit", dataSource, BoundedDataSource::getMaxConcurrency);
+                    gauge(registry, "reciclamais.datasource.concurrency.active", dataSource, BoundedDataSource::getActive);
+                    gauge(registry, "reciclamais.datasource.concurrency.waiting", dataSource, BoundedDataSource::getWaiting);
+                });
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        FunctionCounter.builder(name, source, value).register(registry);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).register(registry);
+    }
+}
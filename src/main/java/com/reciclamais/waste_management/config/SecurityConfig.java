@@ -1,16 +1,19 @@
 package com.reciclamais.waste_management.config;
 
 import com.reciclamais.waste_management.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 @Configuration
 public class SecurityConfig {
 
@@ -24,9 +27,20 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt em pool limitado (ver {@link BoundedBCryptPasswordEncoder}).
+     * Alterar {@code security.password.bcrypt-strength} regrava o hash de cada
+     * usuário no próximo login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hashing.threads:0}") int threads,
+                                           @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password.hashing.max-wait:PT10S}") Duration maxWait) {
         logger.info("Criando bean PasswordEncoder");
-        return new BCryptPasswordEncoder();
+        return new BoundedBCryptPasswordEncoder(strength,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, maxWait, meterRegistry);
     }
 }
\ No newline at end of file
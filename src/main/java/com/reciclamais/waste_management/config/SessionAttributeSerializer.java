@@ -0,0 +1,153 @@
+package com.reciclamais.waste_management.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serialização dos atributos de sessão gravados em
+ * {@code SPRING_SESSION_ATTRIBUTES}.
+ *
+ * No formato {@link Format#COMPACT}, o contexto de segurança (usuário,
+ * perfis e detalhes do login), o token CSRF e textos são gravados em JSON
+ * pelos módulos Jackson do Spring Security; os demais atributos (por exemplo,
+ * mensagens de redirecionamento) continuam com a serialização Java. Valores
+ * com mais de {@code compressionThreshold} bytes são comprimidos (Deflate).
+ *
+ * Cada valor começa com um byte que indica o formato. A serialização Java
+ * sem compressão é gravada sem esse byte, como antes: os valores já gravados
+ * (iniciados por {@code 0xACED}) continuam legíveis, e são regravados no
+ * formato compacto quando o atributo muda. A leitura aceita todos os formatos
+ * em qualquer configuração, de modo que voltar para {@link Format#JAVA} não
+ * invalida as sessões.
+ */
+public class SessionAttributeSerializer implements Serializer<Object>, Deserializer<Object> {
+
+    /**
+     * Formato dos valores gravados.
+     */
+    public enum Format {
+        /** Serialização Java, como o padrão do Spring Session. */
+        JAVA,
+        /** JSON para os tipos conhecidos e compressão dos valores grandes. */
+        COMPACT
+    }
+
+    /** Primeiro byte de uma serialização Java ({@code 0xACED}). */
+    private static final int JAVA_STREAM = 0xAC;
+    private static final int JSON = 0x01;
+    private static final int JSON_DEFLATE = 0x02;
+    private static final int JAVA_DEFLATE = 0x03;
+
+    private final Format format;
+    private final int compressionThreshold;
+    private final ObjectMapper objectMapper;
+    private final DefaultSerializer javaSerializer = new DefaultSerializer();
+    private final DefaultDeserializer javaDeserializer;
+
+    public SessionAttributeSerializer(Format format, int compressionThreshold, ClassLoader classLoader) {
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModules(SecurityJackson2Modules.getModules(classLoader));
+        this.javaDeserializer = new DefaultDeserializer(classLoader);
+    }
+
+    @Override
+    public void serialize(Object value, OutputStream outputStream) throws IOException {
+        if (format == Format.JAVA) {
+            javaSerializer.serialize(value, outputStream);
+            return;
+        }
+
+        boolean json = hasJsonMapping(value);
+        byte[] bytes = json ? objectMapper.writeValueAsBytes(value) : javaSerializer.serializeToByteArray(value);
+        if (bytes.length > compressionThreshold) {
+            outputStream.write(json ? JSON_DEFLATE : JAVA_DEFLATE);
+            outputStream.write(deflate(bytes));
+        } else {
+            if (json) {
+                outputStream.write(JSON);
+            }
+            outputStream.write(bytes);
+        }
+    }
+
+    @Override
+    public Object deserialize(InputStream inputStream) throws IOException {
+        PushbackInputStream input = new PushbackInputStream(inputStream, 1);
+        int header = input.read();
+        return switch (header) {
+            case JAVA_STREAM -> {
+                input.unread(header);
+                yield javaDeserializer.deserialize(input);
+            }
+            case JSON -> objectMapper.readValue(input, Object.class);
+            case JSON_DEFLATE -> objectMapper.readValue(new InflaterInputStream(input), Object.class);
+            case JAVA_DEFLATE -> javaDeserializer.deserialize(new InflaterInputStream(input));
+            default -> throw new IOException("Formato de atributo de sessão desconhecido: " + header);
+        };
+    }
+
+    /**
+     * Indica se o valor volta do JSON igual ao original. A leitura só aceita
+     * os tipos registrados pelos módulos do Spring Security, e números
+     * perderiam o tipo (um {@code Long} pequeno voltaria como {@code Integer}).
+     */
+    private static boolean hasJsonMapping(Object value) {
+        if (value instanceof String || value instanceof Boolean || value instanceof DefaultCsrfToken) {
+            return true;
+        }
+        if (value == null || value.getClass() != SecurityContextImpl.class) {
+            return false;
+        }
+        Authentication authentication = ((SecurityContextImpl) value).getAuthentication();
+        if (authentication == null) {
+            return true;
+        }
+        Class<?> type = authentication.getClass();
+        if (type != UsernamePasswordAuthenticationToken.class && type != AnonymousAuthenticationToken.class) {
+            return false;
+        }
+        Object principal = authentication.getPrincipal();
+        Object details = authentication.getDetails();
+        return (principal instanceof String || (principal != null && principal.getClass() == User.class))
+                && (details == null || details.getClass() == WebAuthenticationDetails.class)
+                && (authentication.getCredentials() == null || authentication.getCredentials() instanceof String)
+                && authentication.getAuthorities().stream()
+                        .map(GrantedAuthority::getClass)
+                        .allMatch(SimpleGrantedAuthority.class::equals);
+    }
+
+    private static byte[] deflate(byte[] bytes) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2);
+        try (DeflaterOutputStream deflated = new DeflaterOutputStream(buffer, deflater)) {
+            deflated.write(bytes);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+}
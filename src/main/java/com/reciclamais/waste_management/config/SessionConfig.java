@@ -0,0 +1,111 @@
+package com.reciclamais.waste_management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.session.SessionProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Sessões HTTP: o {@link CachingSessionRepository} atende o filtro do Spring
+ * Session ({@code @Primary}) na frente do repositório JDBC, e a limpeza das
+ * sessões expiradas roda em lotes ({@code waste.session.cleanup}) no lugar
+ * da limpeza do Spring Session.
+ *
+ * Com um {@code SessionRepository} próprio a configuração automática do
+ * Spring Boot para sessões JDBC não é aplicada; o repositório JDBC é criado
+ * aqui e continua usando {@code spring.session.timeout}. As tabelas de
+ * sessão são criadas pelas migrações Flyway ({@code db/migration}).
+ */
+@Configuration
+@EnableJdbcHttpSession(cleanupCron = Scheduled.CRON_DISABLED)
+public class SessionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionConfig.class);
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessionTimeoutCustomizer(
+            SessionProperties sessionProperties, ServerProperties serverProperties) {
+        Duration timeout = sessionProperties
+                .determineTimeout(() -> serverProperties.getServlet().getSession().getTimeout());
+        return repository -> {
+            if (timeout != null) {
+                repository.setDefaultMaxInactiveInterval(timeout);
+            }
+        };
+    }
+
+    /**
+     * Conversão dos atributos para bytes, compartilhada pelo repositório JDBC
+     * e pelo cache de sessões ({@link SessionAttributeSerializer}).
+     */
+    @Bean
+    public ConversionService springSessionConversionService(
+            @Value("${waste.session.serialization.format:compact}") SessionAttributeSerializer.Format format,
+            @Value("${waste.session.serialization.compression-threshold:1024}") int compressionThreshold) {
+        SessionAttributeSerializer serializer = new SessionAttributeSerializer(format, compressionThreshold,
+                SessionConfig.class.getClassLoader());
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, new SerializingConverter(serializer));
+        conversionService.addConverter(byte[].class, Object.class, new DeserializingConverter(serializer));
+        logger.info("Atributos de sessão serializados no formato {}", format);
+        return conversionService;
+    }
+
+    @Bean
+    @Primary
+    public CachingSessionRepository cachingSessionRepository(
+            JdbcIndexedSessionRepository jdbcSessionRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("springSessionConversionService") ConversionService conversionService,
+            @Value("${waste.session.flush-interval:PT60S}") Duration flushInterval,
+            @Value("${waste.session.cleanup.batch-size:500}") int cleanupBatchSize,
+            @Value("${waste.session.cache.max-size:10000}") int maxSize) {
+        return new CachingSessionRepository(jdbcSessionRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), conversionService,
+                flushInterval, cleanupBatchSize, maxSize);
+    }
+
+    @Bean
+    public SessionCleanup sessionCleanup(CachingSessionRepository sessionRepository) {
+        return new SessionCleanup(sessionRepository);
+    }
+
+    /**
+     * Remove periodicamente as sessões expiradas.
+     */
+    public static class SessionCleanup {
+
+        private final CachingSessionRepository sessionRepository;
+
+        SessionCleanup(CachingSessionRepository sessionRepository) {
+            this.sessionRepository = sessionRepository;
+        }
+
+        @Scheduled(cron = "${waste.session.cleanup.cron:0 * * * * *}")
+        public void cleanUpExpiredSessions() {
+            try {
+                sessionRepository.cleanUpExpiredSessions();
+            } catch (RuntimeException e) {
+                logger.warn("Falha na limpeza das sessões expiradas: {}", e.getMessage());
+            }
+        }
+    }
+}
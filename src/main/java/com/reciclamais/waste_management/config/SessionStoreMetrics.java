@@ -0,0 +1,54 @@
+package com.reciclamais.waste_management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mede o tempo das operações do repositório de sessões (leitura, gravação e
+ * remoção), executadas em toda requisição autenticada.
+ *
+ * O filtro do Spring Session usa o {@link CachingSessionRepository}, que faz
+ * as próprias consultas JDBC; por isso são medidos os seus métodos, e não os
+ * do {@code JdbcIndexedSessionRepository}. Uma leitura inclui a consulta da
+ * linha da sessão (e dos atributos, fora do cache); uma gravação sem
+ * alterações só acessa o banco quando o último acesso é gravado.
+ *
+ * Timer {@code spring.session.store} com as tags operation (método do
+ * repositório) e exception.
+ */
+@Aspect
+@Component
+public class SessionStoreMetrics {
+
+    private final MeterRegistry registry;
+
+    public SessionStoreMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.reciclamais.waste_management.config.CachingSessionRepository.findById(..)) || " +
+            "execution(public * com.reciclamais.waste_management.config.CachingSessionRepository.save(..)) || " +
+            "execution(public * com.reciclamais.waste_management.config.CachingSessionRepository.deleteById(..)) || " +
+            "execution(public * com.reciclamais.waste_management.config.CachingSessionRepository.findByIndexNameAndIndexValue(..)) || " +
+            "execution(public * com.reciclamais.waste_management.config.CachingSessionRepository.cleanUpExpiredSessions(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("spring.session.store")
+                    .description("Tempo das operações do repositório de sessões")
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.reciclamais.waste_management.config;
 
+import com.reciclamais.waste_management.exceptions.PasswordHashingBusyException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.io.IOException;
+
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 public class WebSecurityConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(WebSecurityConfig.class);
@@ -21,15 +36,26 @@ public class WebSecurityConfig {
         
         http
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/dashboard", "/users/register", "/users/save", "/login", "/css/**", "/js/**", "/h2-console/**").permitAll()
+                // Actuator: porta de gerenciamento ligada somente à máquina local
+                .requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                // Previsões por usuário expõem dados individuais e custam um ajuste por usuário
+                .requestMatchers("/api/analytics/forecast/users").hasRole("ADMIN")
+                .requestMatchers("/", "/dashboard", "/dashboard/widgets/**", "/dashboard/stream", "/api/analytics/**", "/users/register", "/users/save", "/login", "/css/**", "/js/**", "/h2-console/**").permitAll()
+                .requestMatchers("/api/waste/import", "/test/**").hasRole("ADMIN")
+                // Histórico de todos os usuários; os demais consultam /api/waste/mine (e exportam só os próprios)
+                .requestMatchers(HttpMethod.GET, "/api/waste").hasRole("ADMIN")
                 .requestMatchers("/waste/**").authenticated()
                 .anyRequest().authenticated()
             )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/dashboard")
+                .failureHandler(loginFailureHandler())
                 .permitAll()
             )
+            // Autenticação básica para clientes da API (importação, envio em lote e geração de dados)
+            .httpBasic(basic -> basic.authenticationEntryPoint(basicEntryPoint()))
             .logout(logout -> logout
                 .logoutSuccessUrl("/dashboard")
                 .invalidateHttpSession(true)
@@ -38,7 +64,10 @@ public class WebSecurityConfig {
             )
             // Configurações específicas para o H2
             .csrf(csrf -> csrf
-                .ignoringRequestMatchers(new AntPathRequestMatcher("/h2-console/**"))
+                .ignoringRequestMatchers(new AntPathRequestMatcher("/h2-console/**"),
+                        new AntPathRequestMatcher("/api/waste/import"),
+                        new AntPathRequestMatcher("/api/waste/batch"),
+                        new AntPathRequestMatcher("/test/generate-data", "POST"))
             )
             .headers(headers -> headers
                 .frameOptions(frame -> frame
@@ -55,4 +84,39 @@ public class WebSecurityConfig {
         logger.info("SecurityFilterChain configurado com sucesso no WebSecurityConfig");
         return http.build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Login recusado pela sobrecarga do hash de senhas responde 503; as demais
+     * falhas voltam ao formulário.
+     */
+    private static AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler failure = new SimpleUrlAuthenticationFailureHandler("/login?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {
+                rejectBusy(response, exception);
+            } else {
+                failure.onAuthenticationFailure(request, response, exception);
+            }
+        };
+    }
+
+    private static AuthenticationEntryPoint basicEntryPoint() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("ReciclaMais");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException) {
+                rejectBusy(response, exception);
+            } else {
+                basic.commence(request, response, exception);
+            }
+        };
+    }
+
+    private static void rejectBusy(HttpServletResponse response, AuthenticationException exception) throws IOException {
+        logger.warn("Login recusado: {}", exception.getMessage());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Serviço de login sobrecarregado, tente novamente em instantes");
+    }
+}
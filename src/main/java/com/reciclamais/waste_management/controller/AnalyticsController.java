@@ -0,0 +1,54 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.dto.WastePredictionDTO;
+import com.reciclamais.waste_management.service.SeasonalForecastService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+/**
+ * API REST com as análises exibidas no dashboard.
+ * Assim como o dashboard, é de acesso público (exceto a previsão por usuário,
+ * restrita a administradores) e responde com 304 Not Modified (ETag da versão
+ * dos dados) enquanto nenhum resíduo for gravado.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final SeasonalForecastService seasonalForecastService;
+    private final ConditionalRequests conditionalRequests;
+
+    public AnalyticsController(SeasonalForecastService seasonalForecastService,
+                               ConditionalRequests conditionalRequests) {
+        this.seasonalForecastService = seasonalForecastService;
+        this.conditionalRequests = conditionalRequests;
+    }
+
+    /**
+     * Previsão do próximo mês para cada tipo de resíduo, com intervalo de previsão.
+     */
+    @GetMapping("/forecast/types")
+    public List<WastePredictionDTO> forecastByType(ServletWebRequest request) {
+        if (conditionalRequests.checkNotModified(request)) {
+            return null;
+        }
+        return seasonalForecastService.predictNextMonthByType();
+    }
+
+    /**
+     * Previsão do próximo mês para cada usuário, com intervalo de previsão.
+     * Restrita a administradores e limitada aos usuários com maior volume
+     * ({@code waste.forecast.max-users}).
+     */
+    @GetMapping("/forecast/users")
+    public List<WastePredictionDTO> forecastByUser(ServletWebRequest request) {
+        if (conditionalRequests.checkNotModified(request)) {
+            return null;
+        }
+        return seasonalForecastService.predictNextMonthByUser();
+    }
+}
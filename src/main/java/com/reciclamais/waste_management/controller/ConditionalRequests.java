@@ -0,0 +1,57 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.service.WasteDataVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Respostas condicionais (ETag / Last-Modified) baseadas na versão dos dados
+ * de resíduos ({@link WasteDataVersion}).
+ *
+ * As verificações devem ser feitas antes de qualquer consulta: se retornarem
+ * true, a resposta já é um 304 Not Modified e o controlador deve retornar null.
+ */
+@Component
+public class ConditionalRequests {
+
+    private final WasteDataVersion dataVersion;
+
+    public ConditionalRequests(WasteDataVersion dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    /**
+     * Verifica se o cliente já possui a versão atual dos dados.
+     *
+     * @param request Requisição atual
+     * @return true se os dados não mudaram desde a última resposta ao cliente
+     */
+    public boolean checkNotModified(ServletWebRequest request) {
+        return checkNotModified(request, dataVersion.getETag(), dataVersion.getLastModified());
+    }
+
+    /**
+     * Verifica se o cliente já possui a resposta, para respostas que não
+     * dependem dos dados (por exemplo, a página do dashboard sem os widgets).
+     *
+     * @param request Requisição atual
+     * @param variant Identifica a variação da resposta (ex.: usuário autenticado)
+     * @return true se a resposta não mudou desde a última requisição do cliente
+     */
+    public boolean checkNotModified(ServletWebRequest request, String variant) {
+        String eTag = "\"" + Long.toString(dataVersion.getStartedAt(), 36) + "-"
+                + Integer.toHexString(variant.hashCode()) + "\"";
+        return checkNotModified(request, eTag, dataVersion.getStartedAt() / 1000 * 1000);
+    }
+
+    private static boolean checkNotModified(ServletWebRequest request, String eTag, long lastModified) {
+        // Sempre revalidar; respostas de usuários autenticados não podem ser compartilhadas
+        CacheControl cacheControl = request.getRequest().getUserPrincipal() == null
+                ? CacheControl.noCache()
+                : CacheControl.noCache().cachePrivate();
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        return request.checkNotModified(eTag, lastModified);
+    }
+}
@@ -1,59 +1,151 @@
 package com.reciclamais.waste_management.controller;
 
-import com.reciclamais.waste_management.dto.TypeWasteDTO;
-import com.reciclamais.waste_management.dto.UserRankingDTO;
-import com.reciclamais.waste_management.dto.WastePredictionDTO;
-import com.reciclamais.waste_management.service.WasteService;
-import com.reciclamais.waste_management.service.ForecastService;
+import com.reciclamais.waste_management.service.DashboardService;
+import com.reciclamais.waste_management.service.DashboardStreamService;
+import io.github.wimdeblauwe.htmx.spring.boot.mvc.HxRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
+/**
+ * Controlador do dashboard.
+ *
+ * A página é devolvida sem nenhum cálculo; cada widget (resumo, previsão,
+ * distribuição por tipo e ranking) é carregado em seguida pelo HTMX a partir
+ * do seu próprio endpoint, calculado de forma assíncrona pelo
+ * {@link DashboardService}.
+ *
+ * Todas as respostas são condicionais (ETag / Last-Modified): enquanto nenhum
+ * resíduo for gravado, as telas que consultam o dashboard periodicamente
+ * recebem 304 Not Modified sem nenhuma consulta ao banco. Novos visitantes
+ * recebem o HTML já renderizado ({@link RenderedFragmentCache}).
+ *
+ * Telas abertas por longos períodos assinam {@code /dashboard/stream} e
+ * recarregam os widgets apenas quando os dados mudam
+ * ({@link DashboardStreamService}).
+ */
 @Controller
 public class DashboardController {
 
     private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
-    
-    private final WasteService wasteService;
-    private final ForecastService forecastService;
+    private static final String TEXT_HTML_UTF8 = "text/html;charset=UTF-8";
 
-    public DashboardController(WasteService wasteService, ForecastService forecastService) {
-        this.wasteService = wasteService;
-        this.forecastService = forecastService;
+    private final DashboardService dashboardService;
+    private final ConditionalRequests conditionalRequests;
+    private final RenderedFragmentCache fragmentCache;
+    private final DashboardStreamService streamService;
+
+    public DashboardController(DashboardService dashboardService, ConditionalRequests conditionalRequests,
+                               RenderedFragmentCache fragmentCache, DashboardStreamService streamService) {
+        this.dashboardService = dashboardService;
+        this.conditionalRequests = conditionalRequests;
+        this.fragmentCache = fragmentCache;
+        this.streamService = streamService;
     }
 
+    /**
+     * Página do dashboard. Não depende dos dados, apenas do usuário (menus e
+     * formulário de logout), então o ETag varia com a sessão autenticada.
+     */
     @GetMapping({"/", "/dashboard"})
-    public String dashboard(Model model) {
-        double totalWaste = wasteService.getTotalWaste();
-        double wasteRecycled = wasteService.getWasteRecycled();
-        double recyclingRate = wasteService.getRecyclingRate();
-        List<TypeWasteDTO> typeWaste = wasteService.getWasteByType();
-        List<UserRankingDTO> rankingUsers = wasteService.getUserRankings();
-        WastePredictionDTO wastePrediction = forecastService.predictNextMonthWaste();
-
-        // Log the data
-        logger.info("Total Waste: {}", totalWaste);
-        logger.info("Waste Recycled: {}", wasteRecycled);
-        logger.info("Recycling Rate: {}", recyclingRate);
-        logger.info("Type Waste Data: {}", typeWaste);
-        logger.info("User Rankings: {}", rankingUsers);
-        logger.info("Waste Prediction: {}", wastePrediction);
-
-        // Add attributes to model
-        model.addAttribute("totalWaste", String.format("%.1f", totalWaste));
-        model.addAttribute("wasteRecycled", String.format("%.1f", wasteRecycled));
-        model.addAttribute("recyclingRate", String.format("%.1f", recyclingRate));
-        model.addAttribute("typeWaste", typeWaste);
-        model.addAttribute("rankingUsers", rankingUsers);
-        model.addAttribute("wastePrediction", wastePrediction);
-
-        // Log model attributes
-        logger.info("Model attributes: {}", model.asMap());
-
+    public String dashboard(Model model, ServletWebRequest request) {
+        // Mensagens de redirecionamento (flash) precisam da página renderizada
+        if (!model.containsAttribute("message") && conditionalRequests.checkNotModified(request, variantOf(request))) {
+            return null;
+        }
         return "dashboard";
     }
-} 
\ No newline at end of file
+
+    @HxRequest
+    @ResponseBody
+    @GetMapping(path = "/dashboard/widgets/summary", produces = TEXT_HTML_UTF8)
+    public CompletableFuture<String> summary(ServletWebRequest request) {
+        return widget(request, "summary", () -> dashboardService.getSummary().thenApply(summary -> {
+            logger.info("Dashboard summary: {}", summary);
+            return Map.of(
+                    "totalWaste", String.format("%.1f", summary.getTotalWaste()),
+                    "wasteRecycled", String.format("%.1f", summary.getWasteRecycled()),
+                    "recyclingRate", String.format("%.1f", summary.getRecyclingRate()));
+        }));
+    }
+
+    @HxRequest
+    @ResponseBody
+    @GetMapping(path = "/dashboard/widgets/forecast", produces = TEXT_HTML_UTF8)
+    public CompletableFuture<String> forecast(ServletWebRequest request) {
+        return widget(request, "forecast", () -> dashboardService.getPrediction().thenApply(prediction -> {
+            logger.info("Waste Prediction: {}", prediction);
+            return Map.of("wastePrediction", prediction);
+        }));
+    }
+
+    @HxRequest
+    @ResponseBody
+    @GetMapping(path = "/dashboard/widgets/types", produces = TEXT_HTML_UTF8)
+    public CompletableFuture<String> types(ServletWebRequest request) {
+        return widget(request, "types", () -> dashboardService.getWasteByType().thenApply(typeWaste -> {
+            logger.info("Type Waste Data: {}", typeWaste);
+            return Map.of("typeWaste", typeWaste);
+        }));
+    }
+
+    @HxRequest
+    @ResponseBody
+    @GetMapping(path = "/dashboard/widgets/ranking", produces = TEXT_HTML_UTF8)
+    public CompletableFuture<String> ranking(ServletWebRequest request) {
+        return widget(request, "ranking", () -> dashboardService.getUserRankings().thenApply(rankingUsers -> {
+            logger.info("User Rankings: {}", rankingUsers);
+            return Map.of("rankingUsers", rankingUsers);
+        }));
+    }
+
+    /**
+     * Stream (Server-Sent Events) com o estado atual do dashboard seguido das
+     * alterações, no máximo uma por intervalo.
+     */
+    @GetMapping(path = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return streamService.subscribe();
+    }
+
+    /**
+     * Responde 304 se o cliente já tem a versão atual dos dados; caso contrário,
+     * devolve o fragmento do cache ou o renderiza com as variáveis calculadas.
+     */
+    private CompletableFuture<String> widget(ServletWebRequest request, String fragment,
+                                             Supplier<CompletableFuture<Map<String, Object>>> model) {
+        if (conditionalRequests.checkNotModified(request)) {
+            return null;
+        }
+        return fragmentCache.render(fragment, request, model);
+    }
+
+    private static String variantOf(ServletWebRequest request) {
+        Principal principal = request.getRequest().getUserPrincipal();
+        if (principal == null) {
+            return "anonymous";
+        }
+        return principal.getName() + ":" + request.getSessionId();
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleOverload(RejectedExecutionException e) {
+        logger.warn("Dashboard sobrecarregado, widget recusado: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Dashboard indisponível no momento");
+    }
+}
@@ -0,0 +1,191 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.service.WasteDataVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache do HTML já renderizado dos widgets do dashboard
+ * ({@code templates/dashboard/widgets.html}).
+ *
+ * Cada fragmento é guardado por versão dos dados ({@link WasteDataVersion}),
+ * idioma e perfil do visitante; enquanto nenhum resíduo for gravado, o
+ * dashboard é servido a partir dos bytes prontos, sem consultas nem
+ * renderização. Requisições simultâneas do mesmo fragmento compartilham a
+ * mesma renderização. O cache é esvaziado a cada nova gravação.
+ *
+ * Os widgets são públicos: o idioma pedido ({@code Accept-Language}) é
+ * reduzido a um dos idiomas de {@code waste.dashboard.fragments.locales} (o
+ * primeiro é o padrão), para que cada cliente não crie as próprias entradas,
+ * e o cache guarda no máximo {@code waste.dashboard.fragments.max-entries}
+ * fragmentos.
+ */
+@Component
+public class RenderedFragmentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenderedFragmentCache.class);
+    private static final String TEMPLATE = "dashboard/widgets";
+
+    private final ITemplateEngine templateEngine;
+    private final WasteDataVersion dataVersion;
+    private final List<Locale> locales;
+    private final int maxEntries;
+    private final Map<Key, CompletableFuture<String>> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RenderedFragmentCache(ITemplateEngine templateEngine, WasteDataVersion dataVersion,
+                                 @Value("${waste.dashboard.fragments.locales:pt-BR,en-US}") List<String> locales,
+                                 @Value("${waste.dashboard.fragments.max-entries:200}") int maxEntries) {
+        if (locales.isEmpty()) {
+            throw new IllegalArgumentException("waste.dashboard.fragments.locales deve ter ao menos um idioma");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("waste.dashboard.fragments.max-entries deve ser maior que zero");
+        }
+        this.templateEngine = templateEngine;
+        this.dataVersion = dataVersion;
+        this.locales = locales.stream().map(String::trim).map(Locale::forLanguageTag).toList();
+        this.maxEntries = maxEntries;
+        logger.info("RenderedFragmentCache construído com sucesso (idiomas: {}, máximo: {})", this.locales, maxEntries);
+    }
+
+    /**
+     * Contadores do cache.
+     */
+    public record Stats(long hits, long misses, int size) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Devolve o HTML do fragmento, renderizando-o apenas se não estiver em cache.
+     *
+     * @param fragment Nome do fragmento em {@code dashboard/widgets.html}
+     * @param request Requisição atual (idioma e perfil do visitante)
+     * @param model Calcula as variáveis do fragmento (executado apenas em caso de falha no cache)
+     * @return HTML renderizado
+     */
+    public CompletableFuture<String> render(String fragment, ServletWebRequest request,
+                                            Supplier<CompletableFuture<Map<String, Object>>> model) {
+        // A versão é lida antes do cálculo: dados mais novos sob uma versão antiga
+        // nunca são servidos, pois a versão antiga deixa de ser consultada
+        Key key = new Key(fragment, dataVersion.getVersion(),
+                supportedLocale(RequestContextUtils.getLocale(request.getRequest())), roleOf(request));
+
+        boolean[] rendered = {false};
+        CompletableFuture<String> html = entries.computeIfAbsent(key, k -> {
+            rendered[0] = true;
+            return model.get().thenApply(variables ->
+                    templateEngine.process(TEMPLATE, Set.of(fragment), new Context(k.locale(), variables)));
+        });
+        if (rendered[0]) {
+            misses.increment();
+            trim(key.version());
+            html.whenComplete((result, error) -> {
+                if (error != null) {
+                    entries.remove(key, html);
+                }
+            });
+        } else {
+            hits.increment();
+        }
+        return html;
+    }
+
+    /**
+     * Esvazia o cache após o commit de novos resíduos.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_CACHES)
+    public void onWasteRecorded(WasteRecordedEvent event) {
+        entries.clear();
+    }
+
+    /**
+     * Esvazia o cache após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_CACHES)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        entries.clear();
+    }
+
+    public Stats getStats() {
+        Stats stats = new Stats(hits.sum(), misses.sum(), entries.size());
+        logger.debug("Cache de fragmentos: {} (taxa de acerto {})", stats, stats.hitRate());
+        return stats;
+    }
+
+    /**
+     * Idioma suportado mais próximo do pedido: mesmo idioma e país, mesmo
+     * idioma ou o padrão.
+     */
+    Locale supportedLocale(Locale requested) {
+        if (requested != null) {
+            for (Locale locale : locales) {
+                if (locale.equals(requested)) {
+                    return locale;
+                }
+            }
+            for (Locale locale : locales) {
+                if (locale.getLanguage().equals(requested.getLanguage())) {
+                    return locale;
+                }
+            }
+        }
+        return locales.get(0);
+    }
+
+    /**
+     * Acima do limite, descarta primeiro os fragmentos de versões anteriores
+     * e, se não bastar, todo o cache.
+     */
+    private void trim(long version) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.keySet().removeIf(key -> key.version() != version);
+        if (entries.size() > maxEntries) {
+            entries.clear();
+        }
+        logger.debug("Cache de fragmentos acima do limite de {}: {} fragmentos mantidos", maxEntries, entries.size());
+    }
+
+    private static String roleOf(ServletWebRequest request) {
+        if (request.getUserPrincipal() == null) {
+            return "anonymous";
+        }
+        return request.getRequest().isUserInRole("ADMIN") ? "ADMIN" : "USER";
+    }
+
+    private record Key(String fragment, long version, Locale locale, String role) {
+    }
+}
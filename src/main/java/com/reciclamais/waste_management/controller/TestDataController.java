@@ -1,23 +1,40 @@
 package com.reciclamais.waste_management.controller;
 
+import com.reciclamais.waste_management.dto.DataGenerationReportDTO;
+import com.reciclamais.waste_management.dto.DataGenerationRequest;
 import com.reciclamais.waste_management.model.Waste;
 import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.service.SyntheticDataGenerator;
 import com.reciclamais.waste_management.service.WasteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 @Controller
 public class TestDataController {
 
+    private static final Logger logger = LoggerFactory.getLogger(TestDataController.class);
+
     private final WasteService wasteService;
+    private final SyntheticDataGenerator dataGenerator;
 
-    public TestDataController(WasteService wasteService) {
+    public TestDataController(WasteService wasteService, SyntheticDataGenerator dataGenerator) {
         this.wasteService = wasteService;
+        this.dataGenerator = dataGenerator;
     }
 
     @GetMapping("/test/generate-data")
@@ -58,4 +75,31 @@ public class TestDataController {
         redirectAttributes.addFlashAttribute("message", "Dados de teste gerados com sucesso!");
         return "redirect:/dashboard";
     }
-} 
\ No newline at end of file
+
+    /**
+     * Gera usuários e resíduos sintéticos em grande quantidade para testes de
+     * carga. Parâmetros omitidos no corpo usam os valores padrão de
+     * {@link DataGenerationRequest}.
+     *
+     * @param request Parâmetros da geração
+     * @return Relatório da geração
+     */
+    @PostMapping(path = "/test/generate-data", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseBody
+    public DataGenerationReportDTO generateSyntheticData(@RequestBody DataGenerationRequest request) {
+        return dataGenerator.generate(request);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        logger.warn("Requisição inválida: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        logger.warn("Geração de dados recusada: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
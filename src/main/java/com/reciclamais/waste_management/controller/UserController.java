@@ -1,5 +1,6 @@
 package com.reciclamais.waste_management.controller;
 
+import com.reciclamais.waste_management.exceptions.PasswordHashingBusyException;
 import com.reciclamais.waste_management.model.TypeUser;
 import com.reciclamais.waste_management.model.User;
 import com.reciclamais.waste_management.service.UserService;
@@ -7,6 +8,9 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -46,10 +50,20 @@ public class UserController {
             logger.info("Usuário registrado com sucesso: {}", user.getEmail());
             
             return "redirect:/login";
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             logger.error("Erro ao registrar usuário: {}", e.getMessage());
             result.rejectValue("email", "error.user", e.getMessage());
             return "userRegister";
         }
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<String> handleHashingBusy(PasswordHashingBusyException e) {
+        logger.warn("Cadastro recusado: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body("Cadastro indisponível no momento, tente novamente em instantes");
+    }
+}
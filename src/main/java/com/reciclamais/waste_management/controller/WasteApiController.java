@@ -0,0 +1,208 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.dto.ImportReportDTO;
+import com.reciclamais.waste_management.dto.WasteCursor;
+import com.reciclamais.waste_management.dto.WasteSliceDTO;
+import com.reciclamais.waste_management.dto.WasteSubmissionItem;
+import com.reciclamais.waste_management.dto.WasteSubmissionReportDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.service.WasteExportService;
+import com.reciclamais.waste_management.service.WasteImportService;
+import com.reciclamais.waste_management.service.WasteImportService.Format;
+import com.reciclamais.waste_management.service.WasteService;
+import com.reciclamais.waste_management.service.WasteSubmissionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * API REST para consulta do histórico de resíduos, importação em lote e envio
+ * de leituras pelos dispositivos de coleta.
+ *
+ * As listagens usam paginação por chave: cada resposta traz o cursor da
+ * próxima página ({@code nextCursor}), que deve ser enviado no parâmetro
+ * {@code cursor} da requisição seguinte.
+ */
+@RestController
+@RequestMapping("/api/waste")
+public class WasteApiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteApiController.class);
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final WasteService wasteService;
+    private final WasteImportService importService;
+    private final WasteSubmissionService submissionService;
+    private final WasteExportService exportService;
+
+    public WasteApiController(WasteService wasteService, WasteImportService importService,
+                              WasteSubmissionService submissionService, WasteExportService exportService) {
+        this.wasteService = wasteService;
+        this.importService = importService;
+        this.submissionService = submissionService;
+        this.exportService = exportService;
+    }
+
+    /**
+     * Lista o histórico de resíduos do usuário autenticado, do mais recente para o mais antigo.
+     *
+     * @param cursor Cursor da página anterior (opcional)
+     * @param size Tamanho da página
+     * @param authentication Usuário autenticado
+     * @return Página de resíduos
+     */
+    @GetMapping("/mine")
+    public WasteSliceDTO myHistory(@RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                   Authentication authentication) {
+        return wasteService.findPageByUser(authentication.getName(), decode(cursor), size);
+    }
+
+    /**
+     * Lista os resíduos de todos os usuários em um período, do mais recente
+     * para o mais antigo. Restrito a administradores; os demais usuários
+     * consultam o próprio histórico em {@code /api/waste/mine}.
+     *
+     * @param start Data inicial do período
+     * @param end Data final do período
+     * @param cursor Cursor da página anterior (opcional)
+     * @param size Tamanho da página
+     * @return Página de resíduos
+     */
+    @GetMapping
+    public WasteSliceDTO byPeriod(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        return wasteService.findPageByPeriod(start, end, decode(cursor), size);
+    }
+
+    /**
+     * Importa resíduos de um arquivo CSV enviado no corpo da requisição.
+     * O arquivo é processado à medida que é recebido.
+     *
+     * @param body Conteúdo do arquivo CSV, com cabeçalho
+     * @param batchSize Tamanho do lote (opcional, limitado a {@code waste.import.max-batch-size})
+     * @return Relatório da importação
+     */
+    @PostMapping(path = "/import", consumes = TEXT_CSV)
+    public ImportReportDTO importCsv(InputStream body, @RequestParam(required = false) Integer batchSize)
+            throws IOException {
+        return importService.importWastes(body, Format.CSV, batchSize);
+    }
+
+    /**
+     * Importa resíduos de um arquivo NDJSON (um objeto JSON por linha) enviado
+     * no corpo da requisição. O arquivo é processado à medida que é recebido.
+     *
+     * @param body Conteúdo do arquivo NDJSON
+     * @param batchSize Tamanho do lote (opcional, limitado a {@code waste.import.max-batch-size})
+     * @return Relatório da importação
+     */
+    @PostMapping(path = "/import", consumes = APPLICATION_NDJSON)
+    public ImportReportDTO importNdjson(InputStream body, @RequestParam(required = false) Integer batchSize)
+            throws IOException {
+        return importService.importWastes(body, Format.NDJSON, batchSize);
+    }
+
+    /**
+     * Recebe as leituras acumuladas por um dispositivo de coleta em uma única
+     * requisição. Cada item deve ter uma chave de idempotência; itens já
+     * gravados em envios anteriores são informados como {@code DUPLICATE}, então
+     * o dispositivo pode reenviar o lote inteiro com segurança.
+     *
+     * @param items Leituras do usuário autenticado
+     * @param authentication Usuário autenticado
+     * @return Situação de cada item
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public WasteSubmissionReportDTO submitBatch(@RequestBody List<WasteSubmissionItem> items,
+                                                Authentication authentication) {
+        return submissionService.submit(items, authentication.getName());
+    }
+
+    /**
+     * Exporta o histórico de resíduos em CSV ou NDJSON. O arquivo é gerado
+     * enquanto é enviado, sem carregar os resíduos em memória. Usuários que não
+     * são administradores exportam apenas os próprios resíduos.
+     *
+     * Os cabeçalhos são enviados ainda na thread da requisição: a sessão criada
+     * na autenticação é gravada nesse momento, antes que a thread da
+     * exportação confirme a resposta (com as duas threads gravando uma sessão
+     * nova, o Spring Session a insere duas vezes).
+     *
+     * @param format csv ou ndjson
+     * @param start Data inicial (opcional)
+     * @param end Data final (opcional)
+     * @param user Email do usuário (opcional)
+     * @param type Tipo do resíduo (opcional)
+     * @param authentication Usuário autenticado
+     * @param response Resposta HTTP
+     * @return Arquivo exportado
+     * @throws IOException Se não for possível enviar os cabeçalhos
+     */
+    @GetMapping("/export")
+    public StreamingResponseBody export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) String user,
+            @RequestParam(required = false) Type type,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        Format exportFormat = parseFormat(format);
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        WasteExportService.Filter filter = new WasteExportService.Filter(start, end,
+                admin ? user : authentication.getName(), type);
+
+        String extension = exportFormat == Format.CSV ? "csv" : "ndjson";
+        response.setContentType(exportFormat == Format.CSV ? TEXT_CSV : APPLICATION_NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("residuos." + extension).build().toString());
+        response.flushBuffer();
+        return output -> exportService.export(filter, exportFormat, output);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        logger.warn("Requisição inválida: {}", e.getMessage());
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + format);
+        }
+    }
+
+    private static WasteCursor decode(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : WasteCursor.decode(cursor);
+    }
+}
@@ -1,6 +1,7 @@
 package com.reciclamais.waste_management.controller;
 
 import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.service.WasteIngestionQueue;
 import com.reciclamais.waste_management.service.WasteService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -33,6 +34,9 @@ public class WasteController {
     @Autowired
     private WasteService wasteService;
 
+    @Autowired
+    private WasteIngestionQueue ingestionQueue;
+
     /**
      * Exibe o formulário de registro de resíduo.
      * Este método é chamado quando o usuário acessa a página de registro.
@@ -68,7 +72,8 @@ public class WasteController {
      * 1. Valida os dados do formulário
      * 2. Se houver erros de validação, retorna ao formulário
      * 3. Verifica a autenticação do usuário
-     * 4. Salva o resíduo no banco de dados
+     * 4. Salva o resíduo no banco de dados (ou o coloca na fila de gravação
+     *    assíncrona, se habilitada)
      * 5. Redireciona para o dashboard em caso de sucesso
      *
      * @param waste Objeto Waste com os dados do formulário
@@ -94,8 +99,13 @@ public class WasteController {
                 return handleUnauthorized(model);
             }
             
-            wasteService.save(waste, username);
-            logger.info("Resíduo salvo com sucesso");
+            if (ingestionQueue.isEnabled()) {
+                ingestionQueue.submit(waste, username);
+                logger.info("Resíduo recebido na fila de gravação");
+            } else {
+                wasteService.save(waste, username);
+                logger.info("Resíduo salvo com sucesso");
+            }
             
             addSuccessMessage(redirectAttributes);
             return DASHBOARD_REDIRECT;
@@ -0,0 +1,15 @@
+package com.reciclamais.waste_management.dto;
+
+import lombok.*;
+
+/**
+ * DTO com os totais exibidos nos cartões de resumo do dashboard.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummaryDTO {
+    private double totalWaste;
+    private double wasteRecycled;
+    private double recyclingRate;
+}
@@ -0,0 +1,27 @@
+package com.reciclamais.waste_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO com as alterações do dashboard enviadas pelo stream de eventos
+ * ({@code /dashboard/stream}).
+ *
+ * Os totais são sempre enviados; a distribuição por tipo e o ranking só são
+ * incluídos quando mudaram desde o evento anterior (campos nulos são omitidos
+ * do JSON).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardUpdateDTO {
+    private long version;
+    private double totalWaste;
+    private double wasteRecycled;
+    private double recyclingRate;
+    private List<TypeWasteDTO> types;
+    private List<UserRankingDTO> ranking;
+}
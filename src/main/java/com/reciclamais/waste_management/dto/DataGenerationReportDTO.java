@@ -0,0 +1,25 @@
+package com.reciclamais.waste_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de uma geração de dados sintéticos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataGenerationReportDTO {
+    private long seed;
+    private int users;
+    private long wastes;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private long elapsedMillis;
+    private long wastesPerSecond;
+    /** Senha aleatória dos usuários criados; nula quando a senha foi informada no pedido */
+    private String generatedPassword;
+}
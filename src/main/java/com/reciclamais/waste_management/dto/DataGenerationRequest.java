@@ -0,0 +1,54 @@
+package com.reciclamais.waste_management.dto;
+
+import com.reciclamais.waste_management.model.Type;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Parâmetros da geração de dados sintéticos. Campos omitidos usam os valores
+ * padrão abaixo; a mesma semente com os mesmos parâmetros gera os mesmos
+ * resíduos.
+ */
+@Data
+@NoArgsConstructor
+public class DataGenerationRequest {
+
+    /** Semente do gerador; se nula, uma semente aleatória é usada e informada no relatório */
+    private Long seed;
+
+    /** Quantidade de usuários criados */
+    private int users = 100;
+
+    /** Quantidade de resíduos criados */
+    private long wastes = 10_000;
+
+    /** Quantidade de meses do histórico, terminando em {@code endMonth} */
+    private int months = 24;
+
+    /** Último mês do histórico; se nulo, o mês atual (sem datas futuras) */
+    private YearMonth endMonth;
+
+    /** Peso relativo de cada tipo de resíduo; se nulo, uma distribuição típica de coleta urbana */
+    private Map<Type, Double> typeWeights;
+
+    /** Variação sazonal da quantidade de resíduos por mês, entre 0 (nenhuma) e 1 */
+    private double seasonalAmplitude = 0.3;
+
+    /** Mês (1 a 12) com mais resíduos */
+    private int peakMonth = 12;
+
+    /** Fração dos resíduos marcados como reciclados, entre 0 e 1 */
+    private double recycledRatio = 0.6;
+
+    /** Expoente da distribuição de Zipf dos resíduos por usuário (0 = uniforme) */
+    private double userSkew = 1.0;
+
+    /** Prefixo dos emails dos usuários criados ({@code <prefixo>-<n>@example.com}) */
+    private String emailPrefix = "carga";
+
+    /** Senha dos usuários criados; se nula, uma senha aleatória é gerada e informada no relatório */
+    private String password;
+}
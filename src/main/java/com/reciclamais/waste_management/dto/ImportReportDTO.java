@@ -0,0 +1,28 @@
+package com.reciclamais.waste_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote de resíduos.
+ * A lista de linhas rejeitadas é limitada; {@code rejected} traz o total.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long accepted;
+    private long rejected;
+    private List<RejectedRowDTO> rejectedRows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRowDTO {
+        private long line;
+        private String reason;
+    }
+}
@@ -0,0 +1,36 @@
+package com.reciclamais.waste_management.dto;
+
+import com.reciclamais.waste_management.model.Type;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Totais de resíduos de um tipo em um mês, agregados no banco de dados.
+ * O usuário só é preenchido nas consultas agrupadas por usuário.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyWasteDTO {
+    private int year;
+    private int month;
+    private Type type;
+    private Long userId;
+    private double totalWeight;
+    private double recycledWeight;
+    private long count;
+
+    public MonthlyWasteDTO(int year, int month, Type type, double totalWeight, double recycledWeight, long count) {
+        this(year, month, type, null, totalWeight, recycledWeight, count);
+    }
+
+    /**
+     * @return Primeiro dia do mês a que os totais se referem
+     */
+    public LocalDate getPeriod() {
+        return LocalDate.of(year, month, 1);
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserRankingDTO {
+    private Long userId;
     private String name;
     private double totalRecycled;
-} 
\ No newline at end of file
+} 
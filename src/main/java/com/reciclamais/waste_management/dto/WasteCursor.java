@@ -0,0 +1,47 @@
+package com.reciclamais.waste_management.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Cursor da paginação por chave (keyset) do histórico de resíduos.
+ *
+ * Aponta para o último resíduo retornado, identificado pelo par (data, id),
+ * que é a ordem de paginação. A próxima página começa imediatamente após ele,
+ * sem o custo de OFFSET.
+ *
+ * @param date Data do último resíduo retornado
+ * @param id Identificador do último resíduo retornado
+ */
+public record WasteCursor(LocalDate date, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public static WasteCursor of(WasteDTO waste) {
+        return new WasteCursor(waste.getDate(), waste.getId());
+    }
+
+    /**
+     * Converte o cursor recebido do cliente.
+     *
+     * @param value Cursor no formato {@code aaaa-mm-dd_id}
+     * @return Cursor correspondente
+     * @throws IllegalArgumentException Se o cursor for inválido
+     */
+    public static WasteCursor decode(String value) {
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            return new WasteCursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value, e);
+        }
+    }
+
+    public String encode() {
+        return date.toString() + SEPARATOR + id;
+    }
+}
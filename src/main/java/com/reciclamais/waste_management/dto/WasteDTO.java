@@ -0,0 +1,24 @@
+package com.reciclamais.waste_management.dto;
+
+import com.reciclamais.waste_management.model.Type;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Representação de um resíduo para as respostas da API, sem expor a entidade do usuário.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WasteDTO {
+    private Long id;
+    private Type type;
+    private double weight;
+    private LocalDate date;
+    private String description;
+    private boolean recycled;
+    private String userName;
+}
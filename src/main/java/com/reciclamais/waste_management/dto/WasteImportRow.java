@@ -0,0 +1,16 @@
+package com.reciclamais.waste_management.dto;
+
+/**
+ * Linha de um arquivo de importação de resíduos (CSV ou NDJSON).
+ * Os valores são mantidos como texto e convertidos durante a validação.
+ *
+ * @param email Email do usuário que coletou o resíduo
+ * @param type Tipo do resíduo
+ * @param weight Peso em kg
+ * @param date Data da coleta (aaaa-mm-dd)
+ * @param description Descrição do resíduo
+ * @param recycled Se o resíduo foi reciclado (true/false)
+ */
+public record WasteImportRow(String email, String type, String weight, String date,
+                             String description, String recycled) {
+}
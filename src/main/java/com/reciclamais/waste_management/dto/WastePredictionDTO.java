@@ -10,4 +10,11 @@ import lombok.NoArgsConstructor;
 public class WastePredictionDTO {
     private double predictedAmount;
     private double confidence;
-} 
\ No newline at end of file
+    private double lowerBound;
+    private double upperBound;
+    private String series;
+
+    public WastePredictionDTO(double predictedAmount, double confidence) {
+        this(predictedAmount, confidence, predictedAmount, predictedAmount, null);
+    }
+} 
@@ -0,0 +1,19 @@
+package com.reciclamais.waste_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de resíduos na paginação por chave.
+ * O campo {@code nextCursor} é nulo quando não há mais resultados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WasteSliceDTO {
+    private List<WasteDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.reciclamais.waste_management.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Leitura enviada por um dispositivo de coleta na API de lotes.
+ *
+ * @param idempotencyKey Chave gerada pelo dispositivo, única por usuário (ex.: UUID)
+ * @param type Tipo do resíduo
+ * @param weight Peso em kg
+ * @param date Data da coleta (aaaa-mm-dd)
+ * @param description Descrição do resíduo
+ * @param recycled Se o resíduo foi reciclado
+ */
+public record WasteSubmissionItem(String idempotencyKey, String type, Double weight, LocalDate date,
+                                  String description, Boolean recycled) {
+}
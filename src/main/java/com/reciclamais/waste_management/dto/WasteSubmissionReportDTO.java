@@ -0,0 +1,43 @@
+package com.reciclamais.waste_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de um envio em lote: totais e a situação de cada item, na ordem
+ * em que foram enviados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WasteSubmissionReportDTO {
+    private int created;
+    private int duplicates;
+    private int rejected;
+    private List<ItemResultDTO> items;
+
+    public enum Status {
+        /** Gravado por este envio. */
+        CREATED,
+        /** Já gravado por um envio anterior (ou repetido neste envio). */
+        DUPLICATE,
+        /** Inválido; ver {@code error}. */
+        REJECTED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResultDTO {
+        private int index;
+        private String idempotencyKey;
+        private Status status;
+        private Long wasteId;
+        private String error;
+    }
+}
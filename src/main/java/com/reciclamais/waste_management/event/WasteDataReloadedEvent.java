@@ -0,0 +1,13 @@
+package com.reciclamais.waste_management.event;
+
+/**
+ * Evento publicado após uma carga ou remoção em massa feita diretamente no
+ * banco de dados, sem um {@link WasteRecordedEvent} por resíduo (ex.: geração
+ * de dados sintéticos, retenção das partições mensais). Os ouvintes devem
+ * descartar ou recarregar tudo o que mantêm em memória a partir das tabelas,
+ * na ordem definida em {@link WasteRecordedEvent} ({@code ORDER_*}).
+ *
+ * @param wastes Quantidade de resíduos gravados pela carga (0 na retenção)
+ */
+public record WasteDataReloadedEvent(long wastes) {
+}
@@ -0,0 +1,40 @@
+package com.reciclamais.waste_management.event;
+
+import com.reciclamais.waste_management.model.Waste;
+
+import java.util.List;
+
+/**
+ * Evento publicado quando um ou mais resíduos são gravados no banco de dados.
+ *
+ * Os ouvintes devem usar {@code @TransactionalEventListener} para reagir apenas
+ * após o commit da transação que gravou os resíduos, com {@code @Order} em uma
+ * das constantes abaixo: primeiro os dados de análise são atualizados, depois
+ * a versão dos dados é incrementada e por fim os caches derivados são
+ * descartados. Assim, quem lê a versão nova encontra os dados novos, e nenhum
+ * cache é preenchido novamente com dados antigos sob a versão nova. Os
+ * ouvintes de {@link WasteDataReloadedEvent} seguem a mesma ordem.
+ *
+ * @param wastes Resíduos gravados (com usuário associado)
+ */
+public record WasteRecordedEvent(List<Waste> wastes) {
+
+    /**
+     * Agregados, colunas e modelos de previsão.
+     */
+    public static final int ORDER_ANALYTICS = 0;
+
+    /**
+     * Versão dos dados ({@code WasteDataVersion}).
+     */
+    public static final int ORDER_VERSION = 100;
+
+    /**
+     * Caches de fragmentos e stream do dashboard.
+     */
+    public static final int ORDER_CACHES = 200;
+
+    public static WasteRecordedEvent of(Waste waste) {
+        return new WasteRecordedEvent(List.of(waste));
+    }
+}
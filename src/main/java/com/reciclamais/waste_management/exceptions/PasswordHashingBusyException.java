@@ -0,0 +1,14 @@
+package com.reciclamais.waste_management.exceptions;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Lançada quando o executor de hash de senhas está sobrecarregado (fila cheia
+ * ou espera máxima excedida). Estende {@link AuthenticationServiceException}
+ * para que o login recusado chegue ao failure handler e seja respondido com 503.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
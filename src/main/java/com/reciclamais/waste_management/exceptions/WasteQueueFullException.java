@@ -0,0 +1,7 @@
+package com.reciclamais.waste_management.exceptions;
+
+public class WasteQueueFullException extends RuntimeException {
+    public WasteQueueFullException(String message) {
+        super(message);
+    }
+}
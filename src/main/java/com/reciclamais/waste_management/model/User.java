@@ -11,8 +11,13 @@ import lombok.*;
 @Entity
 @Table(name = "tb_users")
 public class User {
+
+    public static final String ID_SEQUENCE = "tb_users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = User.ID_SEQUENCE, allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "O nome é obrigatório.")
@@ -13,11 +13,23 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tb_waste")
+@Table(name = "tb_waste", indexes = {
+        @Index(name = "idx_waste_date", columnList = "date, id"),
+        @Index(name = "idx_waste_user_date", columnList = "user_id, date, id")
+})
 public class Waste {
 
+    public static final String ID_SEQUENCE = "tb_waste_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Identificadores reservados em blocos de {@link #ID_ALLOCATION_SIZE} pela
+     * sequência {@code tb_waste_seq} (otimizador pooled-lo), o que permite ao
+     * Hibernate agrupar as inserções em lotes JDBC.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waste_seq")
+    @SequenceGenerator(name = "waste_seq", sequenceName = Waste.ID_SEQUENCE, allocationSize = Waste.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "O tipo de resíduo é obrigatório")
@@ -37,7 +49,7 @@ public class Waste {
     @Column(length = 500)
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
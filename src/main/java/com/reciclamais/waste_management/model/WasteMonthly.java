@@ -0,0 +1,48 @@
+package com.reciclamais.waste_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Totais mensais de resíduos por tipo e usuário.
+ *
+ * Mantidos a cada gravação de resíduo e reconstruídos pelo job de backfill,
+ * permitem que as análises por mês leiam poucas linhas em vez de toda a
+ * tabela {@code tb_waste}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_waste_monthly", uniqueConstraints =
+        @UniqueConstraint(name = "uk_waste_monthly", columnNames = {"period_year", "period_month", "type", "user_id"}))
+public class WasteMonthly {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_year", nullable = false)
+    private int year;
+
+    @Column(name = "period_month", nullable = false)
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private double totalWeight;
+
+    @Column(nullable = false)
+    private double recycledWeight;
+
+    @Column(nullable = false)
+    private long count;
+}
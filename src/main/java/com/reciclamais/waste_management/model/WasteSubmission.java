@@ -0,0 +1,47 @@
+package com.reciclamais.waste_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * Chave de idempotência de um resíduo enviado pela API de lotes
+ * ({@code POST /api/waste/batch}).
+ *
+ * A chave é gerada pelo dispositivo de coleta e é única por usuário: o reenvio
+ * de uma leitura já gravada devolve o resíduo original em vez de duplicá-lo.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_waste_submission", uniqueConstraints =
+        @UniqueConstraint(name = "uk_waste_submission", columnNames = {"user_id", "idempotency_key"}))
+public class WasteSubmission {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "waste_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Waste waste;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
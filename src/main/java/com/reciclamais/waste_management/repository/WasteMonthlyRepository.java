@@ -0,0 +1,33 @@
+package com.reciclamais.waste_management.repository;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.model.WasteMonthly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WasteMonthlyRepository extends JpaRepository<WasteMonthly, Long> {
+
+    @Modifying
+    @Query("INSERT INTO WasteMonthly (year, month, type, user, totalWeight, recycledWeight, count) " +
+           "SELECT YEAR(w.date), MONTH(w.date), w.type, w.user, SUM(w.weight), " +
+           "SUM(CASE WHEN w.recycled = true THEN w.weight ELSE 0 END), COUNT(w) " +
+           "FROM Waste w GROUP BY YEAR(w.date), MONTH(w.date), w.type, w.user")
+    int backfill();
+
+    @Query("SELECT COALESCE(SUM(m.count), 0) FROM WasteMonthly m")
+    long sumCount();
+
+    @Query("SELECT new com.reciclamais.waste_management.dto.MonthlyWasteDTO(" +
+           "m.year, m.month, m.type, SUM(m.totalWeight), SUM(m.recycledWeight), SUM(m.count)) " +
+           "FROM WasteMonthly m GROUP BY m.year, m.month, m.type ORDER BY m.year, m.month")
+    List<MonthlyWasteDTO> sumByMonthAndType();
+
+    @Query("SELECT new com.reciclamais.waste_management.dto.MonthlyWasteDTO(" +
+           "m.year, m.month, NULL, m.user.id, SUM(m.totalWeight), SUM(m.recycledWeight), SUM(m.count)) " +
+           "FROM WasteMonthly m GROUP BY m.year, m.month, m.user.id ORDER BY m.year, m.month")
+    List<MonthlyWasteDTO> sumByMonthAndUser();
+}
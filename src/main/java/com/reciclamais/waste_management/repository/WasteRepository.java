@@ -1,8 +1,77 @@
 package com.reciclamais.waste_management.repository;
 
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.dto.WasteDTO;
 import com.reciclamais.waste_management.model.Waste;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface WasteRepository extends JpaRepository<Waste, Long> {
 
+    String SELECT_WASTE_DTO = "SELECT new com.reciclamais.waste_management.dto.WasteDTO(" +
+            "w.id, w.type, w.weight, w.date, w.description, w.recycled, u.name) FROM Waste w JOIN w.user u ";
+    String KEYSET_ORDER = " ORDER BY w.date DESC, w.id DESC";
+    String AFTER_CURSOR = " AND (w.date < :date OR (w.date = :date AND w.id < :id))";
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT w FROM Waste w ORDER BY w.date, w.id")
+    List<Waste> findAllWithUser();
+
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT w FROM Waste w WHERE w.date BETWEEN :startDate AND :endDate ORDER BY w.date, w.id")
+    List<Waste> findByPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT w FROM Waste w JOIN FETCH w.user u WHERE u.email = :email ORDER BY w.date, w.id")
+    List<Waste> findByUserEmail(@Param("email") String email);
+
+    @Query(SELECT_WASTE_DTO + "WHERE w.date BETWEEN :startDate AND :endDate" + KEYSET_ORDER)
+    List<WasteDTO> findPageByPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                    Limit limit);
+
+    @Query(SELECT_WASTE_DTO + "WHERE w.date BETWEEN :startDate AND :endDate" + AFTER_CURSOR + KEYSET_ORDER)
+    List<WasteDTO> findPageByPeriodAfter(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                         @Param("date") LocalDate date, @Param("id") long id, Limit limit);
+
+    @Query(SELECT_WASTE_DTO + "WHERE u.email = :email" + KEYSET_ORDER)
+    List<WasteDTO> findPageByUser(@Param("email") String email, Limit limit);
+
+    @Query(SELECT_WASTE_DTO + "WHERE u.email = :email" + AFTER_CURSOR + KEYSET_ORDER)
+    List<WasteDTO> findPageByUserAfter(@Param("email") String email,
+                                       @Param("date") LocalDate date, @Param("id") long id, Limit limit);
+
+    @Query("SELECT w.id FROM Waste w WHERE w.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COALESCE(SUM(w.weight), 0) FROM Waste w")
+    double sumWeight();
+
+    @Query("SELECT COALESCE(SUM(w.weight), 0) FROM Waste w WHERE w.recycled = true")
+    double sumRecycledWeight();
+
+    @Query("SELECT new com.reciclamais.waste_management.dto.TypeWasteDTO(" +
+           "CAST(w.type AS String), CAST(ROUND(SUM(w.weight), 0) AS Integer), " +
+           "SUM(w.weight) * 100.0 / (SELECT SUM(t.weight) FROM Waste t)) " +
+           "FROM Waste w GROUP BY w.type ORDER BY SUM(w.weight) DESC")
+    List<TypeWasteDTO> sumWeightByType();
+
+    @Query("SELECT new com.reciclamais.waste_management.dto.UserRankingDTO(u.id, u.name, SUM(w.weight)) " +
+           "FROM Waste w JOIN w.user u WHERE w.recycled = true " +
+           "GROUP BY u.id, u.name ORDER BY SUM(w.weight) DESC")
+    List<UserRankingDTO> sumRecycledWeightByUser();
+
+    @Query("SELECT new com.reciclamais.waste_management.dto.MonthlyWasteDTO(" +
+           "YEAR(w.date), MONTH(w.date), w.type, SUM(w.weight), " +
+           "SUM(CASE WHEN w.recycled = true THEN w.weight ELSE 0 END), COUNT(w)) " +
+           "FROM Waste w GROUP BY YEAR(w.date), MONTH(w.date), w.type " +
+           "ORDER BY YEAR(w.date), MONTH(w.date)")
+    List<MonthlyWasteDTO> sumWeightByMonthAndType();
 }
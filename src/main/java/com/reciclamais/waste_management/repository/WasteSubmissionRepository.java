@@ -0,0 +1,12 @@
+package com.reciclamais.waste_management.repository;
+
+import com.reciclamais.waste_management.model.WasteSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface WasteSubmissionRepository extends JpaRepository<WasteSubmission, Long> {
+
+    List<WasteSubmission> findByUserIdAndIdempotencyKeyIn(Long userId, Collection<String> idempotencyKeys);
+}
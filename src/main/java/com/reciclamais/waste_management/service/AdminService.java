@@ -17,6 +17,9 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCache userCache;
+
     @Value("${security.admin.email:admin@reciclamais.com}")
     private String adminEmail;
 
@@ -44,5 +47,6 @@ public class AdminService {
 
         admin.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(admin);
+        userCache.invalidate(adminEmail);
     }
 } 
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.reciclamais.waste_management.service;
 
-import com.reciclamais.waste_management.model.User;
 import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.service.UserCache.CachedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,20 +15,39 @@ import org.springframework.stereotype.Service;
 import java.util.Collections;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    @Autowired
+    private UserCache userCache;
 
     @Autowired
     private UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        CachedUser user = userCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com o email: " + email));
 
         return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getTypeUser().name()))
+                user.email(),
+                user.passwordHash(),
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Grava o novo hash da senha quando o custo do BCrypt configurado mudou.
+     * Chamado pelo Spring Security após um login bem-sucedido.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userCache.invalidate(user.getUsername());
+        logger.info("Hash da senha atualizado para o custo configurado: {}", user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+}
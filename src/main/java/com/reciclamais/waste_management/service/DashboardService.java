@@ -0,0 +1,89 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.config.AppThreads;
+import com.reciclamais.waste_management.dto.DashboardSummaryDTO;
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.dto.WastePredictionDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serviço que calcula os widgets do dashboard de forma assíncrona.
+ *
+ * Cada widget é carregado pela página em uma requisição própria (fragmentos
+ * HTMX) e calculado em um pool de threads dedicado e limitado
+ * ({@code waste.dashboard.pool-size} threads e fila de
+ * {@code waste.dashboard.queue-capacity} tarefas). Quando a fila está cheia,
+ * a tarefa é rejeitada com {@link java.util.concurrent.RejectedExecutionException}
+ * em vez de acumular requisições.
+ *
+ * No perfil {@code virtual-threads} as threads do pool são virtuais; o limite
+ * de tarefas simultâneas continua valendo.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final WasteService wasteService;
+    private final ForecastService forecastService;
+    private final ThreadPoolExecutor executor;
+
+    public DashboardService(WasteService wasteService, ForecastService forecastService, AppThreads threads,
+                            @Value("${waste.dashboard.pool-size:4}") int poolSize,
+                            @Value("${waste.dashboard.queue-capacity:100}") int queueCapacity) {
+        this.wasteService = wasteService;
+        this.forecastService = forecastService;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threads.factory("dashboard-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        logger.info("DashboardService construído com sucesso (threads: {}, fila: {})", poolSize, queueCapacity);
+    }
+
+    /**
+     * Calcula o total de resíduos e o total reciclado em paralelo e deriva a
+     * taxa de reciclagem, sem consultá-los novamente.
+     *
+     * @return Totais do dashboard
+     */
+    public CompletableFuture<DashboardSummaryDTO> getSummary() {
+        CompletableFuture<Double> total = supply(wasteService::getTotalWaste);
+        CompletableFuture<Double> recycled = supply(wasteService::getWasteRecycled);
+        return total.thenCombine(recycled, (totalWaste, wasteRecycled) ->
+                new DashboardSummaryDTO(totalWaste, wasteRecycled,
+                        totalWaste == 0 ? 0.0 : (wasteRecycled / totalWaste) * 100));
+    }
+
+    public CompletableFuture<List<TypeWasteDTO>> getWasteByType() {
+        return supply(wasteService::getWasteByType);
+    }
+
+    public CompletableFuture<List<UserRankingDTO>> getUserRankings() {
+        return supply(wasteService::getUserRankings);
+    }
+
+    public CompletableFuture<WastePredictionDTO> getPrediction() {
+        return supply(forecastService::predictNextMonthWaste);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+}
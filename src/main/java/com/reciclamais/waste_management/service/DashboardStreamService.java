@@ -0,0 +1,287 @@
+package com.reciclamais.waste_management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reciclamais.waste_management.config.AppThreads;
+import com.reciclamais.waste_management.dto.DashboardUpdateDTO;
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream de atualizações do dashboard (Server-Sent Events).
+ *
+ * Cada gravação de resíduos ({@link WasteRecordedEvent}, após o commit) apenas
+ * marca o dashboard como alterado. A cada {@code waste.dashboard.stream.interval}
+ * uma tarefa agendada verifica a marca e, se houver alterações, calcula os
+ * totais, a distribuição por tipo e o ranking uma única vez e envia o mesmo
+ * evento a todos os assinantes: rajadas de gravações geram no máximo um evento
+ * por intervalo.
+ *
+ * As conexões são assíncronas ({@link SseEmitter}) e não ocupam threads do
+ * servidor; o envio é feito por um pool pequeno
+ * ({@code waste.dashboard.stream.fan-out-threads}). Conexões encerradas são
+ * descobertas no envio (ou no heartbeat) e removidas.
+ *
+ * O limite de assinantes ({@code waste.dashboard.stream.max-subscribers}) é
+ * garantido reservando a vaga antes de criar a conexão; a vaga é liberada
+ * uma única vez, quando a conexão é removida, ou de imediato se o estado
+ * inicial não puder ser calculado.
+ *
+ * O estado completo enviado na inscrição é reaproveitado enquanto a versão dos
+ * dados ({@link WasteDataVersion}) não muda: novos assinantes recebem o último
+ * estado calculado, sem repetir as consultas a cada conexão.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    /** Evento enviado a cada alteração, com apenas o que mudou. */
+    public static final String UPDATE_EVENT = "dashboard-updated";
+    /** Evento enviado na inscrição, com o estado completo. */
+    public static final String SNAPSHOT_EVENT = "dashboard-snapshot";
+
+    private static final int RANKING_SIZE = 10;
+    private static final int FAN_OUT_CHUNK = 200;
+
+    private final WasteService wasteService;
+    private final WasteDataVersion dataVersion;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int maxSubscribers;
+    private final ExecutorService fanOut;
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile DashboardUpdateDTO lastSent;
+    private volatile Snapshot latestSnapshot;
+    private volatile long lastBroadcastAt = System.currentTimeMillis();
+
+    public DashboardStreamService(WasteService wasteService, WasteDataVersion dataVersion, ObjectMapper objectMapper,
+                                  AppThreads threads,
+                                  @Value("${waste.dashboard.stream.timeout:PT30M}") Duration timeout,
+                                  @Value("${waste.dashboard.stream.heartbeat:PT30S}") Duration heartbeat,
+                                  @Value("${waste.dashboard.stream.max-subscribers:5000}") int maxSubscribers,
+                                  @Value("${waste.dashboard.stream.fan-out-threads:2}") int fanOutThreads) {
+        this.wasteService = wasteService;
+        this.dataVersion = dataVersion;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.maxSubscribers = maxSubscribers;
+        this.fanOut = Executors.newFixedThreadPool(fanOutThreads, threads.factory("dashboard-stream-"));
+        logger.info("DashboardStreamService construído com sucesso (máximo de assinantes: {})", maxSubscribers);
+    }
+
+    /**
+     * Inscreve um novo assinante e envia o estado atual completo.
+     *
+     * @return Emissor da conexão
+     * @throws RejectedExecutionException se o limite de assinantes foi atingido
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new RejectedExecutionException("Limite de " + maxSubscribers + " assinantes atingido");
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = currentSnapshot();
+        } catch (RuntimeException e) {
+            // Sem emissor devolvido ao MVC nenhum callback liberaria a vaga
+            subscribers.decrementAndGet();
+            throw e;
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(emitter));
+        emitters.add(emitter);
+
+        send(emitter, SNAPSHOT_EVENT, snapshot.state().getVersion(), snapshot.json());
+        return emitter;
+    }
+
+    /**
+     * Marca o dashboard como alterado após o commit de novos resíduos.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_CACHES)
+    public void onWasteRecorded(WasteRecordedEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Marca o dashboard como alterado após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_CACHES)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * Envia as alterações acumuladas desde o último evento (ou um heartbeat,
+     * se nada mudou por {@code waste.dashboard.stream.heartbeat}).
+     */
+    @Scheduled(fixedDelayString = "${waste.dashboard.stream.interval:PT2S}")
+    public void publishUpdates() {
+        if (emitters.isEmpty()) {
+            // Sem assinantes não há com o que comparar: o próximo evento será completo
+            dirty.set(false);
+            lastSent = null;
+            return;
+        }
+        if (dirty.getAndSet(false)) {
+            // A versão é lida antes do cálculo, assim como nos fragmentos em cache
+            long version = dataVersion.getVersion();
+            DashboardUpdateDTO current = snapshot(version);
+            DashboardUpdateDTO update = changesSince(lastSent, current);
+            lastSent = current;
+            latestSnapshot = new Snapshot(current, toJson(current));
+            broadcast(UPDATE_EVENT, version, toJson(update));
+        } else if (System.currentTimeMillis() - lastBroadcastAt >= heartbeat.toMillis()) {
+            broadcast(null, 0, null);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdown();
+        for (SseEmitter emitter : List.copyOf(emitters)) {
+            remove(emitter);
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Remove o assinante e libera sua vaga, se ainda não tiver sido removido.
+     */
+    private void remove(SseEmitter emitter) {
+        if (emitters.remove(emitter)) {
+            subscribers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Último estado completo, recalculado somente se a versão dos dados mudou.
+     * A versão é lida antes do cálculo: uma gravação concorrente apenas faz o
+     * próximo assinante recalcular.
+     */
+    private Snapshot currentSnapshot() {
+        long version = dataVersion.getVersion();
+        Snapshot latest = latestSnapshot;
+        if (latest != null && latest.state().getVersion() == version) {
+            return latest;
+        }
+        DashboardUpdateDTO state = snapshot(version);
+        Snapshot snapshot = new Snapshot(state, toJson(state));
+        latestSnapshot = snapshot;
+        return snapshot;
+    }
+
+    private DashboardUpdateDTO snapshot(long version) {
+        double totalWaste = wasteService.getTotalWaste();
+        double wasteRecycled = wasteService.getWasteRecycled();
+        List<UserRankingDTO> rankings = wasteService.getUserRankings();
+        return new DashboardUpdateDTO(version, totalWaste, wasteRecycled,
+                totalWaste == 0 ? 0.0 : (wasteRecycled / totalWaste) * 100,
+                wasteService.getWasteByType(),
+                List.copyOf(rankings.subList(0, Math.min(RANKING_SIZE, rankings.size()))));
+    }
+
+    /**
+     * Mantém os totais e apenas as listas que mudaram em relação ao último evento.
+     */
+    private static DashboardUpdateDTO changesSince(DashboardUpdateDTO previous, DashboardUpdateDTO current) {
+        if (previous == null) {
+            return current;
+        }
+        List<TypeWasteDTO> types = Objects.equals(previous.getTypes(), current.getTypes()) ? null : current.getTypes();
+        List<UserRankingDTO> ranking = Objects.equals(previous.getRanking(), current.getRanking())
+                ? null : current.getRanking();
+        return new DashboardUpdateDTO(current.getVersion(), current.getTotalWaste(), current.getWasteRecycled(),
+                current.getRecyclingRate(), types, ranking);
+    }
+
+    /**
+     * Divide os assinantes em blocos enviados pelo pool de envio. O JSON é
+     * serializado uma única vez para todos.
+     *
+     * @param name Nome do evento ou {@code null} para um heartbeat (comentário)
+     */
+    private void broadcast(String name, long version, String json) {
+        lastBroadcastAt = System.currentTimeMillis();
+        List<SseEmitter> subscribers = new ArrayList<>(emitters);
+        for (int start = 0; start < subscribers.size(); start += FAN_OUT_CHUNK) {
+            List<SseEmitter> chunk = subscribers.subList(start, Math.min(start + FAN_OUT_CHUNK, subscribers.size()));
+            fanOut.execute(() -> chunk.forEach(emitter -> send(emitter, name, version, json)));
+        }
+        if (name != null) {
+            logger.debug("Atualização do dashboard (versão {}) enviada a {} assinantes", version, subscribers.size());
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, long version, String json) {
+        try {
+            if (name == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().name(name).id(Long.toString(version)).data(json));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou emissor já concluído
+            remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Estado completo do dashboard e seu JSON, serializado uma única vez.
+     */
+    private record Snapshot(DashboardUpdateDTO state, String json) {
+    }
+
+    private String toJson(DashboardUpdateDTO update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a atualização do dashboard", e);
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.reciclamais.waste_management.service;
 
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
 import com.reciclamais.waste_management.dto.WastePredictionDTO;
-import com.reciclamais.waste_management.model.Waste;
-import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -43,14 +44,17 @@ import java.util.stream.Collectors;
  * @version 1.0
  */
 @Service
+@Timed("reciclamais.service")
 public class ForecastService {
 
     private static final Logger logger = LoggerFactory.getLogger(ForecastService.class);
     
-    private final WasteRepository wasteRepository;
+    private final WasteMonthlyRepository monthlyRepository;
+    private final WasteAnalytics analytics;
 
-    public ForecastService(WasteRepository wasteRepository) {
-        this.wasteRepository = wasteRepository;
+    public ForecastService(WasteMonthlyRepository monthlyRepository, WasteAnalytics analytics) {
+        this.monthlyRepository = monthlyRepository;
+        this.analytics = analytics;
         logger.info("ForecastService construído com sucesso");
     }
 
@@ -58,7 +62,7 @@ public class ForecastService {
      * Prevé a quantidade de resíduos para o próximo mês.
      * 
      * Este método implementa as seguintes etapas:
-     * 1. Coleta dados históricos de resíduos
+     * 1. Coleta os totais mensais (agregados em memória ou tabela de totais mensais)
      * 2. Agrupa resíduos por mês
      * 3. Aplica regressão linear para previsão
      * 4. Calcula o coeficiente de determinação (R²)
@@ -73,20 +77,39 @@ public class ForecastService {
      *         - confidence: Nível de confiança entre 0 e 1
      */
     public WastePredictionDTO predictNextMonthWaste() {
-        List<Waste> allWastes = wasteRepository.findAll();
-        logger.info("Calculating waste prediction from {} wastes", allWastes.size());
+        if (analytics.isReady()) {
+            logger.info("Calculating waste prediction from {} aggregated wastes", analytics.getCount());
+            if (analytics.getCount() < 2) {
+                return new WastePredictionDTO(0.0, 0.0);
+            }
+            return predict(analytics.getMonthlyWeights());
+        }
+
+        List<MonthlyWasteDTO> monthlyTotals = monthlyRepository.sumByMonthAndType();
+        long count = monthlyTotals.stream().mapToLong(MonthlyWasteDTO::getCount).sum();
+        logger.info("Calculating waste prediction from {} wastes", count);
 
-        if (allWastes.isEmpty() || allWastes.size() < 2) {
+        if (count < 2) {
             return new WastePredictionDTO(0.0, 0.0);
         }
 
-        // Agrupa resíduos por mês
-        Map<LocalDate, Double> monthlyWaste = allWastes.stream()
+        // Agrupa os totais mensais (tb_waste_monthly) de todos os tipos por mês
+        Map<LocalDate, Double> monthlyWaste = monthlyTotals.stream()
                 .collect(Collectors.groupingBy(
-                        waste -> waste.getDate().withDayOfMonth(1),
-                        Collectors.summingDouble(Waste::getWeight)
+                        MonthlyWasteDTO::getPeriod,
+                        Collectors.summingDouble(MonthlyWasteDTO::getTotalWeight)
                 ));
 
+        return predict(monthlyWaste);
+    }
+
+    /**
+     * Aplica a regressão linear sobre os totais mensais.
+     *
+     * @param monthlyWaste Peso total por mês (primeiro dia do mês)
+     * @return DTO contendo a previsão e nível de confiança
+     */
+    private WastePredictionDTO predict(Map<LocalDate, Double> monthlyWaste) {
         if (monthlyWaste.size() < 2) {
             return new WastePredictionDTO(0.0, 0.0);
         }
@@ -0,0 +1,166 @@
+package com.reciclamais.waste_management.service;
+
+/**
+ * Modelo de Holt-Winters com sazonalidade aditiva.
+ *
+ * Decompõe uma série mensal em nível, tendência e componente sazonal, o que
+ * permite prever fluxos com forte sazonalidade (como ORGANICO e CONSTRUCAO)
+ * melhor que uma regressão linear simples.
+ *
+ * Os parâmetros de suavização (alfa, beta e gama) são escolhidos por busca em
+ * grade, minimizando o erro quadrático das previsões de um passo à frente.
+ * São necessárias ao menos duas temporadas completas de dados.
+ */
+final class HoltWinters {
+
+    private static final double[] GRID = {0.05, 0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9};
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final int seasonLength;
+    private final double level;
+    private final double trend;
+    private final double[] seasonal;
+    private final int observations;
+    private final double sse;
+    private final double sst;
+    private final int fittedPoints;
+
+    private HoltWinters(double alpha, double beta, double gamma, int seasonLength, double level, double trend,
+                        double[] seasonal, int observations, double sse, double sst, int fittedPoints) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.seasonLength = seasonLength;
+        this.level = level;
+        this.trend = trend;
+        this.seasonal = seasonal;
+        this.observations = observations;
+        this.sse = sse;
+        this.sst = sst;
+        this.fittedPoints = fittedPoints;
+    }
+
+    /**
+     * Indica se a série tem dados suficientes para o ajuste.
+     *
+     * @param length Quantidade de observações da série
+     * @param seasonLength Tamanho da temporada
+     * @return true se houver ao menos duas temporadas completas
+     */
+    static boolean canFit(int length, int seasonLength) {
+        return length >= 2 * seasonLength;
+    }
+
+    /**
+     * Ajusta o modelo à série, escolhendo os parâmetros de menor erro.
+     *
+     * @param series Observações em ordem cronológica, sem lacunas
+     * @param seasonLength Tamanho da temporada (12 para séries mensais)
+     * @return Modelo ajustado
+     * @throws IllegalArgumentException Se a série for curta demais
+     */
+    static HoltWinters fit(double[] series, int seasonLength) {
+        if (!canFit(series.length, seasonLength)) {
+            throw new IllegalArgumentException("São necessárias ao menos duas temporadas de dados");
+        }
+        HoltWinters best = null;
+        for (double alpha : GRID) {
+            for (double beta : GRID) {
+                for (double gamma : GRID) {
+                    HoltWinters candidate = fit(series, seasonLength, alpha, beta, gamma);
+                    if (best == null || candidate.sse < best.sse) {
+                        best = candidate;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static HoltWinters fit(double[] series, int m, double alpha, double beta, double gamma) {
+        // Estado inicial ao final da primeira temporada: tendência pela diferença
+        // entre as médias das duas primeiras temporadas e componente sazonal pela
+        // média dos desvios em relação à reta de tendência
+        double firstSeason = mean(series, 0, m);
+        double secondSeason = mean(series, m, 2 * m);
+        double trend = (secondSeason - firstSeason) / m;
+        double level = firstSeason + trend * (m - 1) / 2.0;
+
+        double[] seasonal = new double[m];
+        for (int i = 0; i < m; i++) {
+            double offset = trend * (i - (m - 1) / 2.0);
+            seasonal[i] = ((series[i] - firstSeason - offset) + (series[m + i] - secondSeason - offset)) / 2;
+        }
+
+        double fittedMean = mean(series, m, series.length);
+        double sse = 0;
+        double sst = 0;
+        for (int t = m; t < series.length; t++) {
+            int season = t % m;
+            double error = series[t] - (level + trend + seasonal[season]);
+            sse += error * error;
+            sst += (series[t] - fittedMean) * (series[t] - fittedMean);
+
+            double previousLevel = level;
+            level = alpha * (series[t] - seasonal[season]) + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+            seasonal[season] = gamma * (series[t] - level) + (1 - gamma) * seasonal[season];
+        }
+        return new HoltWinters(alpha, beta, gamma, m, level, trend, seasonal, series.length, sse, sst, series.length - m);
+    }
+
+    /**
+     * Prevê o valor {@code horizon} passos após a última observação.
+     */
+    double forecast(int horizon) {
+        return level + horizon * trend + seasonal[(observations + horizon - 1) % seasonLength];
+    }
+
+    /**
+     * @return Suavização do nível escolhida
+     */
+    double alpha() {
+        return alpha;
+    }
+
+    /**
+     * @return Suavização da tendência escolhida
+     */
+    double beta() {
+        return beta;
+    }
+
+    /**
+     * @return Suavização da componente sazonal escolhida
+     */
+    double gamma() {
+        return gamma;
+    }
+
+    /**
+     * @return Raiz do erro quadrático médio das previsões de um passo à frente
+     */
+    double rmse() {
+        return Math.sqrt(sse / fittedPoints);
+    }
+
+    /**
+     * @return Proporção da variância explicada pelo modelo (entre 0 e 1)
+     */
+    double rSquare() {
+        if (sst == 0) {
+            return sse == 0 ? 1.0 : 0.0;
+        }
+        return Math.max(0.0, Math.min(1.0, 1 - sse / sst));
+    }
+
+    private static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+}
@@ -0,0 +1,298 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.dto.WastePredictionDTO;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de previsão sazonal de resíduos por tipo e por usuário.
+ *
+ * Cada série mensal (um tipo de resíduo ou um usuário) é ajustada a um modelo
+ * de Holt-Winters aditivo com temporada de 12 meses. Séries com menos de dois
+ * anos de dados usam regressão linear, como o {@link ForecastService}.
+ *
+ * Principais características:
+ * 1. Ajuste em paralelo
+ *    - As séries são ajustadas em um ForkJoinPool dedicado e limitado
+ *      ({@code waste.forecast.parallelism})
+ *
+ * 2. Cache de modelos
+ *    - Cada previsão fica em cache até que um novo resíduo da série seja gravado
+ *    - Sem dados novos, nenhuma consulta é feita ao banco
+ *
+ * 3. Intervalos de previsão
+ *    - Intervalo de 95% baseado no erro das previsões de um passo à frente
+ *
+ * 4. Limite de séries por usuário
+ *    - Somente os usuários com maior volume ({@code waste.forecast.max-users})
+ *      são ajustados; os demais ficam fora da previsão por usuário
+ */
+@Service
+public class SeasonalForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeasonalForecastService.class);
+    private static final int SEASON_LENGTH = 12;
+    private static final double Z_95 = 1.96;
+
+    private final WasteMonthlyRepository monthlyRepository;
+    private final UserRepository userRepository;
+    private final ForkJoinPool pool;
+    private final int maxUsers;
+
+    private final Map<SeriesKey, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<SeriesKey, CachedPrediction> cache = new ConcurrentHashMap<>();
+    private final Set<SeriesKind> loaded = ConcurrentHashMap.newKeySet();
+
+    public SeasonalForecastService(WasteMonthlyRepository monthlyRepository, UserRepository userRepository,
+                                   @Value("${waste.forecast.parallelism:0}") int parallelism,
+                                   @Value("${waste.forecast.max-users:200}") int maxUsers) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("waste.forecast.max-users deve ser maior que zero");
+        }
+        this.monthlyRepository = monthlyRepository;
+        this.userRepository = userRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxUsers = maxUsers;
+        logger.info("SeasonalForecastService construído com sucesso (paralelismo: {}, máximo de usuários: {})",
+                pool.getParallelism(), maxUsers);
+    }
+
+    /**
+     * Prevê o peso de resíduos do próximo mês para cada tipo de resíduo.
+     *
+     * @return Previsões por tipo, com intervalo de previsão, do maior para o menor
+     */
+    public List<WastePredictionDTO> predictNextMonthByType() {
+        return predict(SeriesKind.TYPE, Integer.MAX_VALUE, () -> {
+            List<MonthlyWasteDTO> totals = monthlyRepository.sumByMonthAndType();
+            return toSeries(totals, monthly -> new SeriesKey(SeriesKind.TYPE, monthly.getType().name()),
+                    key -> key.id());
+        });
+    }
+
+    /**
+     * Prevê o peso de resíduos do próximo mês para os usuários com maior volume.
+     *
+     * @return Previsões por usuário, com intervalo de previsão, do maior para o menor
+     */
+    public List<WastePredictionDTO> predictNextMonthByUser() {
+        return predict(SeriesKind.USER, maxUsers, () -> {
+            List<MonthlyWasteDTO> totals = monthlyRepository.sumByMonthAndUser();
+            Map<Long, String> names = userRepository.findAllById(totals.stream()
+                            .map(MonthlyWasteDTO::getUserId)
+                            .distinct()
+                            .toList())
+                    .stream()
+                    .collect(Collectors.toMap(User::getId, User::getName));
+            return toSeries(totals, monthly -> new SeriesKey(SeriesKind.USER, monthly.getUserId().toString()),
+                    key -> names.get(Long.valueOf(key.id())));
+        });
+    }
+
+    /**
+     * Invalida os modelos das séries que receberam novos resíduos.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public void onWasteRecorded(WasteRecordedEvent event) {
+        for (Waste waste : event.wastes()) {
+            versionOf(new SeriesKey(SeriesKind.TYPE, waste.getType().name())).incrementAndGet();
+            versionOf(new SeriesKey(SeriesKind.USER, waste.getUser().getId().toString())).incrementAndGet();
+        }
+    }
+
+    /**
+     * Descarta todos os modelos após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        loaded.clear();
+        cache.clear();
+        versions.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private List<WastePredictionDTO> predict(SeriesKind kind, int limit, Supplier<Map<SeriesKey, Series>> loader) {
+        if (!loaded.contains(kind) || hasStaleSeries(kind)) {
+            Map<SeriesKey, Long> fitVersions = new HashMap<>();
+            versions.forEach((key, version) -> fitVersions.put(key, version.get()));
+            Map<SeriesKey, Series> series = loader.get();
+            Set<SeriesKey> selected = largest(series, limit);
+
+            // Séries fora do limite ficam em cache sem previsão, para não recarregar a cada gravação
+            series.keySet().stream()
+                    .filter(key -> !selected.contains(key))
+                    .forEach(key -> cache.put(key, new CachedPrediction(fitVersions.getOrDefault(key, 0L), null)));
+            List<Map.Entry<SeriesKey, Series>> stale = series.entrySet().stream()
+                    .filter(entry -> selected.contains(entry.getKey()) && !hasPrediction(entry.getKey()))
+                    .toList();
+            logger.info("Ajustando {} de {} séries do tipo {} ({} selecionadas)", stale.size(), series.size(), kind,
+                    selected.size());
+
+            pool.submit(() -> stale.parallelStream().forEach(entry -> {
+                WastePredictionDTO prediction = fit(entry.getValue());
+                long version = fitVersions.getOrDefault(entry.getKey(), 0L);
+                cache.put(entry.getKey(), new CachedPrediction(version, prediction));
+            })).join();
+
+            cache.keySet().removeIf(key -> key.kind() == kind && !series.containsKey(key));
+            loaded.add(kind);
+        }
+
+        return cache.entrySet().stream()
+                .filter(entry -> entry.getKey().kind() == kind && entry.getValue().prediction() != null)
+                .map(entry -> entry.getValue().prediction())
+                .sorted(Comparator.comparing(WastePredictionDTO::getPredictedAmount).reversed())
+                .toList();
+    }
+
+    /**
+     * Seleciona as {@code limit} séries de maior volume total.
+     */
+    private static Set<SeriesKey> largest(Map<SeriesKey, Series> series, int limit) {
+        if (series.size() <= limit) {
+            return series.keySet();
+        }
+        return series.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<SeriesKey, Series> entry) ->
+                                Arrays.stream(entry.getValue().values()).sum())
+                        .reversed()
+                        .thenComparing(entry -> entry.getKey().id()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean hasStaleSeries(SeriesKind kind) {
+        return versions.keySet().stream()
+                .filter(key -> key.kind() == kind)
+                .anyMatch(key -> !isCached(key));
+    }
+
+    private boolean hasPrediction(SeriesKey key) {
+        return isCached(key) && cache.get(key).prediction() != null;
+    }
+
+    private boolean isCached(SeriesKey key) {
+        CachedPrediction cached = cache.get(key);
+        return cached != null && cached.version() == versionOf(key).get();
+    }
+
+    private AtomicLong versionOf(SeriesKey key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    /**
+     * Monta as séries mensais contínuas (meses sem registros valem zero),
+     * todas cobrindo do primeiro ao último mês com dados.
+     */
+    private static Map<SeriesKey, Series> toSeries(List<MonthlyWasteDTO> totals,
+                                                   Function<MonthlyWasteDTO, SeriesKey> keyOf,
+                                                   Function<SeriesKey, String> labelOf) {
+        if (totals.isEmpty()) {
+            return Map.of();
+        }
+        LocalDate first = totals.get(0).getPeriod();
+        int length = (int) ChronoUnit.MONTHS.between(first, totals.get(totals.size() - 1).getPeriod()) + 1;
+
+        Map<SeriesKey, Series> series = new HashMap<>();
+        for (MonthlyWasteDTO monthly : totals) {
+            SeriesKey key = keyOf.apply(monthly);
+            Series values = series.computeIfAbsent(key, k -> new Series(labelOf.apply(k), new double[length]));
+            values.values()[(int) ChronoUnit.MONTHS.between(first, monthly.getPeriod())] += monthly.getTotalWeight();
+        }
+        return series;
+    }
+
+    private static WastePredictionDTO fit(Series series) {
+        double[] values = series.values();
+        double prediction;
+        double confidence;
+        double margin;
+
+        if (HoltWinters.canFit(values.length, SEASON_LENGTH)) {
+            HoltWinters model = HoltWinters.fit(values, SEASON_LENGTH);
+            prediction = model.forecast(1);
+            confidence = model.rSquare();
+            margin = Z_95 * model.rmse();
+        } else if (values.length >= 2) {
+            SimpleRegression regression = new SimpleRegression();
+            for (int i = 0; i < values.length; i++) {
+                regression.addData(i, values[i]);
+            }
+            prediction = regression.predict(values.length);
+            confidence = regression.getRSquare();
+            margin = values.length > 2 ? Z_95 * Math.sqrt(regression.getMeanSquareError()) : 0.0;
+        } else {
+            return new WastePredictionDTO(0.0, 0.0, 0.0, 0.0, series.label());
+        }
+
+        // Garante que os valores sejam válidos
+        if (Double.isNaN(prediction) || prediction < 0) {
+            prediction = 0.0;
+        }
+        if (Double.isNaN(confidence) || confidence < 0) {
+            confidence = 0.0;
+        }
+        if (Double.isNaN(margin)) {
+            margin = 0.0;
+        }
+        return new WastePredictionDTO(prediction, confidence, Math.max(0.0, prediction - margin),
+                prediction + margin, series.label());
+    }
+
+    private enum SeriesKind {
+        TYPE,
+        USER
+    }
+
+    private record SeriesKey(SeriesKind kind, String id) {
+    }
+
+    private record Series(String label, double[] values) {
+    }
+
+    /**
+     * Previsão em cache; {@code prediction} nulo indica série fora do limite.
+     */
+    private record CachedPrediction(long version, WastePredictionDTO prediction) {
+    }
+}
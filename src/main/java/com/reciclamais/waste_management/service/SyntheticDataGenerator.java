@@ -0,0 +1,513 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.DataGenerationReportDTO;
+import com.reciclamais.waste_management.dto.DataGenerationRequest;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * Gerador de dados sintéticos para testes de carga e de capacidade.
+ *
+ * Cria usuários e resíduos com distribuições configuráveis
+ * ({@link DataGenerationRequest}):
+ * - Tipo: pesos relativos por tipo de resíduo
+ * - Data: meses do histórico ponderados por uma curva sazonal (cosseno com pico
+ *   em {@code peakMonth}), dia uniforme dentro do mês
+ * - Usuário: distribuição de Zipf, poucos usuários concentram a maior parte dos registros
+ * - Peso: log-normal em torno da média típica de cada tipo
+ * - Reciclado: probabilidade fixa
+ *
+ * Todos os usuários gerados recebem a senha informada no pedido ou, sem ela,
+ * uma senha aleatória devolvida uma única vez no relatório.
+ *
+ * Todos os valores saem de um único {@link SplittableRandom} com a semente
+ * informada, sorteados sempre na mesma ordem: a mesma semente com os mesmos
+ * parâmetros gera exatamente os mesmos resíduos.
+ *
+ * As linhas são gravadas com inserções em lote via JDBC, em blocos de
+ * {@code waste.generator.chunk-size} linhas por transação, por
+ * {@code waste.generator.writer-threads} threads, sem atualizar os
+ * totais mensais nem publicar um {@link com.reciclamais.waste_management.event.WasteRecordedEvent}
+ * por bloco. Ao final, os totais mensais são reconstruídos
+ * ({@link WasteRollupService#backfill()}) e um {@link WasteDataReloadedEvent}
+ * avisa os agregados e caches em memória.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO tb_users (id, name, email, password, type_user) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_WASTE_SQL =
+            "INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final Pattern EMAIL_PREFIX = Pattern.compile("[a-z0-9._-]{1,40}");
+    private static final int MAX_MONTHS = 1200;
+    private static final double MAX_USER_SKEW = 10.0;
+    private static final double WEIGHT_SIGMA = 0.6;
+    private static final int MAX_PASSWORD_LENGTH = 72;
+    private static final int GENERATED_PASSWORD_BYTES = 18;
+
+    /** Composição típica da coleta urbana */
+    private static final Map<Type, Double> DEFAULT_TYPE_WEIGHTS = new EnumMap<>(Map.of(
+            Type.ORGANICO, 35.0, Type.PAPEL, 20.0, Type.PLASTICO, 18.0, Type.VIDRO, 8.0,
+            Type.CONSTRUCAO, 6.0, Type.FERRO, 4.0, Type.ALUMINIO, 3.0, Type.ELETRONICO, 3.0,
+            Type.HOSPITALAR, 2.0, Type.COBRE, 1.0));
+
+    /** Peso médio em kg de um registro de cada tipo */
+    private static final Map<Type, Double> MEAN_WEIGHT_KG = new EnumMap<>(Map.of(
+            Type.ORGANICO, 12.0, Type.PAPEL, 6.0, Type.PLASTICO, 4.0, Type.VIDRO, 8.0,
+            Type.CONSTRUCAO, 40.0, Type.FERRO, 15.0, Type.ALUMINIO, 2.0, Type.ELETRONICO, 5.0,
+            Type.HOSPITALAR, 3.0, Type.COBRE, 1.5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WasteRollupService rollupService;
+    private final WastePartitionMaintainer partitionMaintainer;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nextUserIdSql;
+    private final String nextWasteIdSql;
+    private final int chunkSize;
+    private final int writerThreads;
+    private final int maxUsers;
+    private final long maxWastes;
+    private final SecureRandom passwordRandom = new SecureRandom();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  WasteRollupService rollupService, WastePartitionMaintainer partitionMaintainer,
+                                  UserRepository userRepository,
+                                  UserCache userCache, PasswordEncoder passwordEncoder,
+                                  ApplicationEventPublisher eventPublisher, EntityManagerFactory entityManagerFactory,
+                                  @Value("${waste.generator.chunk-size:10000}") int chunkSize,
+                                  @Value("${waste.generator.writer-threads:4}") int writerThreads,
+                                  @Value("${waste.generator.max-users:1000000}") int maxUsers,
+                                  @Value("${waste.generator.max-wastes:50000000}") long maxWastes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.partitionMaintainer = partitionMaintainer;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        this.nextUserIdSql = dialect.getSequenceSupport().getSequenceNextValString(User.ID_SEQUENCE);
+        this.nextWasteIdSql = dialect.getSequenceSupport().getSequenceNextValString(Waste.ID_SEQUENCE);
+        this.chunkSize = chunkSize;
+        this.writerThreads = Math.max(1, writerThreads);
+        this.maxUsers = maxUsers;
+        this.maxWastes = maxWastes;
+        logger.info("SyntheticDataGenerator construído com sucesso");
+    }
+
+    /**
+     * Gera usuários e resíduos sintéticos. Apenas uma geração é executada por vez.
+     *
+     * @param request Parâmetros da geração
+     * @return Relatório com a semente usada e a quantidade de linhas gravadas
+     * @throws IllegalArgumentException Se algum parâmetro for inválido ou os usuários já existirem
+     * @throws IllegalStateException Se já houver uma geração em andamento
+     */
+    public DataGenerationReportDTO generate(DataGenerationRequest request) {
+        Map<Type, Double> typeWeights = request.getTypeWeights() != null
+                ? request.getTypeWeights() : DEFAULT_TYPE_WEIGHTS;
+        YearMonth endMonth = request.getEndMonth() != null ? request.getEndMonth() : YearMonth.now();
+        validate(request, typeWeights, endMonth);
+
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Já existe uma geração de dados em andamento");
+        }
+        try {
+            return run(request, typeWeights, endMonth);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private DataGenerationReportDTO run(DataGenerationRequest request, Map<Type, Double> typeWeights,
+                                        YearMonth endMonth) {
+        long seed = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        logger.info("Gerando {} usuários e {} resíduos (semente {})", request.getUsers(), request.getWastes(), seed);
+
+        String generatedPassword = request.getPassword() == null ? randomPassword() : null;
+        String password = generatedPassword != null ? generatedPassword : request.getPassword();
+        long[] userIds = insertUsers(request.getUsers(), request.getEmailPrefix(), password);
+        userCache.invalidateAll();
+
+        Distributions distributions = new Distributions(request, typeWeights, endMonth);
+        // No PostgreSQL, cada mês do histórico vai para a sua partição em vez da partição padrão
+        partitionMaintainer.createPartitions(YearMonth.from(distributions.firstDate()), endMonth);
+        AtomicLong written = new AtomicLong();
+        try {
+            insertWastes(distributions, random, request.getWastes(), userIds, written);
+        } finally {
+            // Mesmo após uma falha, os blocos já gravados devem aparecer nos totais e agregados
+            rollupService.backfill();
+            eventPublisher.publishEvent(new WasteDataReloadedEvent(written.get()));
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        long perSecond = written.get() * 1000 / millis;
+        logger.info("Geração de dados concluída: {} usuários e {} resíduos em {} ms ({} resíduos/s)",
+                userIds.length, written.get(), millis, perSecond);
+        return new DataGenerationReportDTO(seed, userIds.length, written.get(), distributions.firstDate(),
+                distributions.lastDate(), millis, perSecond, generatedPassword);
+    }
+
+    private void validate(DataGenerationRequest request, Map<Type, Double> typeWeights, YearMonth endMonth) {
+        if (request.getUsers() < 1 || request.getUsers() > maxUsers) {
+            throw new IllegalArgumentException("Quantidade de usuários deve estar entre 1 e " + maxUsers);
+        }
+        if (request.getWastes() < 0 || request.getWastes() > maxWastes) {
+            throw new IllegalArgumentException("Quantidade de resíduos deve estar entre 0 e " + maxWastes);
+        }
+        if (request.getMonths() < 1 || request.getMonths() > MAX_MONTHS) {
+            throw new IllegalArgumentException("Quantidade de meses deve estar entre 1 e " + MAX_MONTHS);
+        }
+        if (endMonth.isAfter(YearMonth.now())) {
+            throw new IllegalArgumentException("O último mês não pode ser futuro: " + endMonth);
+        }
+        if (request.getPeakMonth() < 1 || request.getPeakMonth() > 12) {
+            throw new IllegalArgumentException("Mês de pico deve estar entre 1 e 12");
+        }
+        requireFraction(request.getSeasonalAmplitude(), "Amplitude sazonal");
+        requireFraction(request.getRecycledRatio(), "Fração de reciclados");
+        if (!(request.getUserSkew() >= 0 && request.getUserSkew() <= MAX_USER_SKEW)) {
+            throw new IllegalArgumentException("Concentração por usuário deve estar entre 0 e " + MAX_USER_SKEW);
+        }
+        double totalWeight = 0;
+        for (Map.Entry<Type, Double> entry : typeWeights.entrySet()) {
+            Double weight = entry.getValue();
+            if (entry.getKey() == null || weight == null || !(weight >= 0) || weight.isInfinite()) {
+                throw new IllegalArgumentException("Peso inválido para o tipo " + entry.getKey() + ": " + weight);
+            }
+            totalWeight += weight;
+        }
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Ao menos um tipo de resíduo deve ter peso maior que zero");
+        }
+        String prefix = request.getEmailPrefix();
+        if (prefix == null || !EMAIL_PREFIX.matcher(prefix).matches()) {
+            throw new IllegalArgumentException("Prefixo de email inválido: " + prefix);
+        }
+        String password = request.getPassword();
+        if (password != null && (password.isBlank()
+                || password.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_LENGTH)) {
+            throw new IllegalArgumentException("A senha deve ter entre 1 e " + MAX_PASSWORD_LENGTH + " bytes");
+        }
+        if (userRepository.findByEmail(email(prefix, 1)).isPresent()) {
+            throw new IllegalArgumentException("Já existem usuários gerados com o prefixo " + prefix);
+        }
+    }
+
+    /**
+     * Senha aleatória para os usuários gerados (144 bits, Base64 para URLs).
+     */
+    private String randomPassword() {
+        byte[] bytes = new byte[GENERATED_PASSWORD_BYTES];
+        passwordRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void requireFraction(double value, String name) {
+        if (!(value >= 0 && value <= 1)) {
+            throw new IllegalArgumentException(name + " deve estar entre 0 e 1");
+        }
+    }
+
+    private long[] insertUsers(int count, String prefix, String password) {
+        String passwordHash = passwordEncoder.encode(password);
+        long[] ids = new long[count];
+        for (int first = 0; first < count; first += chunkSize) {
+            int from = first;
+            int size = Math.min(chunkSize, count - first);
+            transactionTemplate.executeWithoutResult(status -> {
+                assignIds(nextUserIdSql, User.ID_ALLOCATION_SIZE, ids, from, size);
+                jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int n = from + i + 1;
+                        ps.setLong(1, ids[from + i]);
+                        ps.setString(2, "Usuário Sintético " + n);
+                        ps.setString(3, email(prefix, n));
+                        ps.setString(4, passwordHash);
+                        ps.setString(5, TypeUser.USER.name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                });
+            });
+        }
+        logger.info("{} usuários sintéticos criados", count);
+        return ids;
+    }
+
+    /**
+     * Sorteia os blocos em sequência (o que mantém a geração determinística) e
+     * os grava em paralelo, com no máximo dois blocos aguardando por thread.
+     */
+    private void insertWastes(Distributions distributions, SplittableRandom random, long total, long[] userIds,
+                              AtomicLong written) {
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads,
+                new CustomizableThreadFactory("data-generator-"));
+        Semaphore slots = new Semaphore(writerThreads * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long progressStep = Math.max(total / 10, 1);
+        try {
+            for (long sampled = 0; sampled < total && failure.get() == null; ) {
+                int size = (int) Math.min(chunkSize, total - sampled);
+                Chunk chunk = distributions.sample(random, size);
+                sampled += size;
+                slots.acquireUninterruptibly();
+                writers.execute(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            insertChunk(chunk, userIds);
+                            long done = written.addAndGet(size);
+                            if (done / progressStep != (done - size) / progressStep && done < total) {
+                                logger.info("Geração de dados: {} de {} resíduos gravados", done, total);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+        } finally {
+            writers.shutdown();
+            awaitTermination(writers);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static void awaitTermination(ExecutorService writers) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (writers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                // Os blocos em gravação precisam terminar antes da reconstrução dos totais
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void insertChunk(Chunk chunk, long[] userIds) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = new long[chunk.size()];
+            assignIds(nextWasteIdSql, Waste.ID_ALLOCATION_SIZE, ids, 0, ids.length);
+            jdbcTemplate.batchUpdate(INSERT_WASTE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Type type = Type.values()[chunk.types[i]];
+                    ps.setLong(1, ids[i]);
+                    ps.setString(2, type.name());
+                    ps.setDouble(3, chunk.weights[i]);
+                    ps.setDate(4, Date.valueOf(LocalDate.ofEpochDay(chunk.days[i])));
+                    ps.setString(5, "Coleta sintética de " + type.name().toLowerCase(Locale.ROOT));
+                    ps.setLong(6, userIds[chunk.users[i]]);
+                    ps.setBoolean(7, chunk.recycled[i]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        });
+    }
+
+    /**
+     * Reserva ids na sequência em blocos (otimizador pooled-lo), como o
+     * {@link WasteBatchWriter}.
+     */
+    private void assignIds(String nextIdSql, int allocationSize, long[] ids, int from, int size) {
+        long next = 0;
+        long blockEnd = 0;
+        for (int i = from; i < from + size; i++) {
+            if (next == blockEnd) {
+                next = jdbcTemplate.queryForObject(nextIdSql, Long.class);
+                blockEnd = next + allocationSize;
+            }
+            ids[i] = next++;
+        }
+    }
+
+    private static String email(String prefix, int n) {
+        return prefix + "-" + n + "@example.com";
+    }
+
+    /**
+     * Índice sorteado em uma distribuição acumulada: o primeiro {@code i} com
+     * {@code cumulative[i] > u * total}.
+     */
+    private static int pick(double[] cumulative, double u) {
+        double target = u * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Distribuições acumuladas de tipo, mês e usuário, calculadas uma vez por geração.
+     */
+    private static final class Distributions {
+        private final double[] types;
+        private final double[] months;
+        private final double[] users;
+        private final long[] monthStart;
+        private final int[] monthDays;
+        private final double recycledRatio;
+
+        private Distributions(DataGenerationRequest request, Map<Type, Double> typeWeights, YearMonth endMonth) {
+            Type[] values = Type.values();
+            types = new double[values.length];
+            double sum = 0;
+            for (int i = 0; i < values.length; i++) {
+                sum += typeWeights.getOrDefault(values[i], 0.0);
+                types[i] = sum;
+            }
+
+            int count = request.getMonths();
+            months = new double[count];
+            monthStart = new long[count];
+            monthDays = new int[count];
+            LocalDate today = LocalDate.now();
+            sum = 0;
+            for (int i = 0; i < count; i++) {
+                YearMonth month = endMonth.minusMonths(count - 1 - i);
+                monthStart[i] = month.atDay(1).toEpochDay();
+                // O mês atual só tem datas até hoje
+                monthDays[i] = month.equals(YearMonth.from(today)) ? today.getDayOfMonth() : month.lengthOfMonth();
+                double phase = 2 * Math.PI * (month.getMonthValue() - request.getPeakMonth()) / 12;
+                double seasonal = 1 + request.getSeasonalAmplitude() * Math.cos(phase);
+                // Proporcional aos dias, para que o mês atual (parcial) não receba um mês inteiro de resíduos
+                sum += Math.max(seasonal, 0) * monthDays[i];
+                months[i] = sum;
+            }
+
+            users = new double[request.getUsers()];
+            sum = 0;
+            for (int i = 0; i < users.length; i++) {
+                sum += 1 / Math.pow(i + 1, request.getUserSkew());
+                users[i] = sum;
+            }
+            recycledRatio = request.getRecycledRatio();
+        }
+
+        private Chunk sample(SplittableRandom random, int size) {
+            Chunk chunk = new Chunk(size);
+            Type[] values = Type.values();
+            for (int i = 0; i < size; i++) {
+                int type = pick(types, random.nextDouble());
+                int month = pick(months, random.nextDouble());
+                chunk.types[i] = (byte) type;
+                chunk.days[i] = monthStart[month] + random.nextInt(monthDays[month]);
+                chunk.users[i] = pick(users, random.nextDouble());
+                double weight = MEAN_WEIGHT_KG.get(values[type])
+                        * Math.exp(WEIGHT_SIGMA * random.nextGaussian() - WEIGHT_SIGMA * WEIGHT_SIGMA / 2);
+                chunk.weights[i] = Math.max(0.01, Math.round(weight * 100) / 100.0);
+                chunk.recycled[i] = random.nextDouble() < recycledRatio;
+            }
+            return chunk;
+        }
+
+        private LocalDate firstDate() {
+            return LocalDate.ofEpochDay(monthStart[0]);
+        }
+
+        private LocalDate lastDate() {
+            int last = monthStart.length - 1;
+            return LocalDate.ofEpochDay(monthStart[last] + monthDays[last] - 1);
+        }
+    }
+
+    /**
+     * Um bloco de resíduos sorteados, em colunas.
+     */
+    private static final class Chunk {
+        private final byte[] types;
+        private final long[] days;
+        private final int[] users;
+        private final double[] weights;
+        private final boolean[] recycled;
+
+        private Chunk(int size) {
+            types = new byte[size];
+            days = new long[size];
+            users = new int[size];
+            weights = new double[size];
+            recycled = new boolean[size];
+        }
+
+        private int size() {
+            return types.length;
+        }
+    }
+}
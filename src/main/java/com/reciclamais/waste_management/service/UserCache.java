@@ -0,0 +1,161 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de usuários por email, usado nos caminhos de gravação de resíduos,
+ * autenticação e cadastro para evitar uma consulta a {@code tb_users} a cada
+ * requisição.
+ *
+ * Principais características:
+ * 1. Limitado
+ *    - No máximo {@code waste.user-cache.max-size} emails; ao exceder, o
+ *      acessado há mais tempo é removido
+ *
+ * 2. Expiração
+ *    - Cada entrada vale por {@code waste.user-cache.ttl} a partir da leitura
+ *      no banco
+ *    - Emails não encontrados não ficam em cache, para que um cadastro feito
+ *      em outra instância seja visto na próxima consulta
+ *
+ * 3. Invalidação explícita
+ *    - Quem altera usuários (cadastro, troca de senha) deve chamar
+ *      {@link #invalidate(String)} após a gravação
+ *    - A invalidação é local: com várias instâncias, as demais continuam com
+ *      os dados antigos (por exemplo, o hash da senha anterior) até a entrada
+ *      expirar, ou seja, por até {@code waste.user-cache.ttl}
+ *
+ * 4. Contadores
+ *    - Acertos, falhas e remoções ({@link #getStats()})
+ */
+@Component
+public class UserCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCache.class);
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${waste.user-cache.max-size:10000}") int maxSize,
+                     @Value("${waste.user-cache.ttl:PT5M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        logger.info("UserCache construído com sucesso (máximo: {}, validade: {})", maxSize, ttl);
+    }
+
+    /**
+     * Dados do usuário mantidos em cache.
+     */
+    public record CachedUser(Long id, String name, String email, String passwordHash, TypeUser role) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getTypeUser());
+        }
+
+        /**
+         * Cria um usuário destacado (fora do contexto de persistência) com os
+         * dados do cache, que pode ser usado como referência em associações.
+         */
+        public User toUser() {
+            return new User(id, name, email, passwordHash, role);
+        }
+    }
+
+    /**
+     * Contadores do cache.
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    /**
+     * Busca um usuário pelo email, consultando o banco apenas se o email não
+     * estiver em cache ou a entrada tiver expirado. Emails não encontrados
+     * são consultados novamente a cada chamada.
+     *
+     * @param email Email do usuário
+     * @return Usuário encontrado ou vazio
+     */
+    public Optional<CachedUser> findByEmail(String email) {
+        long now = System.nanoTime();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                hits++;
+                return Optional.of(entry.user());
+            }
+            if (entry != null) {
+                entries.remove(email);
+                evictions++;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        Optional<CachedUser> user = userRepository.findByEmail(email).map(CachedUser::of);
+
+        synchronized (this) {
+            // Descarta o valor lido se houve invalidação durante a consulta
+            if (user.isPresent() && loadGeneration == generation) {
+                entries.put(email, new Entry(user.get(), now));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Remove um email do cache. Deve ser chamado após gravar alterações do usuário.
+     *
+     * @param email Email do usuário alterado
+     */
+    public synchronized void invalidate(String email) {
+        generation++;
+        entries.remove(email);
+        logger.debug("Usuário removido do cache: {}", email);
+    }
+
+    /**
+     * Remove todos os usuários do cache.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    private record Entry(CachedUser user, long loadedAt) {
+    }
+}
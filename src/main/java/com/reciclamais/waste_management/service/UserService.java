@@ -3,6 +3,7 @@ package com.reciclamais.waste_management.service;
 import com.reciclamais.waste_management.model.User;
 //import com.reciclamais.waste_management.repository.UserRepository;
 import com.reciclamais.waste_management.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed("reciclamais.service")
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
@@ -20,11 +22,14 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCache userCache;
+
     public User registerUser(User user) {
         logger.info("Tentando registrar usuário: {}", user.getEmail());
         
         // Verifica se o usuário já existe
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (userCache.findByEmail(user.getEmail()).isPresent()) {
             logger.warn("Usuário já existe com o email: {}", user.getEmail());
             throw new RuntimeException("Usuário já cadastrado com este e-mail.");
         }
@@ -37,6 +42,8 @@ public class UserService {
 
         // Salva o usuário no banco de dados
         User savedUser = userRepository.save(user);
+        // Remove a ausência do email registrada no cache pela verificação acima
+        userCache.invalidate(savedUser.getEmail());
         logger.info("Usuário registrado com sucesso: {}", savedUser.getEmail());
         
         return savedUser;
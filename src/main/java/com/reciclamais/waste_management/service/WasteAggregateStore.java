@@ -0,0 +1,354 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Armazena os agregados de resíduos usados pelo dashboard.
+ *
+ * Em vez de varrer a tabela {@code tb_waste} a cada requisição, os totais são
+ * mantidos em memória e atualizados incrementalmente após o commit de cada
+ * gravação ({@link WasteRecordedEvent}). Os valores mantidos são:
+ * - Peso total e peso reciclado
+ * - Peso por tipo de resíduo
+ * - Peso reciclado por usuário
+ * - Peso por mês
+ *
+ * Os agregados são reconstruídos na inicialização a partir de consultas
+ * agrupadas no banco de dados (sem carregar as entidades) e
+ * verificados periodicamente contra o banco de dados (totais, tipos, meses e
+ * usuários); se houver divergência, são substituídos pelos valores do banco.
+ *
+ * As consultas de uma reconstrução são feitas em uma única transação
+ * {@code REPEATABLE READ}, enquanto os agregados anteriores continuam sendo
+ * usados. Os resíduos gravados nesse intervalo são guardados e, ao final,
+ * somados aos novos agregados somente se não estavam visíveis nas consultas
+ * (conferido pelo id na mesma transação): nenhum é perdido ou contado duas
+ * vezes.
+ *
+ * É o motor analítico padrão ({@code waste.analytics.engine=aggregates}).
+ */
+@Component
+@ConditionalOnProperty(name = "waste.analytics.engine", havingValue = "aggregates", matchIfMissing = true)
+public class WasteAggregateStore implements WasteAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteAggregateStore.class);
+    private static final double TOLERANCE = 1e-6;
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final WasteRepository wasteRepository;
+    private final TransactionTemplate snapshotTemplate;
+    private final boolean enabled;
+    private final Object rebuildLock = new Object();
+
+    // Protegidos por this
+    private Totals totals = new Totals();
+    private List<Waste> pending;
+
+    private volatile boolean ready;
+
+    public WasteAggregateStore(WasteRepository wasteRepository, PlatformTransactionManager transactionManager,
+                               @Value("${waste.aggregates.enabled:true}") boolean enabled) {
+        this.wasteRepository = wasteRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.enabled = enabled;
+        logger.info("WasteAggregateStore construído com sucesso (habilitado: {})", enabled);
+    }
+
+    /**
+     * Indica se os agregados estão carregados e podem ser usados nas consultas.
+     *
+     * @return true se o armazenamento estiver habilitado e reconstruído
+     */
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reconstrói os agregados na inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Atualiza os agregados com os resíduos gravados, após o commit da transação.
+     * Durante uma reconstrução, os resíduos também são guardados para conferência.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public synchronized void onWasteRecorded(WasteRecordedEvent event) {
+        if (pending != null) {
+            pending.addAll(event.wastes());
+        }
+        if (ready) {
+            event.wastes().forEach(totals::add);
+        }
+    }
+
+    /**
+     * Reconstrói os agregados após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstrói todos os agregados a partir da tabela de resíduos.
+     */
+    public void rebuild() {
+        logger.info("Reconstruindo agregados de resíduos");
+        reload(false);
+    }
+
+    /**
+     * Verifica se os agregados em memória estão consistentes com a tabela de resíduos.
+     *
+     * Em caso de divergência, os agregados são substituídos pelos do banco.
+     *
+     * @return true se os agregados estavam consistentes
+     */
+    @Scheduled(fixedDelayString = "${waste.aggregates.verify-interval:PT1H}",
+               initialDelayString = "${waste.aggregates.verify-interval:PT1H}")
+    public boolean verify() {
+        if (!ready) {
+            return true;
+        }
+        return reload(true);
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return totals.count;
+    }
+
+    @Override
+    public synchronized double getTotalWeight() {
+        return totals.totalWeight;
+    }
+
+    @Override
+    public synchronized double getRecycledWeight() {
+        return totals.recycledWeight;
+    }
+
+    /**
+     * Obtém o peso acumulado de cada tipo de resíduo presente nos registros.
+     *
+     * @return Mapa de tipo para peso total em kg
+     */
+    @Override
+    public synchronized Map<Type, Double> getWeightByType() {
+        Map<Type, Double> result = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            if (totals.weightByType[type.ordinal()] > 0) {
+                result.put(type, totals.weightByType[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Obtém o ranking de usuários por peso reciclado, em ordem decrescente.
+     *
+     * @return Lista de DTOs com nome do usuário e total reciclado
+     */
+    @Override
+    public synchronized List<UserRankingDTO> getUserRankings() {
+        List<UserRankingDTO> rankings = new ArrayList<>(totals.recycledByUser.size());
+        totals.recycledByUser.forEach((userId, total) ->
+                rankings.add(new UserRankingDTO(userId, total.name, total.recycled)));
+        rankings.sort(Comparator.comparing(UserRankingDTO::getTotalRecycled).reversed());
+        return rankings;
+    }
+
+    /**
+     * Obtém o peso total por mês, ordenado cronologicamente.
+     *
+     * @return Mapa do primeiro dia do mês para o peso total em kg
+     */
+    @Override
+    public synchronized Map<LocalDate, Double> getMonthlyWeights() {
+        return new TreeMap<>(totals.weightByMonth);
+    }
+
+    /**
+     * Carrega os agregados do banco e os compara com os atuais; se forem
+     * diferentes (ou com {@code verifyOnly} falso), os novos passam a ser usados.
+     */
+    private boolean reload(boolean verifyOnly) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                return Boolean.TRUE.equals(snapshotTemplate.execute(status -> {
+                    Totals loaded = load();
+                    synchronized (this) {
+                        unloaded(pending).forEach(loaded::add);
+                        pending = null;
+                        String difference = ready ? totals.difference(loaded) : "não carregados";
+                        if (difference == null) {
+                            return true;
+                        }
+                        if (verifyOnly) {
+                            logger.warn("Agregados divergentes da tabela ({})", difference);
+                        }
+                        totals = loaded;
+                        ready = true;
+                        logger.info("Agregados reconstruídos: {} resíduos, {} kg", loaded.count, loaded.totalWeight);
+                        return false;
+                    }
+                }));
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    private Totals load() {
+        Totals loaded = new Totals();
+        for (MonthlyWasteDTO monthly : wasteRepository.sumWeightByMonthAndType()) {
+            loaded.count += monthly.getCount();
+            loaded.totalWeight += monthly.getTotalWeight();
+            loaded.recycledWeight += monthly.getRecycledWeight();
+            loaded.weightByType[monthly.getType().ordinal()] += monthly.getTotalWeight();
+            loaded.weightByMonth.merge(monthly.getPeriod(), monthly.getTotalWeight(), Double::sum);
+        }
+        for (UserRankingDTO ranking : wasteRepository.sumRecycledWeightByUser()) {
+            loaded.recycledByUser.computeIfAbsent(ranking.getUserId(), id -> new UserTotal(ranking.getName()))
+                    .recycled += ranking.getTotalRecycled();
+        }
+        return loaded;
+    }
+
+    /**
+     * Resíduos gravados durante a carga que não estavam visíveis nas consultas.
+     */
+    private List<Waste> unloaded(List<Waste> wastes) {
+        Set<Long> loadedIds = new HashSet<>();
+        List<Long> ids = wastes.stream().map(Waste::getId).toList();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            loadedIds.addAll(wasteRepository.findExistingIds(
+                    ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE))));
+        }
+        return wastes.stream().filter(waste -> !loadedIds.contains(waste.getId())).toList();
+    }
+
+    private static boolean sameWeight(double expected, double actual) {
+        return Math.abs(expected - actual) <= TOLERANCE * Math.max(1.0, Math.abs(expected));
+    }
+
+    private static final class Totals {
+        private long count;
+        private double totalWeight;
+        private double recycledWeight;
+        private final double[] weightByType = new double[Type.values().length];
+        private final Map<Long, UserTotal> recycledByUser = new HashMap<>();
+        private final TreeMap<LocalDate, Double> weightByMonth = new TreeMap<>();
+
+        private void add(Waste waste) {
+            double weight = waste.getWeight();
+            count++;
+            totalWeight += weight;
+            weightByType[waste.getType().ordinal()] += weight;
+            weightByMonth.merge(waste.getDate().withDayOfMonth(1), weight, Double::sum);
+
+            if (Boolean.TRUE.equals(waste.getRecycled())) {
+                recycledWeight += weight;
+                recycledByUser.computeIfAbsent(waste.getUser().getId(), id -> new UserTotal(waste.getUser().getName()))
+                        .recycled += weight;
+            }
+        }
+
+        /**
+         * @return Descrição da primeira diferença para os agregados esperados, ou null se forem iguais
+         */
+        private String difference(Totals expected) {
+            if (count != expected.count || !sameWeight(expected.totalWeight, totalWeight)
+                    || !sameWeight(expected.recycledWeight, recycledWeight)) {
+                return String.format("contagem %d / %d, total %s / %s, reciclado %s / %s", count, expected.count,
+                        totalWeight, expected.totalWeight, recycledWeight, expected.recycledWeight);
+            }
+            for (Type type : Type.values()) {
+                if (!sameWeight(expected.weightByType[type.ordinal()], weightByType[type.ordinal()])) {
+                    return "tipo " + type;
+                }
+            }
+            if (!weightByMonth.keySet().equals(expected.weightByMonth.keySet())) {
+                return "meses " + weightByMonth.keySet() + " / " + expected.weightByMonth.keySet();
+            }
+            for (Map.Entry<LocalDate, Double> month : expected.weightByMonth.entrySet()) {
+                if (!sameWeight(month.getValue(), weightByMonth.get(month.getKey()))) {
+                    return "mês " + month.getKey();
+                }
+            }
+            Set<Long> users = new HashSet<>(recycledByUser.keySet());
+            users.addAll(expected.recycledByUser.keySet());
+            for (Long userId : users) {
+                UserTotal actual = recycledByUser.get(userId);
+                UserTotal wanted = expected.recycledByUser.get(userId);
+                if (actual == null || wanted == null || !sameWeight(wanted.recycled, actual.recycled)
+                        || !Objects.equals(wanted.name, actual.name)) {
+                    return "usuário " + userId;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class UserTotal {
+        private final String name;
+        private double recycled;
+
+        private UserTotal(String name) {
+            this.name = name;
+        }
+    }
+}
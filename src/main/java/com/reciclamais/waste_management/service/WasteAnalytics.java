@@ -0,0 +1,46 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.model.Type;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas analíticas em memória usadas pelo dashboard e pela previsão.
+ *
+ * A implementação é escolhida pela propriedade {@code waste.analytics.engine}:
+ * - aggregates (padrão): totais pré-agregados ({@link WasteAggregateStore})
+ * - columnar: fatos de cada resíduo em colunas primitivas ({@link WasteColumnStore})
+ *
+ * Enquanto {@link #isReady()} for false, os serviços consultam o banco de dados.
+ */
+public interface WasteAnalytics {
+
+    /**
+     * @return true se os dados estiverem carregados e puderem ser consultados
+     */
+    boolean isReady();
+
+    long getCount();
+
+    double getTotalWeight();
+
+    double getRecycledWeight();
+
+    /**
+     * @return Peso total em kg de cada tipo de resíduo presente nos registros
+     */
+    Map<Type, Double> getWeightByType();
+
+    /**
+     * @return Usuários com o peso reciclado em kg, em ordem decrescente
+     */
+    List<UserRankingDTO> getUserRankings();
+
+    /**
+     * @return Peso total em kg por mês (primeiro dia do mês), em ordem cronológica
+     */
+    Map<LocalDate, Double> getMonthlyWeights();
+}
@@ -0,0 +1,136 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Waste;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Grava lotes de resíduos já validados com inserções em lote via JDBC.
+ *
+ * Cada lote é gravado em uma transação própria, junto com a atualização dos
+ * totais mensais, e publica um único {@link WasteRecordedEvent} para os
+ * agregados em memória.
+ *
+ * Os ids são reservados na mesma sequência usada pelo Hibernate, em blocos de
+ * {@link Waste#ID_ALLOCATION_SIZE}: cada valor obtido da sequência é o primeiro
+ * id do bloco (otimizador pooled-lo).
+ */
+@Component
+public class WasteBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteBatchWriter.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBMISSION_SQL =
+            "INSERT INTO tb_waste_submission (user_id, idempotency_key, waste_id, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WasteRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nextIdSql;
+
+    public WasteBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            WasteRollupService rollupService, ApplicationEventPublisher eventPublisher,
+                            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(Waste.ID_SEQUENCE);
+    }
+
+    /**
+     * Grava um lote de resíduos em uma única transação.
+     *
+     * @param wastes Resíduos validados, com usuários associados
+     */
+    public void write(List<Waste> wastes) {
+        write(wastes, null);
+    }
+
+    /**
+     * Grava um lote de resíduos e as chaves de idempotência correspondentes
+     * ({@code tb_waste_submission}) em uma única transação. Uma chave já
+     * gravada pelo mesmo usuário desfaz o lote inteiro
+     * ({@link org.springframework.dao.DuplicateKeyException}).
+     *
+     * @param wastes Resíduos validados, com usuários associados
+     * @param idempotencyKeys Chave de cada resíduo, na mesma ordem, ou null
+     */
+    public void write(List<Waste> wastes, List<String> idempotencyKeys) {
+        if (wastes.isEmpty()) {
+            return;
+        }
+        List<Waste> batch = List.copyOf(wastes);
+        transactionTemplate.executeWithoutResult(status -> {
+            assignIds(batch);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, waste) -> {
+                ps.setLong(1, waste.getId());
+                ps.setString(2, waste.getType().name());
+                ps.setDouble(3, waste.getWeight());
+                ps.setDate(4, Date.valueOf(waste.getDate()));
+                ps.setString(5, waste.getDescription());
+                ps.setLong(6, waste.getUser().getId());
+                ps.setBoolean(7, Boolean.TRUE.equals(waste.getRecycled()));
+            });
+            if (idempotencyKeys != null) {
+                insertSubmissions(batch, idempotencyKeys);
+            }
+            rollupService.addAll(batch);
+            eventPublisher.publishEvent(new WasteRecordedEvent(batch));
+        });
+        logger.debug("Lote de {} resíduos gravado", batch.size());
+    }
+
+    private void insertSubmissions(List<Waste> batch, List<String> idempotencyKeys) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SUBMISSION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Waste waste = batch.get(i);
+                ps.setLong(1, waste.getUser().getId());
+                ps.setString(2, idempotencyKeys.get(i));
+                ps.setLong(3, waste.getId());
+                ps.setTimestamp(4, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+    }
+
+    private void assignIds(List<Waste> batch) {
+        long next = 0;
+        long blockEnd = 0;
+        for (Waste waste : batch) {
+            if (next == blockEnd) {
+                next = jdbcTemplate.queryForObject(nextIdSql, Long.class);
+                blockEnd = next + Waste.ID_ALLOCATION_SIZE;
+            }
+            waste.setId(next++);
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.Waste;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Motor analítico colunar: mantém em memória os fatos de cada resíduo em
+ * colunas primitivas, em vez de entidades com valores encapsulados.
+ *
+ * Colunas (uma posição por resíduo):
+ * - Data em dias desde 1970-01-01 ({@code int[]})
+ * - Peso em kg ({@code float[]})
+ * - Ordinal do {@link Type} ({@code byte[]})
+ * - Índice do usuário no dicionário de usuários ({@code int[]})
+ * - Reciclado ({@code long[]} usado como conjunto de bits)
+ *
+ * São cerca de 13 bytes por resíduo: um milhão de resíduos ocupa algumas
+ * dezenas de MB e as consultas (totais, por tipo, por usuário e por mês)
+ * percorrem as colunas em laços sem alocação.
+ *
+ * As colunas são carregadas do banco de dados na inicialização, recebem os
+ * resíduos gravados após cada commit ({@link WasteRecordedEvent}) e são
+ * verificadas periodicamente contra o banco, como o {@link WasteAggregateStore}:
+ * a carga é feita em uma transação {@code REPEATABLE READ} enquanto as colunas
+ * anteriores continuam em uso, e os resíduos gravados durante a carga são
+ * acrescentados ao final somente se não estavam visíveis nela.
+ *
+ * Habilitado com {@code waste.analytics.engine=columnar}.
+ */
+@Component
+@ConditionalOnProperty(name = "waste.analytics.engine", havingValue = "columnar")
+public class WasteColumnStore implements WasteAnalytics {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteColumnStore.class);
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int FETCH_SIZE = 10_000;
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final double TOLERANCE = 1e-4;
+    private static final Type[] TYPES = Type.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Object rebuildLock = new Object();
+
+    // Protegidos por this
+    private Columns columns = new Columns();
+    private List<Waste> pending;
+
+    private volatile boolean ready;
+
+    public WasteColumnStore(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        logger.info("WasteColumnStore construído com sucesso");
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Carrega as colunas na inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Acrescenta os resíduos gravados, após o commit da transação. Durante uma
+     * carga, os resíduos também são guardados para conferência.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public synchronized void onWasteRecorded(WasteRecordedEvent event) {
+        if (pending != null) {
+            pending.addAll(event.wastes());
+        }
+        if (ready) {
+            event.wastes().forEach(columns::append);
+        }
+    }
+
+    /**
+     * Recarrega as colunas após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_ANALYTICS)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recarrega todas as colunas a partir das tabelas de resíduos e usuários.
+     */
+    public void rebuild() {
+        logger.info("Carregando colunas de resíduos");
+        reload(false);
+    }
+
+    /**
+     * Verifica se as colunas estão consistentes com a tabela de resíduos
+     * (totais, tipos, meses e usuários) e, em caso de divergência, substitui-as
+     * pelas carregadas do banco.
+     *
+     * @return true se as colunas estavam consistentes
+     */
+    @Scheduled(fixedDelayString = "${waste.aggregates.verify-interval:PT1H}",
+               initialDelayString = "${waste.aggregates.verify-interval:PT1H}")
+    public boolean verify() {
+        if (!ready) {
+            return true;
+        }
+        return reload(true);
+    }
+
+    @Override
+    public synchronized long getCount() {
+        return columns.size;
+    }
+
+    @Override
+    public synchronized double getTotalWeight() {
+        return columns.totalWeight();
+    }
+
+    @Override
+    public synchronized double getRecycledWeight() {
+        return columns.recycledWeight();
+    }
+
+    @Override
+    public Map<Type, Double> getWeightByType() {
+        double[] totals;
+        synchronized (this) {
+            totals = columns.weightByType();
+        }
+        Map<Type, Double> result = new EnumMap<>(Type.class);
+        for (Type type : TYPES) {
+            if (totals[type.ordinal()] > 0) {
+                result.put(type, totals[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<UserRankingDTO> getUserRankings() {
+        List<UserRankingDTO> rankings;
+        synchronized (this) {
+            rankings = columns.userRankings();
+        }
+        rankings.sort(Comparator.comparing(UserRankingDTO::getTotalRecycled).reversed());
+        return rankings;
+    }
+
+    @Override
+    public Map<LocalDate, Double> getMonthlyWeights() {
+        synchronized (this) {
+            return columns.monthlyWeights();
+        }
+    }
+
+    /**
+     * @return Memória aproximada ocupada pelas colunas, em bytes
+     */
+    public synchronized long memoryBytes() {
+        return columns.memoryBytes();
+    }
+
+    /**
+     * Carrega as colunas do banco e as compara com as atuais; se forem
+     * diferentes (ou com {@code verifyOnly} falso), as novas passam a ser usadas.
+     */
+    private boolean reload(boolean verifyOnly) {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    Columns loaded = load();
+                    synchronized (this) {
+                        unloaded(pending).forEach(loaded::append);
+                        pending = null;
+                        String difference = ready ? columns.difference(loaded) : "não carregadas";
+                        if (difference == null) {
+                            return true;
+                        }
+                        if (verifyOnly) {
+                            logger.warn("Colunas divergentes da tabela ({})", difference);
+                        }
+                        columns = loaded;
+                        ready = true;
+                        logger.info("Colunas carregadas: {} resíduos, {} usuários, {} KB",
+                                loaded.size, loaded.userIds.size(), loaded.memoryBytes() / 1024);
+                        return false;
+                    }
+                }));
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    // Leitura em uma transação para que o driver possa trazer as linhas em
+    // blocos de FETCH_SIZE em vez de carregar o resultado inteiro
+    private Columns load() {
+        Columns loaded = new Columns();
+        jdbcTemplate.query("SELECT id, name FROM tb_users", rs -> {
+            loaded.userIndex(rs.getLong(1), rs.getString(2));
+        });
+        jdbcTemplate.query("SELECT date, weight, type, user_id, recycled FROM tb_waste", rs -> {
+            loaded.append((int) rs.getDate(1).toLocalDate().toEpochDay(), rs.getFloat(2),
+                    (byte) Type.valueOf(rs.getString(3)).ordinal(),
+                    loaded.userIndex(rs.getLong(4), null), rs.getBoolean(5));
+        });
+        return loaded;
+    }
+
+    /**
+     * Resíduos gravados durante a carga que não estavam visíveis nela.
+     */
+    private List<Waste> unloaded(List<Waste> wastes) {
+        Set<Long> loadedIds = new HashSet<>();
+        List<Long> ids = wastes.stream().map(Waste::getId).toList();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            loadedIds.addAll(namedJdbcTemplate.queryForList("SELECT id FROM tb_waste WHERE id IN (:ids)",
+                    Map.of("ids", ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE))), Long.class));
+        }
+        return wastes.stream().filter(waste -> !loadedIds.contains(waste.getId())).toList();
+    }
+
+    private static boolean sameWeight(double expected, double actual) {
+        return Math.abs(expected - actual) <= TOLERANCE * Math.max(1.0, Math.abs(expected));
+    }
+
+    private static final class Columns {
+        private int size;
+        private int[] epochDays = new int[INITIAL_CAPACITY];
+        private float[] weights = new float[INITIAL_CAPACITY];
+        private byte[] types = new byte[INITIAL_CAPACITY];
+        private int[] userIndexes = new int[INITIAL_CAPACITY];
+        private long[] recycled = new long[INITIAL_CAPACITY / 64];
+        private int minMonth = Integer.MAX_VALUE;
+        private int maxMonth = Integer.MIN_VALUE;
+
+        // Dicionário de usuários: id -> índice e índice -> id/nome
+        private final Map<Long, Integer> userIndexById = new HashMap<>();
+        private final List<Long> userIds = new ArrayList<>();
+        private final List<String> userNames = new ArrayList<>();
+
+        private double totalWeight() {
+            double total = 0;
+            for (int i = 0; i < size; i++) {
+                total += weights[i];
+            }
+            return total;
+        }
+
+        private double recycledWeight() {
+            double total = 0;
+            for (int word = 0; word < (size + 63) >>> 6; word++) {
+                long bits = recycled[word];
+                while (bits != 0) {
+                    total += weights[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+            return total;
+        }
+
+        private double[] weightByType() {
+            double[] totals = new double[TYPES.length];
+            for (int i = 0; i < size; i++) {
+                totals[types[i]] += weights[i];
+            }
+            return totals;
+        }
+
+        private List<UserRankingDTO> userRankings() {
+            double[] totals = new double[userIds.size()];
+            for (int word = 0; word < (size + 63) >>> 6; word++) {
+                long bits = recycled[word];
+                while (bits != 0) {
+                    int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    totals[userIndexes[i]] += weights[i];
+                    bits &= bits - 1;
+                }
+            }
+            List<UserRankingDTO> rankings = new ArrayList<>();
+            for (int user = 0; user < totals.length; user++) {
+                if (totals[user] > 0) {
+                    rankings.add(new UserRankingDTO(userIds.get(user), userNames.get(user), totals[user]));
+                }
+            }
+            return rankings;
+        }
+
+        private Map<LocalDate, Double> monthlyWeights() {
+            if (size == 0) {
+                return Map.of();
+            }
+            double[] totals = new double[maxMonth - minMonth + 1];
+            for (int i = 0; i < size; i++) {
+                totals[monthIndex(epochDays[i]) - minMonth] += weights[i];
+            }
+            Map<LocalDate, Double> result = new LinkedHashMap<>();
+            for (int month = 0; month < totals.length; month++) {
+                if (totals[month] > 0) {
+                    int index = minMonth + month;
+                    result.put(LocalDate.of(Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1, 1),
+                            totals[month]);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @return Descrição da primeira diferença para as colunas esperadas, ou null se forem equivalentes
+         */
+        private String difference(Columns expected) {
+            double total = totalWeight();
+            double expectedTotal = expected.totalWeight();
+            if (size != expected.size || !sameWeight(expectedTotal, total)
+                    || !sameWeight(expected.recycledWeight(), recycledWeight())) {
+                return String.format("contagem %d / %d, total %s / %s", size, expected.size, total, expectedTotal);
+            }
+            double[] byType = weightByType();
+            double[] expectedByType = expected.weightByType();
+            for (Type type : TYPES) {
+                if (!sameWeight(expectedByType[type.ordinal()], byType[type.ordinal()])) {
+                    return "tipo " + type;
+                }
+            }
+            Map<LocalDate, Double> monthly = monthlyWeights();
+            Map<LocalDate, Double> expectedMonthly = expected.monthlyWeights();
+            if (!monthly.keySet().equals(expectedMonthly.keySet())) {
+                return "meses " + monthly.keySet() + " / " + expectedMonthly.keySet();
+            }
+            for (Map.Entry<LocalDate, Double> month : expectedMonthly.entrySet()) {
+                if (!sameWeight(month.getValue(), monthly.get(month.getKey()))) {
+                    return "mês " + month.getKey();
+                }
+            }
+            Map<Long, Double> byUser = new HashMap<>();
+            userRankings().forEach(ranking -> byUser.put(ranking.getUserId(), ranking.getTotalRecycled()));
+            List<UserRankingDTO> expectedByUser = expected.userRankings();
+            if (byUser.size() != expectedByUser.size()) {
+                return "usuários " + byUser.size() + " / " + expectedByUser.size();
+            }
+            for (UserRankingDTO ranking : expectedByUser) {
+                Double recycledByUser = byUser.get(ranking.getUserId());
+                if (recycledByUser == null || !sameWeight(ranking.getTotalRecycled(), recycledByUser)) {
+                    return "usuário " + ranking.getUserId();
+                }
+            }
+            return null;
+        }
+
+        private long memoryBytes() {
+            return (long) epochDays.length * (Integer.BYTES + Float.BYTES + Byte.BYTES + Integer.BYTES)
+                    + (long) recycled.length * Long.BYTES;
+        }
+
+        private void append(Waste waste) {
+            append((int) waste.getDate().toEpochDay(), waste.getWeight().floatValue(),
+                    (byte) waste.getType().ordinal(),
+                    userIndex(waste.getUser().getId(), waste.getUser().getName()),
+                    Boolean.TRUE.equals(waste.getRecycled()));
+        }
+
+        private void append(int epochDay, float weight, byte type, int userIndex, boolean isRecycled) {
+            if (size == epochDays.length) {
+                grow();
+            }
+            epochDays[size] = epochDay;
+            weights[size] = weight;
+            types[size] = type;
+            userIndexes[size] = userIndex;
+            if (isRecycled) {
+                recycled[size >>> 6] |= 1L << size;
+            }
+            int month = monthIndex(epochDay);
+            minMonth = Math.min(minMonth, month);
+            maxMonth = Math.max(maxMonth, month);
+            size++;
+        }
+
+        private void grow() {
+            int capacity = epochDays.length * 2;
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            types = Arrays.copyOf(types, capacity);
+            userIndexes = Arrays.copyOf(userIndexes, capacity);
+            recycled = Arrays.copyOf(recycled, capacity / 64);
+        }
+
+        private int userIndex(long userId, String name) {
+            Integer index = userIndexById.get(userId);
+            if (index == null) {
+                index = userIds.size();
+                userIndexById.put(userId, index);
+                userIds.add(userId);
+                userNames.add(name);
+            } else if (name != null && userNames.get(index) == null) {
+                userNames.set(index, name);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Converte dias desde 1970-01-01 em ano * 12 + (mês - 1), sem criar objetos
+     * (algoritmo "civil from days" do calendário gregoriano proléptico).
+     */
+    static int monthIndex(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão dos dados de resíduos, usada para respostas condicionais (ETag e
+ * Last-Modified) do dashboard e das APIs de análise.
+ *
+ * A versão é incrementada após o commit de cada gravação
+ * ({@link WasteRecordedEvent}); incrementar antes do commit permitiria que um
+ * cliente guardasse dados antigos com a versão nova. O ETag inclui o instante
+ * de inicialização da aplicação, de forma que versões de execuções anteriores
+ * nunca sejam consideradas atuais.
+ */
+@Component
+public class WasteDataVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteDataVersion.class);
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModified = truncateToSeconds(startedAt);
+
+    /**
+     * Incrementa a versão após o commit dos resíduos gravados.
+     *
+     * @param event Evento com os resíduos gravados
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(WasteRecordedEvent.ORDER_VERSION)
+    public void onWasteRecorded(WasteRecordedEvent event) {
+        increment();
+    }
+
+    /**
+     * Incrementa a versão após uma carga em massa.
+     *
+     * @param event Evento da carga
+     */
+    @EventListener
+    @Order(WasteRecordedEvent.ORDER_VERSION)
+    public void onWasteReloaded(WasteDataReloadedEvent event) {
+        increment();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return ETag da versão atual dos dados
+     */
+    public String getETag() {
+        return "\"" + Long.toString(startedAt, 36) + "-" + version.get() + "\"";
+    }
+
+    /**
+     * @return Instante (em segundos inteiros) da última gravação ou da inicialização
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    private void increment() {
+        lastModified = truncateToSeconds(System.currentTimeMillis());
+        long current = version.incrementAndGet();
+        logger.debug("Versão dos dados de resíduos: {}", current);
+    }
+
+    private static long truncateToSeconds(long millis) {
+        return Instant.ofEpochMilli(millis).truncatedTo(ChronoUnit.SECONDS).toEpochMilli();
+    }
+}
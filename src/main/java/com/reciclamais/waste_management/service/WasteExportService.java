@@ -0,0 +1,211 @@
+package com.reciclamais.waste_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.service.WasteImportService.Format;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço de exportação do histórico de resíduos em CSV ou NDJSON.
+ *
+ * As linhas são lidas por um cursor somente leitura, em blocos de
+ * {@code waste.export.fetch-size} linhas, e escritas diretamente no fluxo de
+ * saída à medida que chegam: o uso de memória não depende do tamanho da
+ * exportação. Os campos são os mesmos da importação
+ * ({@link WasteImportService}), de forma que o arquivo exportado pode ser
+ * importado novamente (descrições com quebras de linha não são suportadas pela
+ * importação CSV).
+ */
+@Service
+public class WasteExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteExportService.class);
+    private static final String CSV_HEADER = "email,type,weight,date,description,recycled";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public WasteExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, @Value("${waste.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        logger.info("WasteExportService construído com sucesso");
+    }
+
+    /**
+     * Filtros da exportação; campos nulos não filtram.
+     *
+     * @param start Data inicial (inclusive)
+     * @param end Data final (inclusive)
+     * @param userEmail Email do usuário
+     * @param type Tipo do resíduo
+     */
+    public record Filter(LocalDate start, LocalDate end, String userEmail, Type type) {
+
+        public Filter {
+            if (start != null && end != null && start.isAfter(end)) {
+                throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+            }
+        }
+    }
+
+    /**
+     * Escreve os resíduos filtrados no fluxo, ordenados por data.
+     * O fluxo não é fechado.
+     *
+     * @param filter Filtros da exportação
+     * @param format Formato do arquivo
+     * @param output Fluxo de saída
+     * @return Quantidade de resíduos exportados
+     * @throws IOException Se ocorrer erro de escrita (ex.: cliente desconectado)
+     */
+    public long export(Filter filter, Format format, OutputStream output) throws IOException {
+        // LEFT JOIN (user_id é obrigatório) mantém tb_waste como tabela principal, de forma que a
+        // ordenação usa o índice (date, id) e as linhas saem sem que o banco ordene o resultado inteiro
+        StringBuilder sql = new StringBuilder(
+                "SELECT u.email, w.type, w.weight, w.date, w.description, w.recycled " +
+                "FROM tb_waste w LEFT JOIN tb_users u ON u.id = w.user_id WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.start() != null) {
+            sql.append(" AND w.date >= ?");
+            args.add(Date.valueOf(filter.start()));
+        }
+        if (filter.end() != null) {
+            sql.append(" AND w.date <= ?");
+            args.add(Date.valueOf(filter.end()));
+        }
+        if (StringUtils.hasText(filter.userEmail())) {
+            sql.append(" AND u.email = ?");
+            args.add(filter.userEmail());
+        }
+        if (filter.type() != null) {
+            sql.append(" AND w.type = ?");
+            args.add(filter.type().name());
+        }
+        sql.append(" ORDER BY w.date, w.id");
+
+        RowWriter writer = format == Format.CSV ? new CsvWriter(output) : new JsonWriter(output);
+        long[] rows = {0};
+        try {
+            // Em uma transação para que o driver use um cursor em vez de carregar o resultado inteiro
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql.toString(), rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            logger.warn("Exportação interrompida após {} linhas: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        writer.finish();
+        logger.info("Exportação {} concluída: {} resíduos", format, rows[0]);
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer out;
+
+        private CsvWriter(OutputStream output) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            out.write(quote(rs.getString(1)));
+            out.write(',');
+            out.write(rs.getString(2));
+            out.write(',');
+            out.write(Double.toString(rs.getDouble(3)));
+            out.write(',');
+            out.write(rs.getDate(4).toLocalDate().toString());
+            out.write(',');
+            out.write(quote(rs.getString(5)));
+            out.write(',');
+            out.write(Boolean.toString(rs.getBoolean(6)));
+            out.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private static String quote(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class JsonWriter implements RowWriter {
+        private final JsonGenerator json;
+
+        private JsonWriter(OutputStream output) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(output);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Uma linha por objeto, sem o espaço que o Jackson insere entre valores
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws IOException, SQLException {
+            json.writeStartObject();
+            json.writeStringField("email", rs.getString(1));
+            json.writeStringField("type", rs.getString(2));
+            json.writeNumberField("weight", rs.getDouble(3));
+            json.writeStringField("date", rs.getDate(4).toLocalDate().toString());
+            json.writeStringField("description", rs.getString(5));
+            json.writeBooleanField("recycled", rs.getBoolean(6));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
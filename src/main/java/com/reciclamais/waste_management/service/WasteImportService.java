@@ -0,0 +1,322 @@
+package com.reciclamais.waste_management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reciclamais.waste_management.dto.ImportReportDTO;
+import com.reciclamais.waste_management.dto.ImportReportDTO.RejectedRowDTO;
+import com.reciclamais.waste_management.dto.WasteImportRow;
+import com.reciclamais.waste_management.exceptions.WasteValidationException;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serviço de importação em lote de resíduos a partir de planilhas das balanças.
+ *
+ * O arquivo é lido linha a linha diretamente do fluxo da requisição, sem ser
+ * carregado em memória. Cada linha é validada com as mesmas regras do cadastro
+ * ({@link WasteService#validateWaste}) e as linhas válidas são gravadas em lotes
+ * de tamanho configurável ({@code waste.import.batch-size}, limitado a
+ * {@code waste.import.max-batch-size}), cada lote em sua própria transação. As linhas rejeitadas são devolvidas no relatório.
+ *
+ * Formatos aceitos:
+ * - CSV com cabeçalho: email,type,weight,date,description,recycled
+ *   (campos entre aspas podem conter vírgulas, mas não quebras de linha)
+ * - NDJSON: um objeto JSON por linha com os mesmos campos
+ */
+@Service
+public class WasteImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteImportService.class);
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final String[] CSV_COLUMNS = {"email", "type", "weight", "date", "description", "recycled"};
+
+    private final WasteService wasteService;
+    private final WasteBatchWriter batchWriter;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+
+    public WasteImportService(WasteService wasteService, WasteBatchWriter batchWriter,
+                              UserRepository userRepository, ObjectMapper objectMapper,
+                              @Value("${waste.import.batch-size:1000}") int defaultBatchSize,
+                              @Value("${waste.import.max-batch-size:5000}") int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("waste.import.max-batch-size deve ser maior que zero");
+        }
+        this.wasteService = wasteService;
+        this.batchWriter = batchWriter;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.defaultBatchSize = Math.min(defaultBatchSize, maxBatchSize);
+        this.maxBatchSize = maxBatchSize;
+        logger.info("WasteImportService construído com sucesso");
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Importa os resíduos do fluxo informado.
+     *
+     * @param input Conteúdo do arquivo (UTF-8)
+     * @param format Formato do arquivo
+     * @param batchSize Tamanho do lote ou null para o padrão configurado; valores
+     *                  acima de {@code waste.import.max-batch-size} são reduzidos ao limite
+     * @return Relatório com a quantidade de linhas aceitas e rejeitadas
+     * @throws IOException Se ocorrer erro de leitura do fluxo
+     * @throws IllegalArgumentException Se o cabeçalho CSV ou o tamanho do lote forem inválidos
+     */
+    public ImportReportDTO importWastes(InputStream input, Format format, Integer batchSize) throws IOException {
+        int size = batchSize != null ? batchSize : defaultBatchSize;
+        if (size < 1) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser maior que zero");
+        }
+        if (size > maxBatchSize) {
+            logger.debug("Tamanho do lote {} reduzido ao máximo de {}", size, maxBatchSize);
+            size = maxBatchSize;
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Import job = new Import(size);
+        long lineNumber = 0;
+
+        int[] columns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            columns = parseHeader(header);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                WasteImportRow row = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+                job.add(lineNumber, toWaste(row, job.users));
+            } catch (WasteValidationException | IllegalArgumentException e) {
+                job.reject(lineNumber, e.getMessage());
+            }
+        }
+        job.flush();
+
+        logger.info("Importação concluída: {} aceitos, {} rejeitados", job.accepted, job.rejected);
+        return new ImportReportDTO(job.accepted, job.rejected, job.rejectedRows);
+    }
+
+    private Waste toWaste(WasteImportRow row, Map<String, Optional<User>> users) {
+        if (!StringUtils.hasText(row.email())) {
+            throw new WasteValidationException("Email do usuário é obrigatório");
+        }
+        User user = users.computeIfAbsent(row.email().trim(), userRepository::findByEmail)
+                .orElseThrow(() -> new WasteValidationException("Usuário não encontrado com o email: " + row.email()));
+
+        Waste waste = new Waste();
+        waste.setUser(user);
+        waste.setType(parseType(row.type()));
+        waste.setWeight(parseWeight(row.weight()));
+        waste.setDate(parseDate(row.date()));
+        waste.setDescription(row.description());
+        waste.setRecycled(parseRecycled(row.recycled()));
+        wasteService.validateWaste(waste);
+        validateDescriptionLength(waste);
+        return waste;
+    }
+
+    /**
+     * Verifica o limite da coluna de descrição, que no cadastro pelo formulário
+     * é garantido pela validação da entidade.
+     */
+    static void validateDescriptionLength(Waste waste) {
+        if (waste.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            throw new WasteValidationException("Descrição deve ter no máximo " + MAX_DESCRIPTION_LENGTH + " caracteres");
+        }
+    }
+
+    static Type parseType(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Type.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new WasteValidationException("Tipo de resíduo inválido: " + value);
+        }
+    }
+
+    private static Double parseWeight(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            // Somente notação decimal: Double.valueOf aceitaria NaN, Infinity e hexadecimal
+            return new BigDecimal(value.trim()).doubleValue();
+        } catch (NumberFormatException e) {
+            throw new WasteValidationException("Peso inválido: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new WasteValidationException("Data inválida: " + value);
+        }
+    }
+
+    private static Boolean parseRecycled(String value) {
+        if (!StringUtils.hasText(value)) {
+            return false;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "1", "sim" -> true;
+            case "false", "0", "nao", "não" -> false;
+            default -> throw new WasteValidationException("Valor de reciclado inválido: " + value);
+        };
+    }
+
+    private WasteImportRow parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, WasteImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new WasteValidationException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private static int[] parseHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("Arquivo CSV sem cabeçalho");
+        }
+        List<String> names = splitCsv(header);
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS[i]);
+            if (columns[i] < 0 && !"recycled".equals(CSV_COLUMNS[i])) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no cabeçalho: " + CSV_COLUMNS[i]);
+            }
+        }
+        return columns;
+    }
+
+    private static WasteImportRow parseCsv(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        return new WasteImportRow(field(fields, columns[0]), field(fields, columns[1]), field(fields, columns[2]),
+                field(fields, columns[3]), field(fields, columns[4]), field(fields, columns[5]));
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    /**
+     * Separa uma linha CSV em campos, respeitando aspas duplas ("" representa uma aspa).
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Estado de uma importação: lote corrente, cache de usuários e relatório.
+     */
+    private final class Import {
+        private final int batchSize;
+        private final Map<String, Optional<User>> users = new HashMap<>();
+        private final List<Waste> batch;
+        private final List<Long> batchLines;
+        private final List<RejectedRowDTO> rejectedRows = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+
+        private Import(int batchSize) {
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+            this.batchLines = new ArrayList<>(batchSize);
+        }
+
+        private void add(long line, Waste waste) {
+            batch.add(waste);
+            batchLines.add(line);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedRows.add(new RejectedRowDTO(line, reason));
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                batchWriter.write(batch);
+                accepted += batch.size();
+            } catch (DataAccessException e) {
+                logger.error("Erro ao gravar lote de resíduos: {}", e.getMessage());
+                batchLines.forEach(line -> reject(line, "Erro ao gravar o lote: " + e.getMostSpecificCause().getMessage()));
+            }
+            batch.clear();
+            batchLines.clear();
+        }
+    }
+}
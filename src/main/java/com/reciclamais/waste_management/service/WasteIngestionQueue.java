@@ -0,0 +1,248 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.config.AppThreads;
+import com.reciclamais.waste_management.exceptions.UserNotFoundException;
+import com.reciclamais.waste_management.exceptions.WasteQueueFullException;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fila de gravação assíncrona (write-behind) para o registro de resíduos.
+ *
+ * Quando habilitada ({@code waste.ingestion.async=true}), o registro é validado
+ * na requisição e colocado em uma fila limitada em memória
+ * ({@code waste.ingestion.capacity}); uma única thread de gravação retira da
+ * fila todos os registros pendentes, até {@code waste.ingestion.max-group-size},
+ * e os grava em uma só transação pelo {@link WasteBatchWriter} (group commit).
+ *
+ * Com a fila cheia, o registro é recusado imediatamente ({@code REJECT}) ou a
+ * requisição espera até {@code waste.ingestion.offer-timeout} por espaço
+ * ({@code BLOCK}); em ambos os casos a recusa gera {@link WasteQueueFullException}.
+ *
+ * Garantia de durabilidade: um registro aceito só está no banco após o commit
+ * do seu grupo. No encerramento normal da aplicação a fila é esvaziada antes do
+ * fechamento do banco (até {@code waste.ingestion.shutdown-timeout}); registros
+ * pendentes são perdidos se o processo for interrompido abruptamente. A
+ * verificação de atividade e a inserção na fila são feitas sob o mesmo bloqueio
+ * de leitura que o encerramento adquire para escrita, de modo que nenhum
+ * registro é aceito depois que a thread de gravação pode ter terminado.
+ */
+@Service
+public class WasteIngestionQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteIngestionQueue.class);
+    private static final long POLL_MILLIS = 100;
+
+    /**
+     * Comportamento quando a fila está cheia.
+     */
+    public enum Overflow {
+        REJECT,
+        BLOCK
+    }
+
+    /**
+     * Contadores da fila.
+     */
+    public record Stats(long accepted, long rejected, long written, long failed, long groups, int pending) {
+    }
+
+    private final WasteService wasteService;
+    private final UserCache userCache;
+    private final WasteBatchWriter batchWriter;
+    private final AppThreads threads;
+    private final boolean enabled;
+    private final Overflow overflow;
+    private final Duration offerTimeout;
+    private final int maxGroupSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<Waste> queue;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    public WasteIngestionQueue(WasteService wasteService, UserCache userCache, WasteBatchWriter batchWriter,
+                               AppThreads threads,
+                               @Value("${waste.ingestion.async:false}") boolean enabled,
+                               @Value("${waste.ingestion.capacity:10000}") int capacity,
+                               @Value("${waste.ingestion.overflow:REJECT}") Overflow overflow,
+                               @Value("${waste.ingestion.offer-timeout:PT2S}") Duration offerTimeout,
+                               @Value("${waste.ingestion.max-group-size:500}") int maxGroupSize,
+                               @Value("${waste.ingestion.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.wasteService = wasteService;
+        this.userCache = userCache;
+        this.batchWriter = batchWriter;
+        this.threads = threads;
+        this.enabled = enabled;
+        this.overflow = overflow;
+        this.offerTimeout = offerTimeout;
+        this.maxGroupSize = maxGroupSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        logger.info("WasteIngestionQueue construído com sucesso");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = threads.factory("waste-ingestion-").newThread(this::drain);
+        writer.start();
+        logger.info("Fila de gravação assíncrona iniciada (capacidade: {}, cheia: {}, grupo: até {})",
+                queue.remainingCapacity(), overflow, maxGroupSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Valida o resíduo e o coloca na fila de gravação.
+     *
+     * @param waste Resíduo a ser registrado
+     * @param userEmail Email do usuário que está registrando o resíduo
+     * @throws UserNotFoundException Se o usuário não for encontrado
+     * @throws com.reciclamais.waste_management.exceptions.WasteValidationException Se os dados forem inválidos
+     * @throws WasteQueueFullException Se a fila estiver cheia ou encerrada
+     */
+    public void submit(Waste waste, String userEmail) {
+        if (!StringUtils.hasText(userEmail)) {
+            throw new IllegalArgumentException("Email do usuário não pode ser vazio");
+        }
+        User user = userCache.findByEmail(userEmail)
+                .map(UserCache.CachedUser::toUser)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com o email: " + userEmail));
+        waste.setUser(user);
+        wasteService.validateWaste(waste);
+
+        // Com BLOCK, o encerramento espera no máximo offer-timeout pelas inserções em andamento
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                rejected.increment();
+                throw new WasteQueueFullException("A fila de registro de resíduos não está ativa");
+            }
+            if (!offer(waste)) {
+                rejected.increment();
+                throw new WasteQueueFullException("Muitos registros em andamento, tente novamente em instantes");
+            }
+            accepted.increment();
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(accepted.sum(), rejected.sum(), written.sum(), failed.sum(), groups.sum(), queue.size());
+    }
+
+    /**
+     * Para de aceitar registros e aguarda a gravação dos pendentes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        if (!queue.isEmpty()) {
+            logger.error("Encerramento sem gravar {} resíduos pendentes na fila", queue.size());
+        } else {
+            logger.info("Fila de gravação encerrada: {}", getStats());
+        }
+    }
+
+    private boolean offer(Waste waste) {
+        if (overflow == Overflow.REJECT) {
+            return queue.offer(waste);
+        }
+        try {
+            return queue.offer(waste, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: cada grupo reúne tudo o que chegou enquanto o
+     * grupo anterior era gravado. Após o encerramento, continua até esvaziar a fila.
+     */
+    private void drain() {
+        List<Waste> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Waste first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                write(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(List<Waste> group) {
+        try {
+            batchWriter.write(group);
+            written.add(group.size());
+            groups.increment();
+        } catch (RuntimeException e) {
+            // Um registro problemático não deve descartar o grupo inteiro
+            logger.warn("Falha ao gravar grupo de {} resíduos, gravando individualmente: {}",
+                    group.size(), e.getMessage());
+            for (Waste waste : group) {
+                try {
+                    waste.setId(null);
+                    batchWriter.write(List.of(waste));
+                    written.increment();
+                    groups.increment();
+                } catch (RuntimeException single) {
+                    failed.increment();
+                    logger.error("Resíduo descartado pela fila de gravação: {}", waste, single);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manutenção das partições mensais de {@code tb_waste} no PostgreSQL
+ * (migração {@code V5__partition_waste_by_month}).
+ *
+ * Executada na inicialização e conforme {@code waste.partitions.maintenance-cron}:
+ * 1. Cria as partições do mês atual e dos próximos
+ *    {@code waste.partitions.months-ahead} meses
+ * 2. Retenção ({@code waste.partitions.retention.months}, desabilitada com 0):
+ *    cada mês anterior ao período retido é desanexado de {@code tb_waste}; a
+ *    partição é movida para o schema {@code waste.partitions.retention.archive-schema}
+ *    ({@code action: archive}) ou removida ({@code action: drop}). Os totais
+ *    mensais e as chaves de idempotência do mês são removidos na mesma
+ *    transação, e um {@link WasteDataReloadedEvent} recarrega os dados em memória
+ *
+ * No H2 (ou em um PostgreSQL sem a migração) {@code tb_waste} não é
+ * particionada e nada é feito.
+ */
+@Service
+public class WastePartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WastePartitionMaintainer.class);
+    private static final Pattern PARTITION_NAME = Pattern.compile("tb_waste_p(\\d{6})");
+    private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('tb_waste')";
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'tb_waste'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String retentionAction;
+    private final String archiveSchema;
+
+    private volatile Boolean partitioned;
+
+    public WastePartitionMaintainer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${waste.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${waste.partitions.retention.months:0}") int retentionMonths,
+                                    @Value("${waste.partitions.retention.action:archive}") String retentionAction,
+                                    @Value("${waste.partitions.retention.archive-schema:archive}") String archiveSchema) {
+        if (!retentionAction.equals("archive") && !retentionAction.equals("drop")) {
+            throw new IllegalArgumentException("waste.partitions.retention.action deve ser archive ou drop: "
+                    + retentionAction);
+        }
+        if (!SCHEMA_NAME.matcher(archiveSchema).matches()) {
+            throw new IllegalArgumentException("Schema de arquivamento inválido: " + archiveSchema);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+        this.archiveSchema = archiveSchema;
+        logger.info("WastePartitionMaintainer construído com sucesso");
+    }
+
+    /**
+     * Indica se {@code tb_waste} é particionada por mês (PostgreSQL).
+     *
+     * @return true se a tabela for particionada
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(database)
+                    && jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Long.class) > 0;
+            logger.info("tb_waste {}", partitioned ? "particionada por mês" : "sem particionamento (" + database + ")");
+        }
+        return partitioned;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${waste.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        try {
+            YearMonth current = YearMonth.now();
+            createPartitions(current, current.plusMonths(monthsAhead));
+            applyRetention();
+        } catch (DataAccessException e) {
+            // Outra instância pode estar fazendo a mesma manutenção; a próxima execução tenta de novo
+            logger.warn("Falha na manutenção das partições de resíduos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cria as partições que faltam entre dois meses, inclusive. Resíduos
+     * desses meses já gravados na partição padrão são movidos para elas.
+     *
+     * @param from Primeiro mês
+     * @param to Último mês
+     * @return Quantidade de partições criadas
+     */
+    public int createPartitions(YearMonth from, YearMonth to) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            Boolean result = jdbcTemplate.queryForObject("SELECT tb_waste_create_partition(?)", Boolean.class,
+                    Date.valueOf(month.atDay(1)));
+            if (Boolean.TRUE.equals(result)) {
+                created++;
+                logger.info("Partição de resíduos criada: {}", month);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Desanexa as partições dos meses anteriores ao período retido.
+     *
+     * @return Meses desanexados
+     */
+    public List<YearMonth> applyRetention() {
+        if (retentionMonths <= 0 || !isPartitioned()) {
+            return List.of();
+        }
+        YearMonth oldestRetained = YearMonth.now().minusMonths(retentionMonths - 1L);
+        List<YearMonth> detached = new ArrayList<>();
+        for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_MONTH);
+            if (month.isBefore(oldestRetained)) {
+                detach(partition, month);
+                detached.add(month);
+            }
+        }
+        if (!detached.isEmpty()) {
+            logger.info("Retenção de resíduos: {} meses desanexados ({})", detached.size(), retentionAction);
+            eventPublisher.publishEvent(new WasteDataReloadedEvent(0));
+        }
+        return detached;
+    }
+
+    private void detach(String partition, YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM tb_waste_submission s USING " + partition + " w WHERE s.waste_id = w.id");
+            jdbcTemplate.update("DELETE FROM tb_waste_monthly WHERE period_year = ? AND period_month = ?",
+                    month.getYear(), month.getMonthValue());
+            jdbcTemplate.execute("ALTER TABLE tb_waste DETACH PARTITION " + partition);
+            if (retentionAction.equals("drop")) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            } else {
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+            }
+        });
+        logger.info("Partição de resíduos {} desanexada ({})", month, retentionAction);
+    }
+}
@@ -0,0 +1,168 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.model.WasteMonthly;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serviço responsável pela tabela de totais mensais ({@code tb_waste_monthly}).
+ *
+ * Os totais são atualizados na mesma transação que grava os resíduos, de forma
+ * que a tabela e {@code tb_waste} nunca divergem após um commit. O backfill
+ * reconstrói a tabela inteira a partir de {@code tb_waste} com uma única
+ * instrução INSERT ... SELECT e é executado:
+ * - Na inicialização, se os totais não conferem com a quantidade de resíduos
+ * - Periodicamente, conforme {@code waste.rollup.backfill-cron} (desabilitado por padrão)
+ *
+ * Cada total é somado com uma única instrução de upsert: no PostgreSQL,
+ * {@code INSERT ... ON CONFLICT DO UPDATE}, atômico mesmo com gravações
+ * concorrentes da mesma linha mensal (mês, tipo e usuário). Nos demais bancos
+ * (H2) é usado {@code MERGE}, que pode violar a restrição única quando duas
+ * transações criam a mesma linha ao mesmo tempo; a instrução é então repetida
+ * (sem desfazer a transação), e passa a somar na linha já gravada.
+ *
+ * O upsert é executado pelo {@link JdbcTemplate} na conexão da transação
+ * atual: uma falha tratada aqui não marca a transação JPA para rollback.
+ */
+@Service
+public class WasteRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteRollupService.class);
+    private static final int MAX_UPSERT_ATTEMPTS = 5;
+    private static final String COLUMNS = "period_year, period_month, type, user_id, total_weight, recycled_weight, count";
+    private static final String UPSERT_POSTGRESQL =
+            "INSERT INTO tb_waste_monthly (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (period_year, period_month, type, user_id) DO UPDATE SET " +
+            "total_weight = tb_waste_monthly.total_weight + EXCLUDED.total_weight, " +
+            "recycled_weight = tb_waste_monthly.recycled_weight + EXCLUDED.recycled_weight, " +
+            "count = tb_waste_monthly.count + EXCLUDED.count";
+    private static final String UPSERT_MERGE =
+            "MERGE INTO tb_waste_monthly m USING (VALUES (?, ?, ?, ?, ?, ?, ?)) AS d(" + COLUMNS + ") " +
+            "ON m.period_year = d.period_year AND m.period_month = d.period_month " +
+            "AND m.type = d.type AND m.user_id = d.user_id " +
+            "WHEN MATCHED THEN UPDATE SET total_weight = m.total_weight + d.total_weight, " +
+            "recycled_weight = m.recycled_weight + d.recycled_weight, count = m.count + d.count " +
+            "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (d.period_year, d.period_month, d.type, " +
+            "d.user_id, d.total_weight, d.recycled_weight, d.count)";
+
+    private final WasteMonthlyRepository monthlyRepository;
+    private final WasteRepository wasteRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String upsertSql;
+
+    public WasteRollupService(WasteMonthlyRepository monthlyRepository, WasteRepository wasteRepository,
+                              JdbcTemplate jdbcTemplate) {
+        this.monthlyRepository = monthlyRepository;
+        this.wasteRepository = wasteRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        logger.info("WasteRollupService construído com sucesso");
+    }
+
+    /**
+     * Soma um resíduo recém-gravado aos totais do seu mês.
+     *
+     * @param waste Resíduo gravado, com usuário associado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Waste waste) {
+        addAll(List.of(waste));
+    }
+
+    /**
+     * Soma um lote de resíduos recém-gravados aos totais mensais, com uma
+     * atualização por combinação de mês, tipo e usuário.
+     *
+     * @param wastes Resíduos gravados, com usuários associados
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Collection<Waste> wastes) {
+        Map<Key, WasteMonthly> deltas = new HashMap<>();
+        for (Waste waste : wastes) {
+            Key key = new Key(waste.getDate().getYear(), waste.getDate().getMonthValue(),
+                    waste.getType(), waste.getUser().getId());
+            WasteMonthly delta = deltas.computeIfAbsent(key, k ->
+                    new WasteMonthly(null, k.year(), k.month(), k.type(), waste.getUser(), 0, 0, 0));
+            delta.setTotalWeight(delta.getTotalWeight() + waste.getWeight());
+            if (Boolean.TRUE.equals(waste.getRecycled())) {
+                delta.setRecycledWeight(delta.getRecycledWeight() + waste.getWeight());
+            }
+            delta.setCount(delta.getCount() + 1);
+        }
+
+        String sql = upsertSql();
+        for (Map.Entry<Key, WasteMonthly> entry : deltas.entrySet()) {
+            Key key = entry.getKey();
+            WasteMonthly delta = entry.getValue();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    jdbcTemplate.update(sql, key.year(), key.month(), key.type().name(), key.userId(),
+                            delta.getTotalWeight(), delta.getRecycledWeight(), delta.getCount());
+                    break;
+                } catch (DuplicateKeyException e) {
+                    if (attempt == MAX_UPSERT_ATTEMPTS) {
+                        throw e;
+                    }
+                    logger.debug("Linha mensal {} criada por outra transação; repetindo ({})", key, attempt);
+                }
+            }
+        }
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(database) ? UPSERT_POSTGRESQL : UPSERT_MERGE;
+        }
+        return upsertSql;
+    }
+
+    /**
+     * Reconstrói todos os totais mensais a partir da tabela de resíduos.
+     */
+    @Transactional
+    @Scheduled(cron = "${waste.rollup.backfill-cron:-}")
+    public void backfill() {
+        logger.info("Reconstruindo totais mensais de resíduos");
+        monthlyRepository.deleteAllInBatch();
+        int rows = monthlyRepository.backfill();
+        logger.info("Totais mensais reconstruídos: {} linhas", rows);
+    }
+
+    /**
+     * Executa o backfill na inicialização se os totais mensais não conferem
+     * com a quantidade de resíduos gravados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfInconsistent() {
+        long rolledUp = monthlyRepository.sumCount();
+        long wastes = wasteRepository.count();
+        if (rolledUp != wastes) {
+            logger.warn("Totais mensais divergentes ({} de {} resíduos)", rolledUp, wastes);
+            backfill();
+        }
+    }
+
+    private record Key(int year, int month, Type type, Long userId) {
+    }
+}
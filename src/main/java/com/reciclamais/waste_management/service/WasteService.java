@@ -2,16 +2,22 @@ package com.reciclamais.waste_management.service;
 
 import com.reciclamais.waste_management.dto.TypeWasteDTO;
 import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.dto.WasteCursor;
+import com.reciclamais.waste_management.dto.WasteDTO;
+import com.reciclamais.waste_management.dto.WasteSliceDTO;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
 import com.reciclamais.waste_management.model.Waste;
 import com.reciclamais.waste_management.model.User;
 import com.reciclamais.waste_management.model.Type;
 import com.reciclamais.waste_management.repository.WasteRepository;
-import com.reciclamais.waste_management.repository.UserRepository;
 import com.reciclamais.waste_management.exceptions.UserNotFoundException;
 import com.reciclamais.waste_management.exceptions.WasteValidationException;
 import com.reciclamais.waste_management.exceptions.WastePersistenceException;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -53,17 +59,27 @@ import java.util.Comparator;
  * @version 1.0
  */
 @Service
+@Timed("reciclamais.service")
 public class WasteService {
 
     private static final Logger logger = LoggerFactory.getLogger(WasteService.class);
     private static final int MIN_DESCRIPTION_LENGTH = 10;
+    private static final int MAX_PAGE_SIZE = 500;
     
     private final WasteRepository wasteRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final WasteRollupService rollupService;
+    private final WasteAnalytics analytics;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public WasteService(WasteRepository wasteRepository, UserRepository userRepository) {
+    public WasteService(WasteRepository wasteRepository, UserCache userCache,
+                        WasteRollupService rollupService, WasteAnalytics analytics,
+                        ApplicationEventPublisher eventPublisher) {
         this.wasteRepository = wasteRepository;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.rollupService = rollupService;
+        this.analytics = analytics;
+        this.eventPublisher = eventPublisher;
         logger.info("WasteService construído com sucesso");
     }
 
@@ -75,6 +91,8 @@ public class WasteService {
      * 2. Associa o resíduo ao usuário
      * 3. Valida os dados do resíduo
      * 4. Persiste o resíduo no banco de dados
+     * 5. Atualiza os totais mensais na mesma transação
+     * 6. Publica o evento de gravação, que atualiza os agregados após o commit
      *
      * @param waste Resíduo a ser salvo
      * @param userEmail Email do usuário que está registrando o resíduo
@@ -89,7 +107,9 @@ public class WasteService {
             throw new IllegalArgumentException("Email do usuário não pode ser vazio");
         }
 
-        User user = userRepository.findByEmail(userEmail)
+        // Usuário destacado, montado a partir do cache, usado apenas como referência
+        User user = userCache.findByEmail(userEmail)
+                .map(UserCache.CachedUser::toUser)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com o email: " + userEmail));
 
         waste.setUser(user);
@@ -97,7 +117,9 @@ public class WasteService {
 
         try {
             wasteRepository.save(waste);
+            rollupService.add(waste);
             logger.info("Resíduo salvo com sucesso: {}", waste);
+            eventPublisher.publishEvent(WasteRecordedEvent.of(waste));
         } catch (Exception e) {
             logger.error("Erro ao salvar resíduo: {}", e.getMessage());
             throw new WastePersistenceException("Erro ao salvar resíduo", e);
@@ -105,13 +127,13 @@ public class WasteService {
     }
 
     /**
-     * Busca todos os resíduos cadastrados no sistema.
+     * Busca todos os resíduos cadastrados no sistema, com seus usuários.
      * 
      * @return Lista de todos os resíduos
      */
     public List<Waste> findAll() {
         logger.info("Buscando todos os resíduos");
-        return wasteRepository.findAll();
+        return wasteRepository.findAllWithUser();
     }
 
     /**
@@ -120,11 +142,12 @@ public class WasteService {
      * @param startDate Data inicial do período
      * @param endDate Data final do período
      * @return Lista de resíduos no período especificado
+     * @throws IllegalArgumentException Se o período for inválido
      */
     public List<Waste> findByPeriod(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
         logger.info("Buscando resíduos no período de {} a {}", startDate, endDate);
-        // TODO: Implementar busca por período
-        return wasteRepository.findAll();
+        return wasteRepository.findByPeriod(startDate, endDate);
     }
 
     /**
@@ -139,8 +162,77 @@ public class WasteService {
             throw new IllegalArgumentException("Email do usuário não pode ser vazio");
         }
         logger.info("Buscando resíduos do usuário: {}", userEmail);
-        // TODO: Implementar busca por usuário
-        return wasteRepository.findAll();
+        return wasteRepository.findByUserEmail(userEmail);
+    }
+
+    /**
+     * Busca uma página de resíduos do período, do mais recente para o mais antigo.
+     * 
+     * A paginação é feita por chave (data, id): a próxima página é obtida passando
+     * o cursor retornado na página anterior, sem o custo de OFFSET.
+     * 
+     * @param startDate Data inicial do período
+     * @param endDate Data final do período
+     * @param cursor Cursor da página anterior ou null para a primeira página
+     * @param size Quantidade máxima de resíduos na página
+     * @return Página de resíduos e cursor da próxima página
+     * @throws IllegalArgumentException Se o período ou o tamanho da página forem inválidos
+     */
+    public WasteSliceDTO findPageByPeriod(LocalDate startDate, LocalDate endDate, WasteCursor cursor, int size) {
+        validatePeriod(startDate, endDate);
+        Limit limit = pageLimit(size);
+        logger.info("Buscando página de resíduos no período de {} a {} após {}", startDate, endDate, cursor);
+
+        List<WasteDTO> wastes = cursor == null
+                ? wasteRepository.findPageByPeriod(startDate, endDate, limit)
+                : wasteRepository.findPageByPeriodAfter(startDate, endDate, cursor.date(), cursor.id(), limit);
+        return toSlice(wastes, size);
+    }
+
+    /**
+     * Busca uma página do histórico de resíduos de um usuário, do mais recente para o mais antigo.
+     * 
+     * @param userEmail Email do usuário
+     * @param cursor Cursor da página anterior ou null para a primeira página
+     * @param size Quantidade máxima de resíduos na página
+     * @return Página de resíduos e cursor da próxima página
+     * @throws IllegalArgumentException Se o email do usuário ou o tamanho da página forem inválidos
+     */
+    public WasteSliceDTO findPageByUser(String userEmail, WasteCursor cursor, int size) {
+        if (!StringUtils.hasText(userEmail)) {
+            throw new IllegalArgumentException("Email do usuário não pode ser vazio");
+        }
+        Limit limit = pageLimit(size);
+        logger.info("Buscando página de resíduos do usuário {} após {}", userEmail, cursor);
+
+        List<WasteDTO> wastes = cursor == null
+                ? wasteRepository.findPageByUser(userEmail, limit)
+                : wasteRepository.findPageByUserAfter(userEmail, cursor.date(), cursor.id(), limit);
+        return toSlice(wastes, size);
+    }
+
+    private void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Período inválido: " + startDate + " a " + endDate);
+        }
+    }
+
+    /**
+     * Busca um resíduo a mais que o tamanho da página para saber se há uma próxima página.
+     */
+    private Limit pageLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    private WasteSliceDTO toSlice(List<WasteDTO> wastes, int size) {
+        if (wastes.size() <= size) {
+            return new WasteSliceDTO(wastes, null);
+        }
+        List<WasteDTO> page = wastes.subList(0, size);
+        return new WasteSliceDTO(page, WasteCursor.of(page.get(size - 1)).encode());
     }
 
     /**
@@ -149,22 +241,22 @@ public class WasteService {
      * Regras de validação:
      * - Resíduo não pode ser nulo
      * - Data é obrigatória
-     * - Peso deve ser maior que zero
+     * - Peso deve ser um número finito maior que zero (NaN e infinito corromperiam os totais)
      * - Tipo é obrigatório
      * - Descrição deve ter pelo menos 10 caracteres
      * 
      * @param waste Resíduo a ser validado
      * @throws WasteValidationException Se alguma regra de validação não for atendida
      */
-    private void validateWaste(Waste waste) {
+    void validateWaste(Waste waste) {
         if (waste == null) {
             throw new WasteValidationException("Resíduo não pode ser nulo");
         }
         if (waste.getDate() == null) {
             throw new WasteValidationException("Data do resíduo é obrigatória");
         }
-        if (waste.getWeight() == null || waste.getWeight() <= 0) {
-            throw new WasteValidationException("Peso do resíduo deve ser maior que zero");
+        if (waste.getWeight() == null || !Double.isFinite(waste.getWeight()) || waste.getWeight() <= 0) {
+            throw new WasteValidationException("Peso do resíduo deve ser um número maior que zero");
         }
         if (waste.getType() == null) {
             throw new WasteValidationException("Tipo do resíduo é obrigatório");
@@ -197,13 +289,10 @@ public class WasteService {
      * @return Total de resíduos em kg
      */
     public double getTotalWaste() {
-        List<Waste> allWastes = wasteRepository.findAll();
-        if (allWastes.isEmpty()) {
-            return 0.0;
+        if (analytics.isReady()) {
+            return analytics.getTotalWeight();
         }
-        return allWastes.stream()
-                .mapToDouble(Waste::getWeight)
-                .sum();
+        return wasteRepository.sumWeight();
     }
 
     /**
@@ -212,14 +301,10 @@ public class WasteService {
      * @return Total de resíduos reciclados em kg
      */
     public double getWasteRecycled() {
-        List<Waste> allWastes = wasteRepository.findAll();
-        if (allWastes.isEmpty()) {
-            return 0.0;
+        if (analytics.isReady()) {
+            return analytics.getRecycledWeight();
         }
-        return allWastes.stream()
-                .filter(Waste::getRecycled)
-                .mapToDouble(Waste::getWeight)
-                .sum();
+        return wasteRepository.sumRecycledWeight();
     }
 
     /**
@@ -231,31 +316,40 @@ public class WasteService {
      * 3. Calcula a porcentagem de cada tipo em relação ao total
      * 4. Retorna os dados formatados em DTOs
      * 
+     * Sem os agregados em memória, o agrupamento é feito pelo banco de dados.
+     * 
      * @return Lista de DTOs contendo tipo, quantidade e porcentagem
      */
     public List<TypeWasteDTO> getWasteByType() {
-        List<Waste> allWastes = wasteRepository.findAll();
-        logger.info("Total wastes found: {}", allWastes.size());
-        
-        if (allWastes.isEmpty()) {
-            return List.of();
+        if (analytics.isReady()) {
+            return toTypeWasteDTOs(analytics.getWeightByType());
         }
 
-        // Group wastes by type and calculate total weight for each type
-        Map<Type, Double> typeWeights = allWastes.stream()
-                .collect(Collectors.groupingBy(
-                        Waste::getType,
-                        Collectors.summingDouble(Waste::getWeight)
-                ));
+        List<TypeWasteDTO> result = wasteRepository.sumWeightByType();
+        logger.debug("Result DTOs: {}", result);
+        return result;
+    }
 
-        logger.info("Type weights: {}", typeWeights);
+    /**
+     * Converte os pesos por tipo em DTOs com quantidade e porcentagem,
+     * ordenados por quantidade (decrescente).
+     *
+     * @param typeWeights Peso total de cada tipo de resíduo
+     * @return Lista de DTOs contendo tipo, quantidade e porcentagem
+     */
+    private List<TypeWasteDTO> toTypeWasteDTOs(Map<Type, Double> typeWeights) {
+        logger.debug("Type weights: {}", typeWeights);
+
+        if (typeWeights.isEmpty()) {
+            return List.of();
+        }
 
         // Calculate total weight for percentage calculation
         double totalWeight = typeWeights.values().stream()
                 .mapToDouble(Double::doubleValue)
                 .sum();
 
-        logger.info("Total weight: {}", totalWeight);
+        logger.debug("Total weight: {}", totalWeight);
 
         // Convert to DTOs with proper quantities and percentages
         List<TypeWasteDTO> result = typeWeights.entrySet().stream()
@@ -271,7 +365,7 @@ public class WasteService {
                 .sorted(Comparator.comparing(TypeWasteDTO::getQuantity).reversed())
                 .collect(Collectors.toList());
 
-        logger.info("Result DTOs: {}", result);
+        logger.debug("Result DTOs: {}", result);
         return result;
     }
 
@@ -284,36 +378,17 @@ public class WasteService {
      * 3. Ordena os usuários por quantidade reciclada (decrescente)
      * 4. Retorna os dados formatados em DTOs
      * 
+     * Sem os agregados em memória, o agrupamento é feito pelo banco de dados.
+     * 
      * @return Lista de DTOs contendo nome do usuário e total reciclado
      */
     public List<UserRankingDTO> getUserRankings() {
-        List<Waste> allWastes = wasteRepository.findAll();
-        logger.info("Calculating user rankings from {} wastes", allWastes.size());
-
-        if (allWastes.isEmpty()) {
-            return List.of();
+        if (analytics.isReady()) {
+            return analytics.getUserRankings();
         }
 
-        // Group wastes by user and calculate total recycled weight for each user
-        Map<User, Double> userRecycledWeights = allWastes.stream()
-                .filter(Waste::getRecycled)
-                .collect(Collectors.groupingBy(
-                        Waste::getUser,
-                        Collectors.summingDouble(Waste::getWeight)
-                ));
-
-        logger.info("User recycled weights: {}", userRecycledWeights);
-
-        // Convert to DTOs and sort by total recycled weight
-        List<UserRankingDTO> rankings = userRecycledWeights.entrySet().stream()
-                .map(entry -> new UserRankingDTO(
-                        entry.getKey().getName(),
-                        entry.getValue()
-                ))
-                .sorted(Comparator.comparing(UserRankingDTO::getTotalRecycled).reversed())
-                .collect(Collectors.toList());
-
-        logger.info("User rankings: {}", rankings);
+        List<UserRankingDTO> rankings = wasteRepository.sumRecycledWeightByUser();
+        logger.debug("User rankings: {}", rankings);
         return rankings;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,194 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.WasteSubmissionItem;
+import com.reciclamais.waste_management.dto.WasteSubmissionReportDTO;
+import com.reciclamais.waste_management.dto.WasteSubmissionReportDTO.ItemResultDTO;
+import com.reciclamais.waste_management.dto.WasteSubmissionReportDTO.Status;
+import com.reciclamais.waste_management.exceptions.UserNotFoundException;
+import com.reciclamais.waste_management.exceptions.WasteValidationException;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.model.WasteSubmission;
+import com.reciclamais.waste_management.repository.WasteSubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serviço da API de envio em lote dos dispositivos de coleta.
+ *
+ * Cada item traz uma chave de idempotência gerada pelo dispositivo. Os itens
+ * são validados com as mesmas regras do cadastro ({@link WasteService#validateWaste});
+ * os válidos cujas chaves ainda não foram gravadas pelo usuário são inseridos
+ * juntos, em uma única transação ({@link WasteBatchWriter}). Reenvios de uma
+ * leitura já gravada são respondidos com o resíduo original, de forma que o
+ * dispositivo pode repetir o envio inteiro após uma falha de conexão.
+ */
+@Service
+public class WasteSubmissionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WasteSubmissionService.class);
+    private static final int KEY_LOOKUP_CHUNK = 500;
+
+    private final WasteService wasteService;
+    private final WasteBatchWriter batchWriter;
+    private final WasteSubmissionRepository submissionRepository;
+    private final UserCache userCache;
+    private final int maxItems;
+
+    public WasteSubmissionService(WasteService wasteService, WasteBatchWriter batchWriter,
+                                  WasteSubmissionRepository submissionRepository, UserCache userCache,
+                                  @Value("${waste.submission.max-items:1000}") int maxItems) {
+        this.wasteService = wasteService;
+        this.batchWriter = batchWriter;
+        this.submissionRepository = submissionRepository;
+        this.userCache = userCache;
+        this.maxItems = maxItems;
+        logger.info("WasteSubmissionService construído com sucesso");
+    }
+
+    /**
+     * Valida e grava um lote de leituras do usuário.
+     *
+     * @param items Leituras enviadas pelo dispositivo
+     * @param userEmail Email do usuário autenticado
+     * @return Situação de cada item, na ordem de envio
+     * @throws IllegalArgumentException Se o lote estiver vazio ou exceder {@code waste.submission.max-items}
+     * @throws UserNotFoundException Se o usuário não for encontrado
+     */
+    public WasteSubmissionReportDTO submit(List<WasteSubmissionItem> items, String userEmail) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos um item");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("O lote deve conter no máximo " + maxItems + " itens");
+        }
+        User user = userCache.findByEmail(userEmail)
+                .map(UserCache.CachedUser::toUser)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com o email: " + userEmail));
+
+        ItemResultDTO[] results = new ItemResultDTO[items.size()];
+        Waste[] wastes = new Waste[items.size()];
+        // Primeira ocorrência válida de cada chave; repetições no mesmo envio são resolvidas no final
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        List<Integer> repeated = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            WasteSubmissionItem item = items.get(i);
+            String key = item == null ? null : item.idempotencyKey();
+            try {
+                validateKey(key);
+                if (candidates.containsKey(key)) {
+                    repeated.add(i);
+                    continue;
+                }
+                wastes[i] = toWaste(item, user);
+                candidates.put(key, i);
+            } catch (WasteValidationException e) {
+                results[i] = new ItemResultDTO(i, key, Status.REJECTED, null, e.getMessage());
+            }
+        }
+
+        write(user, candidates, wastes, results);
+
+        for (int i : repeated) {
+            String key = items.get(i).idempotencyKey();
+            results[i] = new ItemResultDTO(i, key, Status.DUPLICATE, results[candidates.get(key)].getWasteId(), null);
+        }
+
+        WasteSubmissionReportDTO report = new WasteSubmissionReportDTO(
+                count(results, Status.CREATED), count(results, Status.DUPLICATE), count(results, Status.REJECTED),
+                Arrays.asList(results));
+        logger.info("Envio em lote de {}: {} gravados, {} repetidos, {} rejeitados", userEmail,
+                report.getCreated(), report.getDuplicates(), report.getRejected());
+        return report;
+    }
+
+    /**
+     * Grava os itens cujas chaves ainda não existem. Se um envio simultâneo com
+     * as mesmas chaves for gravado antes (violação da chave única), as chaves
+     * são consultadas novamente e a gravação é repetida uma vez.
+     */
+    private void write(User user, Map<String, Integer> candidates, Waste[] wastes, ItemResultDTO[] results) {
+        for (int attempt = 0; ; attempt++) {
+            Map<String, Long> known = findKnownKeys(user.getId(), List.copyOf(candidates.keySet()));
+            List<Waste> batch = new ArrayList<>(candidates.size());
+            List<String> keys = new ArrayList<>(candidates.size());
+            List<Integer> indexes = new ArrayList<>(candidates.size());
+            candidates.forEach((key, index) -> {
+                Long wasteId = known.get(key);
+                if (wasteId != null) {
+                    results[index] = new ItemResultDTO(index, key, Status.DUPLICATE, wasteId, null);
+                } else {
+                    batch.add(wastes[index]);
+                    keys.add(key);
+                    indexes.add(index);
+                }
+            });
+
+            try {
+                batchWriter.write(batch, keys);
+            } catch (DuplicateKeyException e) {
+                if (attempt > 0) {
+                    throw e;
+                }
+                logger.info("Chaves gravadas por um envio simultâneo, consultando novamente: {}", e.getMessage());
+                batch.forEach(waste -> waste.setId(null));
+                continue;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                int index = indexes.get(i);
+                results[index] = new ItemResultDTO(index, keys.get(i), Status.CREATED, batch.get(i).getId(), null);
+            }
+            return;
+        }
+    }
+
+    private Map<String, Long> findKnownKeys(Long userId, List<String> keys) {
+        Map<String, Long> known = new HashMap<>();
+        for (int start = 0; start < keys.size(); start += KEY_LOOKUP_CHUNK) {
+            List<String> chunk = keys.subList(start, Math.min(start + KEY_LOOKUP_CHUNK, keys.size()));
+            for (WasteSubmission submission : submissionRepository.findByUserIdAndIdempotencyKeyIn(userId, chunk)) {
+                known.put(submission.getIdempotencyKey(), submission.getWaste().getId());
+            }
+        }
+        return known;
+    }
+
+    private static void validateKey(String key) {
+        if (!StringUtils.hasText(key)) {
+            throw new WasteValidationException("Chave de idempotência é obrigatória");
+        }
+        if (key.length() > WasteSubmission.MAX_KEY_LENGTH) {
+            throw new WasteValidationException(
+                    "Chave de idempotência deve ter no máximo " + WasteSubmission.MAX_KEY_LENGTH + " caracteres");
+        }
+    }
+
+    private Waste toWaste(WasteSubmissionItem item, User user) {
+        Waste waste = new Waste();
+        waste.setUser(user);
+        waste.setType(WasteImportService.parseType(item.type()));
+        waste.setWeight(item.weight());
+        waste.setDate(item.date());
+        waste.setDescription(item.description());
+        waste.setRecycled(Boolean.TRUE.equals(item.recycled()));
+        wasteService.validateWaste(waste);
+        WasteImportService.validateDescriptionLength(waste);
+        return waste;
+    }
+
+    private static int count(ItemResultDTO[] results, Status status) {
+        return (int) Arrays.stream(results).filter(result -> result.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,57 @@
+-- Esquema inicial das entidades (H2). No H2 tb_waste não é particionada;
+-- o particionamento por mês existe apenas no PostgreSQL.
+
+CREATE SEQUENCE tb_users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tb_waste_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tb_users (
+    id BIGINT NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    type_user VARCHAR(10) CHECK (type_user IN ('ADMIN', 'USER')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_waste (
+    id BIGINT NOT NULL,
+    type ENUM ('ALUMINIO', 'COBRE', 'CONSTRUCAO', 'ELETRONICO', 'FERRO', 'HOSPITALAR', 'ORGANICO', 'PAPEL',
+               'PLASTICO', 'VIDRO') NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    date DATE NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    user_id BIGINT NOT NULL,
+    recycled BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_waste_user FOREIGN KEY (user_id) REFERENCES tb_users
+);
+
+CREATE INDEX idx_waste_date ON tb_waste (date, id);
+CREATE INDEX idx_waste_user_date ON tb_waste (user_id, date, id);
+
+CREATE TABLE tb_waste_monthly (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    period_year INTEGER NOT NULL,
+    period_month INTEGER NOT NULL,
+    type ENUM ('ALUMINIO', 'COBRE', 'CONSTRUCAO', 'ELETRONICO', 'FERRO', 'HOSPITALAR', 'ORGANICO', 'PAPEL',
+               'PLASTICO', 'VIDRO') NOT NULL,
+    user_id BIGINT NOT NULL,
+    total_weight FLOAT(53) NOT NULL,
+    recycled_weight FLOAT(53) NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_waste_monthly UNIQUE (period_year, period_month, type, user_id),
+    CONSTRAINT fk_waste_monthly_user FOREIGN KEY (user_id) REFERENCES tb_users
+);
+
+CREATE TABLE tb_waste_submission (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    waste_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_waste_submission UNIQUE (user_id, idempotency_key),
+    CONSTRAINT fk_waste_submission_user FOREIGN KEY (user_id) REFERENCES tb_users ON DELETE CASCADE,
+    CONSTRAINT fk_waste_submission_waste FOREIGN KEY (waste_id) REFERENCES tb_waste ON DELETE CASCADE
+);
@@ -0,0 +1,26 @@
+-- Esquema inicial (PostgreSQL): as tabelas criadas pelo Hibernate antes das
+-- migrações, com ids IDENTITY. Bancos já existentes recebem esta versão como
+-- base (spring.flyway.baseline-on-migrate) sem executá-la; tudo o que veio
+-- depois fica nas versões seguintes, escritas para valer nos dois casos.
+
+CREATE TABLE tb_users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    type_user VARCHAR(10) CHECK (type_user IN ('ADMIN', 'USER')),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE tb_waste (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('PLASTICO', 'ORGANICO', 'PAPEL', 'VIDRO', 'FERRO', 'ALUMINIO',
+                                               'COBRE', 'ELETRONICO', 'CONSTRUCAO', 'HOSPITALAR')),
+    weight FLOAT(53) NOT NULL,
+    date DATE NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    user_id BIGINT NOT NULL,
+    recycled BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_waste_user FOREIGN KEY (user_id) REFERENCES tb_users
+);
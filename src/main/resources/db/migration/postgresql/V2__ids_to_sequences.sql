@@ -0,0 +1,22 @@
+-- Migra os ids de tb_waste e tb_users de IDENTITY para sequências com
+-- incremento 50 (otimizador pooled-lo do Hibernate), preservando os ids
+-- existentes. Sequências já criadas pelo Hibernate são reaproveitadas.
+--
+-- Com pooled-lo, cada valor obtido da sequência é o primeiro id de um bloco
+-- de 50; por isso a sequência recomeça logo após o maior id existente. A
+-- sequência só é alterada se ainda não foi usada ou se está atrás dos ids
+-- existentes: blocos já reservados por instâncias em execução continuam válidos.
+
+ALTER TABLE tb_waste ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_waste ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS tb_waste_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE tb_waste_seq INCREMENT BY 50;
+SELECT setval('tb_waste_seq', COALESCE(MAX(id), 0) + 1, false) FROM tb_waste
+HAVING COALESCE(MAX(id), 0) >= (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM tb_waste_seq);
+
+ALTER TABLE tb_users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tb_users ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS tb_users_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE tb_users_seq INCREMENT BY 50;
+SELECT setval('tb_users_seq', COALESCE(MAX(id), 0) + 1, false) FROM tb_users
+HAVING COALESCE(MAX(id), 0) >= (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM tb_users_seq);
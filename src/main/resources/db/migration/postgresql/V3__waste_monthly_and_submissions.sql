@@ -0,0 +1,34 @@
+-- Totais mensais, chaves de idempotência dos envios e índices de consulta por
+-- período e por usuário. Bancos criados pelo Hibernate podem já ter alguns
+-- desses objetos; os que existirem são mantidos.
+
+CREATE TABLE IF NOT EXISTS tb_waste_monthly (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    period_year INTEGER NOT NULL,
+    period_month INTEGER NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('PLASTICO', 'ORGANICO', 'PAPEL', 'VIDRO', 'FERRO', 'ALUMINIO',
+                                               'COBRE', 'ELETRONICO', 'CONSTRUCAO', 'HOSPITALAR')),
+    user_id BIGINT NOT NULL,
+    total_weight FLOAT(53) NOT NULL,
+    recycled_weight FLOAT(53) NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_waste_monthly UNIQUE (period_year, period_month, type, user_id),
+    CONSTRAINT fk_waste_monthly_user FOREIGN KEY (user_id) REFERENCES tb_users
+);
+
+CREATE TABLE IF NOT EXISTS tb_waste_submission (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    waste_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_waste_submission UNIQUE (user_id, idempotency_key),
+    CONSTRAINT fk_waste_submission_user FOREIGN KEY (user_id) REFERENCES tb_users ON DELETE CASCADE,
+    CONSTRAINT fk_waste_submission_waste FOREIGN KEY (waste_id) REFERENCES tb_waste ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_waste_date ON tb_waste (date, id);
+CREATE INDEX IF NOT EXISTS idx_waste_user_date ON tb_waste (user_id, date, id);
+CREATE INDEX IF NOT EXISTS idx_waste_submission_waste ON tb_waste_submission (waste_id);
@@ -0,0 +1,90 @@
+-- Particiona tb_waste por mês (RANGE na coluna date).
+--
+-- Consultas filtradas por período (WasteService, exportação) leem apenas as
+-- partições dos meses pedidos, e meses antigos podem ser desanexados sem
+-- DELETE (retenção, ver WastePartitionMaintainer). Resíduos de meses sem
+-- partição caem em tb_waste_default e são movidos quando a partição do mês é
+-- criada.
+--
+-- Restrições do particionamento:
+-- - A chave primária inclui a coluna de partição: (id, date)
+-- - tb_waste_submission.waste_id não pode ter chave estrangeira para tb_waste
+--   (a chave única não é só id); os envios de um mês são removidos junto com a
+--   partição pela retenção
+--
+-- Os resíduos existentes são copiados para a nova tabela: em bases grandes,
+-- execute em uma janela de manutenção.
+
+-- Cria a partição de um mês; chamada aqui e periodicamente pela aplicação
+-- para os próximos meses. Retorna false se a partição já existe.
+CREATE OR REPLACE FUNCTION tb_waste_create_partition(month DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    first_day DATE := date_trunc('month', month)::DATE;
+    next_month DATE := (date_trunc('month', month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'tb_waste_p' || to_char(first_day, 'YYYYMM');
+BEGIN
+    -- Várias instâncias da aplicação podem criar a mesma partição ao mesmo tempo
+    PERFORM pg_advisory_xact_lock(hashtext('tb_waste_create_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE tb_waste INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    -- A partição padrão não pode conter linhas do mês anexado
+    EXECUTE format('WITH moved AS (DELETE FROM tb_waste_default WHERE date >= %L AND date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', first_day, next_month, partition_name);
+    EXECUTE format('ALTER TABLE tb_waste ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, first_day, next_month);
+    RETURN TRUE;
+END;
+$$;
+
+ALTER TABLE tb_waste RENAME TO tb_waste_unpartitioned;
+ALTER INDEX IF EXISTS idx_waste_date RENAME TO idx_waste_unpartitioned_date;
+ALTER INDEX IF EXISTS idx_waste_user_date RENAME TO idx_waste_unpartitioned_user_date;
+
+-- Chaves estrangeiras para a tabela antiga (criadas pela versão 3 ou pelo Hibernate)
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conname, conrelid::regclass AS referencing_table FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'tb_waste_unpartitioned'::regclass LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.referencing_table, fk.conname);
+    END LOOP;
+END;
+$$;
+
+CREATE TABLE tb_waste (
+    id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    weight FLOAT(53) NOT NULL,
+    date DATE NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    user_id BIGINT NOT NULL,
+    recycled BOOLEAN NOT NULL,
+    CONSTRAINT pk_waste PRIMARY KEY (id, date),
+    CONSTRAINT ck_waste_type CHECK (type IN ('PLASTICO', 'ORGANICO', 'PAPEL', 'VIDRO', 'FERRO', 'ALUMINIO',
+                                             'COBRE', 'ELETRONICO', 'CONSTRUCAO', 'HOSPITALAR')),
+    CONSTRAINT fk_waste_user FOREIGN KEY (user_id) REFERENCES tb_users
+) PARTITION BY RANGE (date);
+
+CREATE TABLE tb_waste_default PARTITION OF tb_waste DEFAULT;
+
+-- Meses dos resíduos existentes até três meses à frente
+SELECT tb_waste_create_partition(month::DATE)
+FROM generate_series(
+        date_trunc('month', COALESCE((SELECT MIN(date) FROM tb_waste_unpartitioned), CURRENT_DATE)),
+        date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+        INTERVAL '1 month') AS month;
+
+INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled)
+SELECT id, type, weight, date, description, user_id, recycled FROM tb_waste_unpartitioned;
+
+DROP TABLE tb_waste_unpartitioned;
+
+-- Índices criados após a cópia; valem para as partições atuais e futuras
+CREATE INDEX idx_waste_date ON tb_waste (date, id);
+CREATE INDEX idx_waste_user_date ON tb_waste (user_id, date, id);
+
+ANALYZE tb_waste;
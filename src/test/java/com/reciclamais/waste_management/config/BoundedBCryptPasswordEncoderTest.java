@@ -0,0 +1,86 @@
+package com.reciclamais.waste_management.config;
+
+import com.reciclamais.waste_management.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o hash de senhas no pool limitado: métricas, recusa por sobrecarga
+ * e detecção de hashes com custo diferente do configurado.
+ */
+class BoundedBCryptPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BoundedBCryptPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void hashesOnPoolAndRecordsLatency() {
+        encoder = new BoundedBCryptPasswordEncoder(4, 1, 1, Duration.ofSeconds(10), registry);
+
+        String hash = encoder.encode("senha123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("senha123", hash));
+        assertFalse(encoder.matches("outra", hash));
+        assertEquals(1, registry.get("reciclamais.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("reciclamais.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradesWhenCostDiffers() {
+        encoder = new BoundedBCryptPasswordEncoder(6, 1, 1, Duration.ofSeconds(10), registry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("senha")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha")));
+        assertFalse(encoder.upgradeEncoding("{noop}senha"));
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        // Um hash lento ocupa a única thread e outro ocupa a única vaga da fila
+        encoder = new BoundedBCryptPasswordEncoder(13, 1, 1, Duration.ofMinutes(1), registry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(2);
+            Future<String> running = callers.submit(() -> {
+                started.countDown();
+                return encoder.encode("primeira");
+            });
+            Future<String> queued = callers.submit(() -> {
+                started.countDown();
+                return encoder.encode("segunda");
+            });
+            started.await();
+            while (registry.get("reciclamais.password.hash.queued").gauge().value() < 1) {
+                Thread.sleep(10);
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("terceira"));
+            assertEquals(1, registry.get("reciclamais.password.hash.rejected").counter().count());
+            BCryptPasswordEncoder plain = new BCryptPasswordEncoder();
+            assertTrue(plain.matches("primeira", running.get()));
+            assertTrue(plain.matches("segunda", queued.get()));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
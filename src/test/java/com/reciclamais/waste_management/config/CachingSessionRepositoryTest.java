@@ -0,0 +1,145 @@
+package com.reciclamais.waste_management.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o cache de sessões com duas instâncias da aplicação sobre o mesmo
+ * banco: último acesso agrupado, alterações e remoções vistas pela outra
+ * instância através da versão e limpeza em lotes.
+ */
+@SpringBootTest
+class CachingSessionRepositoryTest {
+
+    @Autowired
+    private JdbcIndexedSessionRepository jdbcSessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("springSessionConversionService")
+    private ConversionService conversionService;
+
+    private CachingSessionRepository instanceA;
+    private CachingSessionRepository instanceB;
+
+    @BeforeEach
+    void setUp() {
+        instanceA = repository(2);
+        instanceB = repository(2);
+    }
+
+    @Test
+    void coalescesLastAccessWithinFlushInterval() {
+        CachingSessionRepository.CachedSession session = instanceA.createSession();
+        session.setAttribute("tema", "escuro");
+        instanceA.save(session);
+        long stored = lastAccess(session.getId());
+
+        for (int i = 1; i <= 5; i++) {
+            CachingSessionRepository.CachedSession found = instanceA.findById(session.getId());
+            found.setLastAccessedTime(Instant.ofEpochMilli(stored).plusSeconds(i));
+            instanceA.save(found);
+        }
+
+        assertEquals(stored, lastAccess(session.getId()));
+        CachingSessionRepository.Stats stats = instanceA.getStats();
+        assertEquals(5, stats.hits());
+        assertEquals(5, stats.coalesced());
+        assertEquals(0, stats.flushes());
+
+        CachingSessionRepository.CachedSession found = instanceA.findById(session.getId());
+        found.setLastAccessedTime(Instant.ofEpochMilli(stored).plus(Duration.ofMinutes(2)));
+        instanceA.save(found);
+
+        assertEquals(stored + Duration.ofMinutes(2).toMillis(), lastAccess(session.getId()));
+        assertEquals(1, instanceA.getStats().flushes());
+    }
+
+    @Test
+    void seesChangesFromOtherInstanceThroughVersion() {
+        CachingSessionRepository.CachedSession session = instanceA.createSession();
+        session.setAttribute("tema", "escuro");
+        instanceA.save(session);
+        assertEquals("escuro", instanceA.findById(session.getId()).getAttribute("tema"));
+
+        CachingSessionRepository.CachedSession onB = instanceB.findById(session.getId());
+        onB.setAttribute("tema", "claro");
+        onB.setAttribute("idioma", "pt-BR");
+        instanceB.save(onB);
+
+        CachingSessionRepository.CachedSession onA = instanceA.findById(session.getId());
+        assertEquals("claro", onA.getAttribute("tema"));
+        assertEquals("pt-BR", onA.getAttribute("idioma"));
+        assertEquals(1, instanceA.getStats().stale());
+    }
+
+    @Test
+    void seesDeletionFromOtherInstance() {
+        CachingSessionRepository.CachedSession session = instanceA.createSession();
+        session.setAttribute("tema", "escuro");
+        instanceA.save(session);
+        assertNotNull(instanceA.findById(session.getId()));
+
+        instanceB.deleteById(session.getId());
+
+        assertNull(instanceA.findById(session.getId()));
+    }
+
+    @Test
+    void cleansUpExpiredSessionsInBatches() {
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CachingSessionRepository.CachedSession session = instanceA.createSession();
+            session.setLastAccessedTime(Instant.now().minus(Duration.ofHours(1)));
+            session.setMaxInactiveInterval(Duration.ofMinutes(30));
+            instanceA.save(session);
+            expired.add(session.getId());
+        }
+        // Expirada há menos que o intervalo de gravação do último acesso: ainda pode estar em uso
+        CachingSessionRepository.CachedSession recent = instanceA.createSession();
+        recent.setLastAccessedTime(Instant.now().minus(Duration.ofMinutes(30)).minusSeconds(10));
+        recent.setMaxInactiveInterval(Duration.ofMinutes(30));
+        instanceA.save(recent);
+
+        assertTrue(instanceB.cleanUpExpiredSessions() >= expired.size());
+
+        for (String id : expired) {
+            assertNull(instanceA.findById(id));
+        }
+        assertNotNull(instanceA.findById(recent.getId()));
+    }
+
+    private CachingSessionRepository repository(int cleanupBatchSize) {
+        return new CachingSessionRepository(jdbcSessionRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), conversionService,
+                Duration.ofSeconds(60), cleanupBatchSize, 100);
+    }
+
+    private long lastAccess(String id) {
+        return jdbcTemplate.queryForObject("SELECT LAST_ACCESS_TIME FROM SPRING_SESSION WHERE SESSION_ID = ?",
+                Long.class, id);
+    }
+}
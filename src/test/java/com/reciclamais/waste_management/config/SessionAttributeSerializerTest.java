@@ -0,0 +1,89 @@
+package com.reciclamais.waste_management.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.servlet.FlashMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a serialização compacta dos atributos de sessão: ida e volta dos
+ * tipos em JSON e dos demais pela serialização Java, leitura dos valores já
+ * gravados no formato padrão e tamanho menor que o da serialização Java.
+ */
+class SessionAttributeSerializerTest {
+
+    private final SessionAttributeSerializer compact = new SessionAttributeSerializer(
+            SessionAttributeSerializer.Format.COMPACT, 512, getClass().getClassLoader());
+
+    @Test
+    void roundTripsSecurityContextAsJson() throws IOException {
+        SecurityContextImpl context = securityContext();
+
+        byte[] bytes = compact.serializeToByteArray(context);
+        SecurityContextImpl read = (SecurityContextImpl) compact.deserializeFromByteArray(bytes);
+
+        assertEquals(context.getAuthentication(), read.getAuthentication());
+        assertEquals(context.getAuthentication().getDetails(), read.getAuthentication().getDetails());
+        assertTrue(read.getAuthentication().isAuthenticated());
+        byte[] java = new DefaultSerializer().serializeToByteArray(context);
+        assertTrue(bytes.length < java.length / 2, bytes.length + " bytes, Java: " + java.length);
+    }
+
+    @Test
+    void fallsBackToJavaSerializationForOtherTypes() throws IOException {
+        DefaultCsrfToken token = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "6f1b2c3d");
+        FlashMap flashMap = new FlashMap();
+        flashMap.put("message", "Resíduo registrado com sucesso!");
+        flashMap.setTargetRequestPath("/waste/register");
+        ArrayList<FlashMap> flashMaps = new ArrayList<>(List.of(flashMap));
+
+        DefaultCsrfToken readToken = (DefaultCsrfToken) compact.deserializeFromByteArray(compact.serializeToByteArray(token));
+        @SuppressWarnings("unchecked")
+        List<FlashMap> readFlashMaps = (List<FlashMap>) compact.deserializeFromByteArray(
+                compact.serializeToByteArray(flashMaps));
+
+        assertEquals(token.getToken(), readToken.getToken());
+        assertEquals(token.getHeaderName(), readToken.getHeaderName());
+        assertEquals(flashMaps, readFlashMaps);
+        assertEquals("/waste/register", readFlashMaps.get(0).getTargetRequestPath());
+    }
+
+    @Test
+    void readsValuesWrittenWithJavaSerialization() throws IOException {
+        SecurityContextImpl context = securityContext();
+        byte[] legacy = new DefaultSerializer().serializeToByteArray(context);
+        SessionAttributeSerializer java = new SessionAttributeSerializer(
+                SessionAttributeSerializer.Format.JAVA, 512, getClass().getClassLoader());
+
+        SecurityContextImpl read = (SecurityContextImpl) compact.deserializeFromByteArray(legacy);
+        SecurityContextImpl readBack = (SecurityContextImpl) java.deserializeFromByteArray(
+                compact.serializeToByteArray(context));
+
+        assertEquals(context.getAuthentication(), read.getAuthentication());
+        assertEquals(context.getAuthentication(), readBack.getAuthentication());
+    }
+
+    private static SecurityContextImpl securityContext() {
+        UserDetails user = User.withUsername("maria@example.com")
+                .password("")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"))
+                .build();
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails("127.0.0.1", "9b2d1e6a-3c4f-4a7e-8d1b-2f5c6a7b8c9d"));
+        return new SecurityContextImpl(authentication);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reciclamais.waste_management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica o acesso à API de análises: previsão por tipo pública e previsão
+ * por usuário restrita a administradores.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void typeForecastIsPublic() throws Exception {
+        mockMvc.perform(get("/api/analytics/forecast/types"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userForecastRejectsAnonymousVisitors() throws Exception {
+        mockMvc.perform(get("/api/analytics/forecast/users"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "usuario@example.com")
+    void userForecastRejectsRegularUsers() throws Exception {
+        mockMvc.perform(get("/api/analytics/forecast/users"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+    void userForecastIsAvailableToAdministrators() throws Exception {
+        mockMvc.perform(get("/api/analytics/forecast/users"))
+                .andExpect(status().isOk());
+    }
+}
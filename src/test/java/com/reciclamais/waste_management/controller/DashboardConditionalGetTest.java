@@ -0,0 +1,211 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.service.UserCache;
+import com.reciclamais.waste_management.service.WasteDataVersion;
+import com.reciclamais.waste_management.service.WasteService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.thymeleaf.ITemplateEngine;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica as respostas condicionais e o cache de fragmentos do dashboard
+ * (idiomas suportados e limite de tamanho) e da API de análises.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class DashboardConditionalGetTest {
+
+    private static final String EMAIL = "quiosque@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private RenderedFragmentCache fragmentCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private WasteDataVersion dataVersion;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userRepository.save(new User(null, "Quiosque", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void unchangedDataAnswersNotModifiedWithoutQueries() throws Exception {
+        String eTag = mockMvc.perform(get("/api/analytics/forecast/types"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/analytics/forecast/types").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/dashboard/widgets/ranking")
+                        .header("HX-Request", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void savingWasteChangesTheETag() throws Exception {
+        MvcResult widget = mockMvc.perform(get("/dashboard/widgets/summary").header("HX-Request", "true"))
+                .andReturn();
+        String eTag = mockMvc.perform(asyncDispatch(widget))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        wasteService.save(new Waste(null, Type.ALUMINIO, 4.0, LocalDate.now(), "Latas de alumínio prensadas", null, true),
+                EMAIL);
+
+        MvcResult changed = mockMvc.perform(get("/dashboard/widgets/summary")
+                        .header("HX-Request", "true")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andReturn();
+        String newETag = mockMvc.perform(asyncDispatch(changed))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    void renderedWidgetsAreServedFromCacheUntilNewWaste() throws Exception {
+        String first = renderWidget("ranking");
+        RenderedFragmentCache.Stats before = fragmentCache.getStats();
+
+        assertEquals(first, renderWidget("ranking"));
+        assertEquals(before.hits() + 1, fragmentCache.getStats().hits());
+
+        wasteService.save(new Waste(null, Type.PAPEL, 7.5, LocalDate.now(), "Caixas de papelão desmontadas", null, true),
+                EMAIL);
+        assertTrue(renderWidget("ranking").contains("Quiosque"));
+        assertEquals(before.misses() + 1, fragmentCache.getStats().misses());
+    }
+
+    @Test
+    void dashboardPageIsConditionalForAnonymousVisitors() throws Exception {
+        String eTag = mockMvc.perform(get("/dashboard"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/dashboard").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void acceptLanguageIsReducedToSupportedLocales() throws Exception {
+        // Esvazia o cache
+        wasteService.save(new Waste(null, Type.VIDRO, 3.0, LocalDate.now(), "Garrafas de vidro separadas", null, true),
+                EMAIL);
+
+        String portuguese = renderWidget("ranking", "pt-BR");
+        for (String language : new String[]{"de-DE", "fr", "ja", "pt-PT", "zz-ZZ", "en-GB", "en", "en-US"}) {
+            renderWidget("ranking", language);
+        }
+        assertEquals(2, fragmentCache.getStats().size());
+        assertEquals(portuguese, renderWidget("ranking", "de-DE"));
+        assertEquals(Locale.forLanguageTag("en-US"), fragmentCache.supportedLocale(Locale.UK));
+        assertEquals(Locale.forLanguageTag("pt-BR"), fragmentCache.supportedLocale(Locale.JAPANESE));
+    }
+
+    @Test
+    void fragmentCacheIsCappedAtMaxEntries() {
+        RenderedFragmentCache capped = new RenderedFragmentCache(templateEngine, dataVersion,
+                List.of("pt-BR", "en-US"), 2);
+        Map<String, Object> summary = Map.of("totalWaste", "1.0", "wasteRecycled", "1.0", "recyclingRate", "100.0");
+        for (Locale locale : List.of(Locale.forLanguageTag("pt-BR"), Locale.US)) {
+            for (boolean authenticated : new boolean[]{false, true}) {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.addPreferredLocale(locale);
+                if (authenticated) {
+                    request.setUserPrincipal(() -> EMAIL);
+                }
+                assertTrue(capped.render("summary", new ServletWebRequest(request),
+                        () -> CompletableFuture.completedFuture(summary)).join().contains("100.0"));
+                assertTrue(capped.getStats().size() <= 2, "tamanho " + capped.getStats().size());
+            }
+        }
+        assertEquals(4, capped.getStats().misses());
+    }
+
+    private String renderWidget(String widget) throws Exception {
+        return renderWidget(widget, "pt-BR");
+    }
+
+    private String renderWidget(String widget, String language) throws Exception {
+        MvcResult result = mockMvc.perform(get("/dashboard/widgets/" + widget)
+                        .header("HX-Request", "true")
+                        .header(HttpHeaders.ACCEPT_LANGUAGE, language))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
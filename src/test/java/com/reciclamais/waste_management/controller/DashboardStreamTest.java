@@ -0,0 +1,242 @@
+package com.reciclamais.waste_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reciclamais.waste_management.config.AppThreads;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.service.DashboardStreamService;
+import com.reciclamais.waste_management.service.UserCache;
+import com.reciclamais.waste_management.service.WasteAnalytics;
+import com.reciclamais.waste_management.service.WasteDataVersion;
+import com.reciclamais.waste_management.service.WasteRollupService;
+import com.reciclamais.waste_management.service.WasteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Verifica que o stream do dashboard agrupa rajadas de gravações em um único
+ * evento, respeita o limite de assinantes com inscrições simultâneas, libera a
+ * vaga quando o estado inicial falha e reaproveita o último estado calculado.
+ */
+@SpringBootTest(properties = "waste.dashboard.stream.interval=PT1H")
+@AutoConfigureMockMvc
+class DashboardStreamTest {
+
+    private static final String EMAIL = "painel@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DashboardStreamService streamService;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteDataVersion dataVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AppThreads threads;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private WasteRollupService rollupService;
+
+    @Autowired
+    private WasteAnalytics analytics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Painel", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void burstOfSavesIsCoalescedIntoOneEvent() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/dashboard/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+        assertTrue(response.getContentAsString().contains("event:dashboard-snapshot"));
+
+        for (int i = 0; i < 5; i++) {
+            wasteService.save(new Waste(null, Type.PAPEL, 2.0, LocalDate.now(), "Coleta do painel " + i,
+                    null, true), EMAIL);
+        }
+        streamService.publishUpdates();
+        streamService.publishUpdates();
+
+        String content = awaitContent(response, "event:dashboard-updated");
+        assertEquals(1, content.split("event:dashboard-updated", -1).length - 1);
+        assertTrue(content.contains("\"totalWaste\":10.0"), content);
+        assertTrue(content.contains("\"ranking\":[{"), content);
+    }
+
+    @Test
+    void concurrentSubscriptionsRespectTheLimit() throws Exception {
+        DashboardStreamService limited = new DashboardStreamService(wasteService, dataVersion, objectMapper, threads,
+                Duration.ofMinutes(30), Duration.ofSeconds(30), 5, 2);
+        try {
+            int attempts = 20;
+            CyclicBarrier start = new CyclicBarrier(attempts);
+            ConcurrentLinkedQueue<SseEmitter> accepted = new ConcurrentLinkedQueue<>();
+            List<CompletableFuture<Void>> subscriptions = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                subscriptions.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await(10, TimeUnit.SECONDS);
+                        accepted.add(limited.subscribe());
+                    } catch (RejectedExecutionException e) {
+                        // Limite atingido
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+            }
+            CompletableFuture.allOf(subscriptions.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertEquals(5, accepted.size());
+            assertEquals(5, limited.getSubscriberCount());
+
+            // Conexões encerradas liberam a vaga quando o próximo envio falha
+            accepted.poll().complete();
+            accepted.poll().complete();
+            limited.onWasteRecorded(new WasteRecordedEvent(List.of()));
+            limited.publishUpdates();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (limited.getSubscriberCount() > 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(3, limited.getSubscriberCount());
+
+            limited.subscribe();
+            limited.subscribe();
+            assertThrows(RejectedExecutionException.class, limited::subscribe);
+            assertEquals(5, limited.getSubscriberCount());
+        } finally {
+            limited.shutdown();
+        }
+        assertEquals(0, limited.getSubscriberCount());
+    }
+
+    @Test
+    void failedSnapshotReleasesTheSlotAndSnapshotIsReused() {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger snapshots = new AtomicInteger();
+        DashboardStreamService limited = new DashboardStreamService(countingWasteService(failing, snapshots),
+                dataVersion, objectMapper, threads, Duration.ofMinutes(30), Duration.ofSeconds(30), 3, 2);
+        try {
+            // Falhas no cálculo do estado inicial não consomem vagas
+            for (int i = 0; i < 5; i++) {
+                assertThrows(DataAccessResourceFailureException.class, limited::subscribe);
+            }
+            assertEquals(0, limited.getSubscriberCount());
+
+            failing.set(false);
+            limited.subscribe();
+            limited.subscribe();
+            assertEquals(2, limited.getSubscriberCount());
+            assertEquals(1, snapshots.get());
+
+            // Após uma gravação, o estado do envio é reaproveitado pelo próximo assinante
+            wasteService.save(new Waste(null, Type.VIDRO, 1.0, LocalDate.now(), "Coleta do painel novo",
+                    null, true), EMAIL);
+            limited.onWasteRecorded(new WasteRecordedEvent(List.of()));
+            limited.publishUpdates();
+            assertEquals(2, snapshots.get());
+            limited.subscribe();
+            assertEquals(2, snapshots.get());
+            assertEquals(3, limited.getSubscriberCount());
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    /**
+     * WasteService cujas análises contam os cálculos do total (um por estado
+     * do dashboard) e falham como um banco indisponível enquanto {@code failing}.
+     */
+    private WasteService countingWasteService(AtomicBoolean failing, AtomicInteger snapshots) {
+        WasteAnalytics counting = (WasteAnalytics) Proxy.newProxyInstance(WasteAnalytics.class.getClassLoader(),
+                new Class<?>[]{WasteAnalytics.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getTotalWeight")) {
+                        if (failing.get()) {
+                            throw new DataAccessResourceFailureException("Banco indisponível");
+                        }
+                        snapshots.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(analytics, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return new WasteService(wasteRepository, userCache, rollupService, counting, eventPublisher);
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return response.getContentAsString();
+    }
+}
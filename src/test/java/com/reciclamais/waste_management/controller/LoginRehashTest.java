@@ -0,0 +1,56 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.service.UserCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+
+/**
+ * Verifica que o login regrava o hash da senha quando o custo do BCrypt
+ * configurado é diferente do armazenado.
+ */
+@SpringBootTest(properties = "security.password.bcrypt-strength=5")
+@AutoConfigureMockMvc
+class LoginRehashTest {
+
+    private static final String EMAIL = "rehash@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        userCache.invalidate(EMAIL);
+    }
+
+    @Test
+    void loginRehashesPasswordWithConfiguredCost() throws Exception {
+        String oldHash = new BCryptPasswordEncoder(4).encode("senha123");
+        userRepository.save(new User(null, "Rehash", EMAIL, oldHash, TypeUser.USER));
+
+        mockMvc.perform(formLogin().user(EMAIL).password("senha123"))
+                .andExpect(authenticated());
+
+        String newHash = userRepository.findByEmail(EMAIL).orElseThrow().getPassword();
+        assertTrue(newHash.startsWith("$2a$05$"), newHash);
+        assertTrue(new BCryptPasswordEncoder().matches("senha123", newHash));
+    }
+}
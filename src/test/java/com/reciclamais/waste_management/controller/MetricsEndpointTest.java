@@ -0,0 +1,83 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.config.CachingSessionRepository;
+import com.reciclamais.waste_management.config.CachingSessionRepository.CachedSession;
+import com.reciclamais.waste_management.service.ForecastService;
+import com.reciclamais.waste_management.service.WasteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que as métricas dos serviços, do repositório de sessões, do pool de
+ * conexões, do Hibernate e dos caches são expostas em formato Prometheus na
+ * porta de gerenciamento.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private CachingSessionRepository sessionRepository;
+
+    @Test
+    void prometheusExposesApplicationMetrics() {
+        wasteService.getWasteByType();
+        forecastService.predictNextMonthWaste();
+        CachedSession session = sessionRepository.createSession();
+        sessionRepository.save(session);
+        sessionRepository.findById(session.getId());
+        sessionRepository.deleteById(session.getId());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url("/actuator/prometheus"), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertTrue(body.contains("reciclamais_service_seconds_count{class=\"com.reciclamais.waste_management.service.WasteService\""),
+                "timer dos serviços");
+        assertTrue(body.contains("method=\"predictNextMonthWaste\""), "método do ForecastService");
+        assertTrue(body.contains("spring_data_repository_invocations_seconds"), "consultas dos repositórios");
+        assertTrue(body.contains("hikaricp_connections_active"), "pool de conexões");
+        assertTrue(body.contains("hibernate_query_executions_total"), "estatísticas do Hibernate");
+        assertTrue(body.contains("reciclamais_user_cache_hits_total"), "cache de usuários");
+        for (String operation : new String[]{"save", "findById", "deleteById"}) {
+            assertTrue(body.contains("spring_session_store_seconds_count{exception=\"none\",operation=\"" + operation + "\""),
+                    "repositório de sessões: " + operation);
+        }
+        assertTrue(body.contains("reciclamais_ingestion_pending"), "fila de gravação");
+        assertTrue(body.contains("reciclamais_dashboard_stream_subscribers"), "stream do dashboard");
+    }
+
+    @Test
+    void otherEndpointsRequireAdmin() {
+        ResponseEntity<String> response = restTemplate.getForEntity(url("/actuator/metrics"), String.class);
+
+        assertEquals(HttpStatus.FOUND, response.getStatusCode());
+        assertTrue(response.getHeaders().getLocation().getPath().endsWith("/login"));
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + managementPort + path;
+    }
+}
@@ -0,0 +1,7 @@
+package com.reciclamais.waste_management.controller;
+
+/**
+ * Carga HTTP com as threads de plataforma do Tomcat (configuração padrão).
+ */
+class PlatformThreadsLoadBenchmark extends RequestLoadBenchmark {
+}
@@ -0,0 +1,295 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.dto.DataGenerationRequest;
+import com.reciclamais.waste_management.service.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Carga HTTP sobre o servidor real: {@link #CLIENTS} usuários fazem login
+ * (BCrypt) e repetem, durante {@link #MEASUREMENT}, a abertura do dashboard
+ * (página e os quatro widgets) e o registro de um resíduo pelo formulário.
+ *
+ * Há mais clientes que threads do Tomcat (200), para comparar as threads de
+ * plataforma ({@link PlatformThreadsLoadBenchmark}) com as virtuais
+ * ({@link VirtualThreadsLoadBenchmark}, Java 21). Imprime vazão e latências
+ * (p50, p99 e máxima) por operação.
+ *
+ * Não faz parte da suíte de testes; execute com
+ * {@code gradle benchmark --tests '*LoadBenchmark' -PjavaVersion=21}.
+ */
+@Tag("benchmark")
+@DirtiesContext
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.reciclamais.waste_management=WARN"
+})
+abstract class RequestLoadBenchmark {
+
+    static final String PASSWORD = "carga-http";
+
+    private static final int CLIENTS = 400;
+    private static final int WASTES = 100_000;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+    private static final List<String> WIDGETS = List.of("summary", "forecast", "types", "ranking");
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        DataGenerationRequest request = new DataGenerationRequest();
+        request.setSeed(7L);
+        request.setUsers(CLIENTS);
+        request.setWastes(WASTES);
+        request.setEndMonth(YearMonth.now().minusMonths(1));
+        request.setEmailPrefix("carga-http");
+        request.setPassword(PASSWORD);
+        generator.generate(request);
+    }
+
+    @Test
+    void dashboardAndRegisterUnderLoad() throws Exception {
+        String mode = virtualThreads ? "threads virtuais" : "threads de plataforma";
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Client> logged = login(clients);
+            run(mode + " (aquecimento)", clients, logged, WARMUP);
+            Map<String, Latencies> measured = run(mode, clients, logged, MEASUREMENT);
+            if (firstError.get() != null) {
+                System.out.println("  primeiro erro: " + firstError.get());
+            }
+            assertTrue(measured.get("register").count() > 0, "Nenhum resíduo registrado");
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private List<Client> login(ExecutorService clients) throws Exception {
+        List<Client> logged = new ArrayList<>();
+        Latencies latencies = new Latencies();
+        long start = System.nanoTime();
+        List<Future<Client>> futures = new ArrayList<>();
+        for (int i = 1; i <= CLIENTS; i++) {
+            String email = "carga-http-" + i + "@example.com";
+            futures.add(clients.submit(() -> {
+                Client client = new Client();
+                String csrf = client.csrf("/login");
+                long begin = System.nanoTime();
+                HttpResponse<String> response = client.post("/login",
+                        Map.of("username", email, "password", PASSWORD, "_csrf", csrf));
+                latencies.record(System.nanoTime() - begin);
+                if (response.statusCode() != 302 || response.headers().firstValue("Location").orElse("").contains("error")) {
+                    throw new IllegalStateException("Login falhou para " + email + ": " + response.statusCode());
+                }
+                return client;
+            }));
+        }
+        for (Future<Client> future : futures) {
+            logged.add(future.get());
+        }
+        System.out.printf("Login de %d usuários em %d ms (p50 %d ms, p99 %d ms)%n", CLIENTS,
+                (System.nanoTime() - start) / 1_000_000, latencies.percentile(50), latencies.percentile(99));
+        return logged;
+    }
+
+    private Map<String, Latencies> run(String mode, ExecutorService clients, List<Client> logged, Duration duration)
+            throws InterruptedException {
+        Map<String, Latencies> latencies = new LinkedHashMap<>();
+        latencies.put("dashboard", new Latencies());
+        latencies.put("register", new Latencies());
+        latencies.put("errors", new Latencies());
+        AtomicBoolean running = new AtomicBoolean(true);
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(logged.size());
+        for (Client client : logged) {
+            clients.execute(() -> {
+                try {
+                    while (running.get()) {
+                        client.iteration(latencies);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        done.await(2, TimeUnit.MINUTES);
+        // As operações em andamento no fim também contam: a vazão usa o tempo até a última terminar
+        report(mode, latencies, Duration.ofNanos(System.nanoTime() - start));
+        return latencies;
+    }
+
+    private static void report(String mode, Map<String, Latencies> latencies, Duration elapsed) {
+        System.out.printf("== %s: %d clientes, %d s ==%n", mode, CLIENTS, elapsed.toSeconds());
+        latencies.forEach((operation, values) -> {
+            if (operation.equals("errors")) {
+                System.out.printf("  erros: %d%n", values.count());
+            } else {
+                System.out.printf("  %-9s %7.1f op/s  p50 %5d ms  p99 %5d ms  máx %5d ms%n", operation,
+                        values.count() * 1000.0 / elapsed.toMillis(),
+                        values.percentile(50), values.percentile(99), values.percentile(100));
+            }
+        });
+    }
+
+    /**
+     * Usuário logado: guarda o cookie de sessão e executa uma iteração da carga.
+     */
+    private final class Client {
+        private volatile String cookie;
+
+        private void iteration(Map<String, Latencies> latencies) {
+            try {
+                long begin = System.nanoTime();
+                expect(get("/dashboard", false), 200);
+                for (String widget : WIDGETS) {
+                    expect(get("/dashboard/widgets/" + widget, true), 200);
+                }
+                latencies.get("dashboard").record(System.nanoTime() - begin);
+
+                begin = System.nanoTime();
+                String csrf = csrf("/waste/register");
+                HttpResponse<String> response = post("/waste/register", Map.of(
+                        "type", "PAPEL",
+                        "weight", "2.5",
+                        "date", LocalDate.now().toString(),
+                        "description", "Coleta do teste de carga",
+                        "recycled", "true",
+                        "_csrf", csrf));
+                expect(response, 302);
+                latencies.get("register").record(System.nanoTime() - begin);
+            } catch (Exception e) {
+                firstError.compareAndSet(null, e.toString());
+                latencies.get("errors").record(0);
+            }
+        }
+
+        private String csrf(String path) throws Exception {
+            HttpResponse<String> response = expect(get(path, false), 200);
+            Matcher matcher = CSRF.matcher(response.body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Token CSRF não encontrado em " + path);
+            }
+            return matcher.group(1);
+        }
+
+        private HttpResponse<String> get(String path, boolean htmx) throws Exception {
+            HttpRequest.Builder request = request(path).GET();
+            if (htmx) {
+                request.header("HX-Request", "true");
+            }
+            return send(request);
+        }
+
+        private HttpResponse<String> post(String path, Map<String, String> form) throws Exception {
+            String body = form.entrySet().stream()
+                    .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&"));
+            return send(request(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(60));
+            if (cookie != null) {
+                request.header("Cookie", cookie);
+            }
+            return request;
+        }
+
+        private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            response.headers().firstValue("Set-Cookie")
+                    .map(value -> value.split(";", 2)[0])
+                    .ifPresent(value -> cookie = value);
+            return response;
+        }
+
+        private HttpResponse<String> expect(HttpResponse<String> response, int status) {
+            if (response.statusCode() != status) {
+                throw new IllegalStateException(response.request().uri() + ": " + response.statusCode());
+            }
+            return response;
+        }
+    }
+
+    /** Latências registradas por várias threads. */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        /** Percentil em milissegundos. */
+        synchronized long percentile(int percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int index = Math.min(size - 1, (int) Math.ceil(percentile / 100.0 * size) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000;
+        }
+    }
+}
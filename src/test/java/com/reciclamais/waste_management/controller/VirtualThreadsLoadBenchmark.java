@@ -0,0 +1,14 @@
+package com.reciclamais.waste_management.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Carga HTTP no perfil virtual-threads: requisições em threads virtuais e
+ * acesso ao banco limitado pelo semáforo do tamanho do pool.
+ */
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadBenchmark extends RequestLoadBenchmark {
+}
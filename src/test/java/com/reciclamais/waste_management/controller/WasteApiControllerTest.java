@@ -0,0 +1,47 @@
+package com.reciclamais.waste_management.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica o acesso ao histórico de resíduos por período: restrito a
+ * administradores, como a exportação dos resíduos de outros usuários.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WasteApiControllerTest {
+
+    private static final String PERIOD = "/api/waste?start=2024-01-01&end=2024-12-31";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void periodHistoryRejectsAnonymousVisitors() throws Exception {
+        mockMvc.perform(get(PERIOD))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "usuario@example.com")
+    void periodHistoryRejectsRegularUsers() throws Exception {
+        mockMvc.perform(get(PERIOD))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+    void periodHistoryIsAvailableToAdministrators() throws Exception {
+        mockMvc.perform(get(PERIOD))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+    }
+}
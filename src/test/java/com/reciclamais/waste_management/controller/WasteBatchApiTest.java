@@ -0,0 +1,143 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.repository.WasteSubmissionRepository;
+import com.reciclamais.waste_management.service.UserCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica o envio em lote com chaves de idempotência e a rejeição de pesos
+ * não finitos por item.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(username = WasteBatchApiTest.EMAIL)
+class WasteBatchApiTest {
+
+    static final String EMAIL = "balanca@example.com";
+
+    private static final String BATCH = """
+            [
+              {"idempotencyKey": "leitura-1", "type": "PAPEL", "weight": 2.5, "date": "2024-03-01",
+               "description": "Papelão da coleta da manhã", "recycled": true},
+              {"idempotencyKey": "leitura-2", "type": "METAL", "weight": 1.0, "date": "2024-03-01",
+               "description": "Tipo desconhecido pela aplicação"},
+              {"idempotencyKey": "leitura-3", "type": "vidro", "weight": 4.0, "date": "2024-03-02",
+               "description": "Garrafas da coleta da tarde"},
+              {"idempotencyKey": "leitura-1", "type": "PAPEL", "weight": 2.5, "date": "2024-03-01",
+               "description": "Papelão da coleta da manhã", "recycled": true}
+            ]
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private WasteSubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Balança", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        submissionRepository.deleteAllInBatch();
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void retriedUploadDoesNotDuplicateReadings() throws Exception {
+        send().andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.duplicates").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].error").value("Tipo de resíduo inválido: METAL"))
+                .andExpect(jsonPath("$.items[2].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[3].status").value("DUPLICATE"));
+
+        send().andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.duplicates").value(3))
+                .andExpect(jsonPath("$.rejected").value(1));
+
+        assertEquals(2, wasteRepository.count());
+        assertEquals(2, submissionRepository.count());
+    }
+
+    @Test
+    void nonFiniteWeightsAreRejectedPerItem() throws Exception {
+        send("""
+                [
+                  {"idempotencyKey": "nan", "type": "PAPEL", "weight": "NaN", "date": "2024-03-01",
+                   "description": "Leitura com peso inválido"},
+                  {"idempotencyKey": "infinito", "type": "PAPEL", "weight": "Infinity", "date": "2024-03-01",
+                   "description": "Leitura com peso infinito"},
+                  {"idempotencyKey": "fora-do-intervalo", "type": "PAPEL", "weight": 1e400, "date": "2024-03-01",
+                   "description": "Leitura fora do intervalo"},
+                  {"idempotencyKey": "valida", "type": "PAPEL", "weight": 2.5, "date": "2024-03-01",
+                   "description": "Papelão da coleta da manhã"}
+                ]
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.items[0].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[0].error").value("Peso do resíduo deve ser um número maior que zero"))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[2].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[3].status").value("CREATED"));
+
+        assertEquals(1, wasteRepository.count());
+        assertEquals(2.5, monthlyRepository.sumByMonthAndType().get(0).getTotalWeight(), 1e-9);
+    }
+
+    @Test
+    void emptyBatchIsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/waste/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions send() throws Exception {
+        return send(BATCH);
+    }
+
+    private ResultActions send(String batch) throws Exception {
+        return mockMvc.perform(post("/api/waste/batch").contentType(MediaType.APPLICATION_JSON).content(batch));
+    }
+}
@@ -0,0 +1,120 @@
+package com.reciclamais.waste_management.controller;
+
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.service.UserCache;
+import com.reciclamais.waste_management.service.WasteService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica os filtros e o formato da exportação do histórico.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WasteExportTest {
+
+    private static final String OWNER = "exporta1@example.com";
+    private static final String OTHER = "exporta2@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAll(List.of(
+                new User(null, "Exporta Um", OWNER, "senha-codificada", TypeUser.USER),
+                new User(null, "Exporta Dois", OTHER, "senha-codificada", TypeUser.USER)));
+        wasteService.save(new Waste(null, Type.PAPEL, 2.5, LocalDate.of(2024, 3, 1),
+                "Caixas \"grandes\", sem fita", null, true), OWNER);
+        wasteService.save(new Waste(null, Type.VIDRO, 4.0, LocalDate.of(2024, 3, 2),
+                "Garrafas da coleta da tarde", null, false), OWNER);
+        wasteService.save(new Waste(null, Type.PAPEL, 1.0, LocalDate.of(2024, 2, 1),
+                "Jornais da coleta seletiva", null, true), OTHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("exporta"))
+                .toList());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+    void adminExportsFilteredCsv() throws Exception {
+        String csv = export("/api/waste/export?format=csv&type=PAPEL");
+
+        assertEquals("""
+                email,type,weight,date,description,recycled
+                exporta2@example.com,PAPEL,1.0,2024-02-01,Jornais da coleta seletiva,true
+                exporta1@example.com,PAPEL,2.5,2024-03-01,"Caixas ""grandes"", sem fita",true
+                """, csv);
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void userExportsOnlyOwnWastesAsNdjson() throws Exception {
+        String ndjson = export("/api/waste/export?format=ndjson&user=" + OTHER + "&start=2024-03-02");
+
+        assertEquals("{\"email\":\"exporta1@example.com\",\"type\":\"VIDRO\",\"weight\":4.0,"
+                + "\"date\":\"2024-03-02\",\"description\":\"Garrafas da coleta da tarde\",\"recycled\":false}\n", ndjson);
+    }
+
+    @Test
+    @WithMockUser(username = OWNER)
+    void unknownFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/waste/export?format=xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String export(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andReturn().getResponse().getContentAsString();
+    }
+}
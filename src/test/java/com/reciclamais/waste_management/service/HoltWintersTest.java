@@ -0,0 +1,80 @@
+package com.reciclamais.waste_management.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o ajuste de Holt-Winters com séries sazonais conhecidas: previsão
+ * exata de uma série sem ruído, parâmetros escolhidos para uma mudança de
+ * nível e para uma série ruidosa, e o erro usado nos intervalos.
+ */
+class HoltWintersTest {
+
+    private static final int SEASON = 12;
+    private static final double[] PATTERN = {-30, -20, -10, 0, 10, 20, 30, 20, 10, 0, -10, -20};
+
+    @Test
+    void forecastsTrendAndSeasonExactly() {
+        // 100 + 2t + componente sazonal, três temporadas
+        double[] series = new double[36];
+        for (int t = 0; t < series.length; t++) {
+            series[t] = 100 + 2 * t + PATTERN[t % SEASON];
+        }
+
+        HoltWinters model = HoltWinters.fit(series, SEASON);
+
+        for (int horizon = 1; horizon <= SEASON; horizon++) {
+            int t = series.length + horizon - 1;
+            assertEquals(100 + 2 * t + PATTERN[t % SEASON], model.forecast(horizon), 1e-9, "horizonte " + horizon);
+        }
+        assertEquals(0.0, model.rmse(), 1e-9);
+        assertEquals(1.0, model.rSquare(), 1e-9);
+    }
+
+    @Test
+    void levelShiftFavoursFastLevelAndStableSeason() {
+        // Nível sobe de 100 para 160 na terceira temporada, sem tendência
+        double[] series = new double[36];
+        for (int t = 0; t < series.length; t++) {
+            series[t] = (t < 2 * SEASON ? 100 : 160) + PATTERN[t % SEASON];
+        }
+
+        HoltWinters model = HoltWinters.fit(series, SEASON);
+
+        assertEquals(0.9, model.alpha());
+        assertEquals(0.05, model.beta());
+        assertEquals(0.05, model.gamma());
+        assertEquals(160 + PATTERN[0], model.forecast(1), 5.0);
+    }
+
+    @Test
+    void noisySeriesFavoursSmoothLevelAndIntervalCoversMean() {
+        double sigma = 5.0;
+        Random random = new Random(42);
+        double[] series = new double[48];
+        for (int t = 0; t < series.length; t++) {
+            series[t] = 100 + PATTERN[t % SEASON] + random.nextGaussian() * sigma;
+        }
+
+        HoltWinters model = HoltWinters.fit(series, SEASON);
+
+        assertTrue(model.alpha() <= 0.2, "alfa " + model.alpha());
+        assertTrue(model.rmse() > 0.5 * sigma && model.rmse() < 2 * sigma, "rmse " + model.rmse());
+        double expected = 100 + PATTERN[0];
+        double margin = 1.96 * model.rmse();
+        assertEquals(expected, model.forecast(1), 2 * sigma);
+        assertTrue(model.forecast(1) - margin <= expected && expected <= model.forecast(1) + margin);
+        assertTrue(model.rSquare() > 0.8 && model.rSquare() < 1.0, "r² " + model.rSquare());
+    }
+
+    @Test
+    void requiresTwoFullSeasons() {
+        assertTrue(HoltWinters.canFit(24, SEASON));
+        assertThrows(IllegalArgumentException.class, () -> HoltWinters.fit(new double[23], SEASON));
+    }
+}
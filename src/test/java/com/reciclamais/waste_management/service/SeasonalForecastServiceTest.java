@@ -0,0 +1,128 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.WastePredictionDTO;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica as previsões sazonais a partir dos totais mensais: valor do
+ * próximo mês e intervalo para uma série sazonal conhecida, e o limite de
+ * usuários ajustados na previsão por usuário.
+ */
+@SpringBootTest(properties = "waste.forecast.max-users=1")
+class SeasonalForecastServiceTest {
+
+    private static final double DELTA = 1e-6;
+    private static final String SEASONAL_EMAIL = "sazonal1@example.com";
+    private static final String CONSTANT_EMAIL = "sazonal2@example.com";
+    private static final double[] PATTERN = {-30, -20, -10, 0, 10, 20, 30, 20, 10, 0, -10, -20};
+    private static final LocalDate FIRST_MONTH = LocalDate.of(2021, 1, 1);
+    private static final int MONTHS = 36;
+
+    @Autowired
+    private SeasonalForecastService forecastService;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Sazonal Um", SEASONAL_EMAIL, "senha-codificada", TypeUser.USER));
+        userRepository.save(new User(null, "Sazonal Dois", CONSTANT_EMAIL, "senha-codificada", TypeUser.USER));
+        // Papel: 100 + 2t + componente sazonal; vidro: 5 kg todo mês
+        for (int t = 0; t < MONTHS; t++) {
+            LocalDate date = FIRST_MONTH.plusMonths(t).plusDays(9);
+            wasteService.save(new Waste(null, Type.PAPEL, 100.0 + 2 * t + PATTERN[t % 12], date,
+                    "Papel do mês número " + t, null, true), SEASONAL_EMAIL);
+            wasteService.save(new Waste(null, Type.VIDRO, 5.0, date,
+                    "Vidro do mês número " + t, null, true), CONSTANT_EMAIL);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("sazonal"))
+                .toList());
+        userCache.invalidateAll();
+        forecastService.onWasteReloaded(new WasteDataReloadedEvent(0));
+    }
+
+    @Test
+    void forecastsNextMonthOfKnownSeasonalSeries() {
+        List<WastePredictionDTO> predictions = forecastService.predictNextMonthByType();
+
+        assertEquals(2, predictions.size());
+        WastePredictionDTO paper = predictions.get(0);
+        assertEquals(Type.PAPEL.name(), paper.getSeries());
+        assertEquals(100.0 + 2 * MONTHS + PATTERN[0], paper.getPredictedAmount(), DELTA);
+        assertEquals(1.0, paper.getConfidence(), DELTA);
+        assertEquals(paper.getPredictedAmount(), paper.getLowerBound(), DELTA);
+        assertEquals(paper.getPredictedAmount(), paper.getUpperBound(), DELTA);
+
+        WastePredictionDTO glass = predictions.get(1);
+        assertEquals(Type.VIDRO.name(), glass.getSeries());
+        assertEquals(5.0, glass.getPredictedAmount(), DELTA);
+    }
+
+    @Test
+    void noisyMonthWidensTheInterval() {
+        wasteService.save(new Waste(null, Type.PAPEL, 40.0, FIRST_MONTH.plusMonths(MONTHS - 1).plusDays(20),
+                "Papel extra no último mês", null, true), SEASONAL_EMAIL);
+
+        WastePredictionDTO paper = forecastService.predictNextMonthByType().get(0);
+
+        assertEquals(Type.PAPEL.name(), paper.getSeries());
+        double margin = paper.getUpperBound() - paper.getPredictedAmount();
+        assertEquals(margin, paper.getPredictedAmount() - paper.getLowerBound(), DELTA);
+        assertTrue(margin > 0, "margem " + margin);
+        assertTrue(paper.getConfidence() < 1.0, "confiança " + paper.getConfidence());
+    }
+
+    @Test
+    void userForecastIsLimitedToLargestUsers() {
+        List<WastePredictionDTO> predictions = forecastService.predictNextMonthByUser();
+        assertEquals(1, predictions.size());
+        assertEquals("Sazonal Um", predictions.get(0).getSeries());
+        assertEquals(100.0 + 2 * MONTHS + PATTERN[0], predictions.get(0).getPredictedAmount(), DELTA);
+
+        // O segundo usuário passa a ter o maior volume e substitui o primeiro
+        wasteService.save(new Waste(null, Type.VIDRO, 10000.0, FIRST_MONTH.plusDays(20),
+                "Vidro de uma grande coleta", null, true), CONSTANT_EMAIL);
+
+        predictions = forecastService.predictNextMonthByUser();
+        assertEquals(1, predictions.size());
+        assertEquals("Sazonal Dois", predictions.get(0).getSeries());
+    }
+}
@@ -0,0 +1,137 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.DataGenerationReportDTO;
+import com.reciclamais.waste_management.dto.DataGenerationRequest;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que a geração de dados sintéticos é reproduzível, mantém os
+ * totais mensais e os agregados em memória consistentes e não usa uma senha
+ * fixa para os usuários gerados.
+ */
+@SpringBootTest
+class SyntheticDataGeneratorTest {
+
+    private static final String FINGERPRINT_SQL =
+            "SELECT w.type, COUNT(*), SUM(w.weight), SUM(CASE WHEN w.recycled THEN 1 ELSE 0 END), MIN(w.date), MAX(w.date) " +
+            "FROM tb_waste w GROUP BY w.type ORDER BY w.type";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private WasteAnalytics analytics;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM tb_users WHERE email LIKE 'sintetico%'");
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void sameSeedGeneratesSameWastes() {
+        DataGenerationReportDTO report = generator.generate(request("sintetico-a"));
+
+        assertEquals(25, report.getUsers());
+        assertEquals(5_000, report.getWastes());
+        assertEquals(LocalDate.of(2023, 1, 1), report.getFirstDate());
+        assertEquals(LocalDate.of(2024, 12, 31), report.getLastDate());
+        assertEquals(5_000, wasteRepository.count());
+        assertEquals(5_000, monthlyRepository.sumCount());
+        assertEquals(5_000, analytics.getCount());
+        assertEquals(25, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT user_id) FROM tb_waste", Integer.class));
+        List<Map<String, Object>> first = jdbcTemplate.queryForList(FINGERPRINT_SQL);
+
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        generator.generate(request("sintetico-b"));
+
+        assertEquals(first, jdbcTemplate.queryForList(FINGERPRINT_SQL));
+    }
+
+    @Test
+    void existingPrefixIsRejected() {
+        DataGenerationRequest request = request("sintetico-c");
+        request.setWastes(0);
+        generator.generate(request);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> generator.generate(request));
+        assertTrue(e.getMessage().contains("sintetico-c"));
+    }
+
+    @Test
+    void usersGetTheRequestedOrARandomPassword() {
+        DataGenerationRequest explicit = request("sintetico-d");
+        explicit.setWastes(0);
+        explicit.setPassword("senha-da-carga");
+        assertNull(generator.generate(explicit).getGeneratedPassword());
+        assertTrue(passwordEncoder.matches("senha-da-carga", passwordOf("sintetico-d-1@example.com")));
+
+        DataGenerationRequest random = request("sintetico-e");
+        random.setWastes(0);
+        String generated = generator.generate(random).getGeneratedPassword();
+        assertNotNull(generated);
+        assertTrue(generated.length() >= 20, generated);
+        assertTrue(passwordEncoder.matches(generated, passwordOf("sintetico-e-25@example.com")));
+
+        DataGenerationRequest another = request("sintetico-f");
+        another.setWastes(0);
+        assertNotEquals(generated, generator.generate(another).getGeneratedPassword());
+
+        DataGenerationRequest blank = request("sintetico-g");
+        blank.setPassword(" ");
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(blank));
+    }
+
+    private String passwordOf(String email) {
+        return jdbcTemplate.queryForObject("SELECT password FROM tb_users WHERE email = ?", String.class, email);
+    }
+
+    private static DataGenerationRequest request(String emailPrefix) {
+        DataGenerationRequest request = new DataGenerationRequest();
+        request.setSeed(42L);
+        request.setUsers(25);
+        request.setWastes(5_000);
+        request.setMonths(24);
+        request.setEndMonth(YearMonth.of(2024, 12));
+        request.setEmailPrefix(emailPrefix);
+        return request;
+    }
+}
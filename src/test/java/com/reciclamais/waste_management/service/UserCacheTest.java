@@ -0,0 +1,143 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.service.UserCache.CachedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica o cache de usuários: acertos e falhas, emails não encontrados,
+ * invalidação (inclusive durante uma consulta), expiração e limite de tamanho.
+ */
+@SpringBootTest
+class UserCacheTest {
+
+    private static final String EMAIL = "cache1@example.com";
+    private static final String OTHER_EMAIL = "cache2@example.com";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "Cache Um", EMAIL, "senha-codificada", TypeUser.USER));
+        userRepository.save(new User(null, "Cache Dois", OTHER_EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(candidate -> candidate.getEmail().startsWith("cache"))
+                .toList());
+    }
+
+    @Test
+    void servesRepeatedLookupsFromCache() {
+        UserCache cache = new UserCache(userRepository, 10, Duration.ofMinutes(5));
+
+        CachedUser first = cache.findByEmail(EMAIL).orElseThrow();
+        assertEquals(user.getId(), first.id());
+        assertEquals("Cache Um", first.name());
+        assertEquals(first, cache.findByEmail(EMAIL).orElseThrow());
+
+        assertEquals(new UserCache.Stats(1, 1, 0, 1), cache.getStats());
+    }
+
+    @Test
+    void doesNotCacheUnknownEmails() {
+        UserCache cache = new UserCache(userRepository, 10, Duration.ofMinutes(5));
+        String email = "cache3@example.com";
+
+        assertTrue(cache.findByEmail(email).isEmpty());
+        assertTrue(cache.findByEmail(email).isEmpty());
+        assertEquals(new UserCache.Stats(0, 2, 0, 0), cache.getStats());
+
+        // Cadastrado sem invalidar o cache, como faria outra instância
+        userRepository.save(new User(null, "Cache Três", email, "senha-codificada", TypeUser.USER));
+        assertEquals("Cache Três", cache.findByEmail(email).orElseThrow().name());
+    }
+
+    @Test
+    void invalidationReloadsChangedUsers() {
+        UserCache cache = new UserCache(userRepository, 10, Duration.ofMinutes(5));
+        cache.findByEmail(EMAIL);
+        cache.findByEmail(OTHER_EMAIL);
+
+        user.setPassword("senha-nova");
+        userRepository.save(user);
+        assertEquals("senha-codificada", cache.findByEmail(EMAIL).orElseThrow().passwordHash());
+
+        cache.invalidate(EMAIL);
+        assertEquals(1, cache.getStats().size());
+        assertEquals("senha-nova", cache.findByEmail(EMAIL).orElseThrow().passwordHash());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void invalidationDuringLookupDiscardsTheLoadedValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        UserCache cache = new UserCache(pausingRepository(loading, resume), 10, Duration.ofMinutes(5));
+
+        CompletableFuture<Optional<CachedUser>> lookup = CompletableFuture.supplyAsync(() -> cache.findByEmail(EMAIL));
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+        cache.invalidate(EMAIL);
+        resume.countDown();
+
+        assertTrue(lookup.get(10, TimeUnit.SECONDS).isPresent());
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void expiresEntriesAndEvictsLeastRecentlyUsed() throws InterruptedException {
+        UserCache expiring = new UserCache(userRepository, 10, Duration.ofMillis(50));
+        expiring.findByEmail(EMAIL);
+        Thread.sleep(100);
+        expiring.findByEmail(EMAIL);
+        assertEquals(new UserCache.Stats(0, 2, 1, 1), expiring.getStats());
+
+        UserCache bounded = new UserCache(userRepository, 1, Duration.ofMinutes(5));
+        bounded.findByEmail(EMAIL);
+        bounded.findByEmail(OTHER_EMAIL);
+        bounded.findByEmail(EMAIL);
+        assertEquals(new UserCache.Stats(0, 3, 2, 1), bounded.getStats());
+    }
+
+    /**
+     * Repositório que pausa a consulta por email enquanto o teste invalida o cache.
+     */
+    private UserRepository pausingRepository(CountDownLatch loading, CountDownLatch resume) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        loading.countDown();
+                        assertTrue(resume.await(10, TimeUnit.SECONDS));
+                    }
+                    try {
+                        return method.invoke(userRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
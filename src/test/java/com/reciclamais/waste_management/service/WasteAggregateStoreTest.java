@@ -0,0 +1,188 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a atualização incremental dos agregados, a reconstrução com
+ * gravações concorrentes e o reparo feito pela verificação periódica.
+ */
+@SpringBootTest
+class WasteAggregateStoreTest {
+
+    private static final double DELTA = 1e-6;
+
+    @Autowired
+    private WasteAggregateStore aggregateStore;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "Agregado Um", "agregado1@example.com", "senha-codificada",
+                TypeUser.USER));
+        userRepository.save(new User(null, "Agregado Dois", "agregado2@example.com", "senha-codificada",
+                TypeUser.USER));
+        aggregateStore.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(candidate -> candidate.getEmail().startsWith("agregado"))
+                .toList());
+        userCache.invalidateAll();
+        aggregateStore.rebuild();
+    }
+
+    @Test
+    void recordedWastesUpdateAggregatesIncrementally() {
+        LocalDate start = LocalDate.of(2024, 1, 10);
+        for (int i = 0; i < 40; i++) {
+            Waste waste = new Waste(null, Type.values()[i % Type.values().length], 1.5 + i % 7,
+                    start.plusDays(i * 5L), "Coleta incremental número " + i, null, i % 4 != 0);
+            wasteService.save(waste, i % 2 == 0 ? "agregado1@example.com" : "agregado2@example.com");
+        }
+
+        assertMatchesDatabase(aggregateStore);
+        assertTrue(aggregateStore.verify());
+    }
+
+    @Test
+    void rebuildCountsEachWasteOnceWhenEventsArriveDuringTheLoad() throws Exception {
+        // Gravado antes da carga: visível nas consultas, com o evento entregue durante a carga
+        Waste committedBefore = wasteRepository.save(new Waste(null, Type.PAPEL, 4.0, LocalDate.of(2024, 3, 5),
+                "Gravado antes da carga", user, true));
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        WasteAggregateStore store = new WasteAggregateStore(pausingRepository(loading, resume),
+                transactionManager, true);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(store::rebuild);
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        // Gravado durante a carga, depois da primeira consulta
+        Waste committedDuring = wasteRepository.save(new Waste(null, Type.VIDRO, 2.5, LocalDate.of(2024, 4, 8),
+                "Gravado durante a carga", user, true));
+        store.onWasteRecorded(new WasteRecordedEvent(List.of(committedBefore, committedDuring)));
+        resume.countDown();
+        rebuild.get(10, TimeUnit.SECONDS);
+
+        assertMatchesDatabase(store);
+        assertTrue(store.verify());
+    }
+
+    @Test
+    void verifyRepairsDriftInTypesAndMonths() {
+        wasteService.save(new Waste(null, Type.PAPEL, 3.0, LocalDate.of(2024, 5, 2),
+                "Coleta que será alterada", null, true), "agregado1@example.com");
+        wasteService.save(new Waste(null, Type.VIDRO, 5.0, LocalDate.of(2024, 6, 2),
+                "Coleta que não muda", null, false), "agregado2@example.com");
+        assertTrue(aggregateStore.verify());
+
+        // Mesma contagem e mesmos pesos totais, com tipo e mês diferentes
+        jdbcTemplate.update("UPDATE tb_waste SET type = 'ALUMINIO', date = DATE '2023-01-15' WHERE type = 'PAPEL'");
+
+        assertFalse(aggregateStore.verify());
+        assertMatchesDatabase(aggregateStore);
+        assertTrue(aggregateStore.verify());
+    }
+
+    /**
+     * Repositório que pausa a reconstrução entre a consulta por mês e a
+     * consulta por usuário, enquanto o teste grava resíduos.
+     */
+    private WasteRepository pausingRepository(CountDownLatch loading, CountDownLatch resume) {
+        return (WasteRepository) Proxy.newProxyInstance(WasteRepository.class.getClassLoader(),
+                new Class<?>[]{WasteRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("sumRecycledWeightByUser") && loading.getCount() > 0) {
+                        loading.countDown();
+                        assertTrue(resume.await(10, TimeUnit.SECONDS));
+                    }
+                    try {
+                        return method.invoke(wasteRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void assertMatchesDatabase(WasteAggregateStore store) {
+        assertEquals(wasteRepository.count(), store.getCount());
+        assertEquals(wasteRepository.sumWeight(), store.getTotalWeight(), DELTA);
+        assertEquals(wasteRepository.sumRecycledWeight(), store.getRecycledWeight(), DELTA);
+
+        Map<Type, Double> expectedByType = new TreeMap<>();
+        Map<LocalDate, Double> expectedByMonth = new TreeMap<>();
+        for (MonthlyWasteDTO row : wasteRepository.sumWeightByMonthAndType()) {
+            expectedByType.merge(row.getType(), row.getTotalWeight(), Double::sum);
+            expectedByMonth.merge(row.getPeriod(), row.getTotalWeight(), Double::sum);
+        }
+        Map<Type, Double> byType = store.getWeightByType();
+        assertEquals(expectedByType.keySet(), byType.keySet());
+        expectedByType.forEach((type, weight) -> assertEquals(weight, byType.get(type), DELTA));
+        Map<LocalDate, Double> byMonth = store.getMonthlyWeights();
+        assertEquals(List.copyOf(expectedByMonth.keySet()), List.copyOf(byMonth.keySet()));
+        expectedByMonth.forEach((period, weight) -> assertEquals(weight, byMonth.get(period), DELTA));
+
+        List<UserRankingDTO> expectedRankings = wasteRepository.sumRecycledWeightByUser();
+        List<UserRankingDTO> rankings = store.getUserRankings();
+        assertEquals(expectedRankings.size(), rankings.size());
+        for (int i = 0; i < rankings.size(); i++) {
+            assertEquals(expectedRankings.get(i).getUserId(), rankings.get(i).getUserId());
+            assertEquals(expectedRankings.get(i).getTotalRecycled(), rankings.get(i).getTotalRecycled(), DELTA);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara as respostas do motor colunar com as consultas agrupadas no banco.
+ */
+@SpringBootTest(properties = "waste.analytics.engine=columnar")
+class WasteColumnStoreTest {
+
+    private static final double DELTA = 1e-3;
+
+    @Autowired
+    private WasteColumnStore columnStore;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAll(List.of(
+                new User(null, "Coluna Um", "coluna1@example.com", "senha-codificada", TypeUser.USER),
+                new User(null, "Coluna Dois", "coluna2@example.com", "senha-codificada", TypeUser.USER)));
+        LocalDate start = LocalDate.of(2023, 11, 20);
+        for (int i = 0; i < 150; i++) {
+            Waste waste = new Waste(null, Type.values()[i % Type.values().length], 0.5 + i % 13,
+                    start.plusDays(i * 3L), "Coleta colunar número " + i, null, i % 3 != 0);
+            wasteService.save(waste, i % 2 == 0 ? "coluna1@example.com" : "coluna2@example.com");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("coluna"))
+                .toList());
+        userCache.invalidateAll();
+        columnStore.rebuild();
+    }
+
+    @Test
+    void appendedWastesMatchDatabaseAggregates() {
+        assertMatchesDatabase();
+    }
+
+    @Test
+    void rebuiltColumnsMatchDatabaseAggregates() {
+        columnStore.rebuild();
+        assertMatchesDatabase();
+        assertTrue(columnStore.verify());
+    }
+
+    @Test
+    void monthIndexMatchesCalendar() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            assertEquals(date.getYear() * 12 + date.getMonthValue() - 1,
+                    WasteColumnStore.monthIndex((int) date.toEpochDay()), date.toString());
+        }
+    }
+
+    private void assertMatchesDatabase() {
+        assertEquals(wasteRepository.count(), columnStore.getCount());
+        assertEquals(wasteRepository.sumWeight(), columnStore.getTotalWeight(), DELTA);
+        assertEquals(wasteRepository.sumRecycledWeight(), columnStore.getRecycledWeight(), DELTA);
+
+        Map<Type, Double> byType = columnStore.getWeightByType();
+        for (TypeWasteDTO expected : wasteRepository.sumWeightByType()) {
+            assertEquals(expected.getQuantity(), Math.round(byType.get(Type.valueOf(expected.getType()))));
+        }
+
+        List<UserRankingDTO> rankings = columnStore.getUserRankings();
+        List<UserRankingDTO> expectedRankings = wasteRepository.sumRecycledWeightByUser();
+        assertEquals(expectedRankings.size(), rankings.size());
+        for (int i = 0; i < rankings.size(); i++) {
+            assertEquals(expectedRankings.get(i).getUserId(), rankings.get(i).getUserId());
+            assertEquals(expectedRankings.get(i).getName(), rankings.get(i).getName());
+            assertEquals(expectedRankings.get(i).getTotalRecycled(), rankings.get(i).getTotalRecycled(), DELTA);
+        }
+
+        Map<LocalDate, Double> monthly = columnStore.getMonthlyWeights();
+        Map<LocalDate, Double> expectedMonthly = new TreeMap<>();
+        wasteRepository.sumWeightByMonthAndType().forEach(row ->
+                expectedMonthly.merge(row.getPeriod(), row.getTotalWeight(), Double::sum));
+        assertEquals(List.copyOf(expectedMonthly.keySet()), List.copyOf(monthly.keySet()));
+        expectedMonthly.forEach((period, weight) -> assertEquals(weight, monthly.get(period), DELTA));
+    }
+}
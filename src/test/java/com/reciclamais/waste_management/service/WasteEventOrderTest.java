@@ -0,0 +1,222 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.controller.RenderedFragmentCache;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import com.reciclamais.waste_management.event.WasteRecordedEvent;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica a ordem dos ouvintes de gravação e de carga em massa: dados de
+ * análise atualizados antes da nova versão, e caches descartados só depois.
+ * Os dois motores de análise ouvem na mesma posição.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WasteEventOrderTest {
+
+    private static final String EMAIL = "ordem@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderProbe probe;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteAggregateStore aggregateStore;
+
+    @Autowired
+    private WasteDataVersion dataVersion;
+
+    @Autowired
+    private RenderedFragmentCache fragmentCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "Ordem", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+        aggregateStore.rebuild();
+    }
+
+    @Test
+    void recordedWasteUpdatesAnalyticsThenVersionThenCaches() throws Exception {
+        renderWidget();
+        long count = wasteRepository.count();
+        long version = dataVersion.getVersion();
+        probe.clear();
+
+        wasteService.save(new Waste(null, Type.PAPEL, 2.0, LocalDate.of(2024, 7, 1), "Coleta para conferir a ordem",
+                null, true), EMAIL);
+
+        assertEquals(List.of(new Snapshot(count + 1, version, true)), probe.beforeVersion);
+        assertEquals(List.of(new Snapshot(count + 1, version + 1, true)), probe.afterVersion);
+        assertEquals(0, fragmentCache.getStats().size());
+    }
+
+    @Test
+    void reloadRebuildsAnalyticsThenVersionThenCaches() throws Exception {
+        renderWidget();
+        long version = dataVersion.getVersion();
+        jdbcTemplate.update("INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled) "
+                        + "VALUES (NEXT VALUE FOR " + Waste.ID_SEQUENCE + ", 'VIDRO', 3.0, DATE '2024-07-02', "
+                        + "'Carga direta no banco', ?, TRUE)",
+                user.getId());
+        long count = wasteRepository.count();
+        probe.clear();
+
+        eventPublisher.publishEvent(new WasteDataReloadedEvent(1));
+
+        assertEquals(List.of(new Snapshot(count, version, true)), probe.beforeVersion);
+        assertEquals(List.of(new Snapshot(count, version + 1, true)), probe.afterVersion);
+        assertEquals(0, fragmentCache.getStats().size());
+    }
+
+    @Test
+    void analyticsEnginesListenInTheSamePosition() throws NoSuchMethodException {
+        for (Class<?> listener : List.of(WasteAggregateStore.class, WasteColumnStore.class,
+                SeasonalForecastService.class)) {
+            assertEquals(WasteRecordedEvent.ORDER_ANALYTICS, orderOf(listener, WasteRecordedEvent.class));
+            assertEquals(WasteRecordedEvent.ORDER_ANALYTICS, orderOf(listener, WasteDataReloadedEvent.class));
+        }
+    }
+
+    private static int orderOf(Class<?> listener, Class<?> event) throws NoSuchMethodException {
+        String method = event == WasteRecordedEvent.class ? "onWasteRecorded" : "onWasteReloaded";
+        return listener.getMethod(method, event).getAnnotation(Order.class).value();
+    }
+
+    private void renderWidget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/dashboard/widgets/summary").header("HX-Request", "true"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertTrue(fragmentCache.getStats().size() > 0);
+    }
+
+    /**
+     * Estado observado entre os ouvintes.
+     */
+    record Snapshot(long analyticsCount, long version, boolean fragmentsCached) {
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        OrderProbe orderProbe(WasteAnalytics analytics, WasteDataVersion dataVersion,
+                              RenderedFragmentCache fragmentCache) {
+            return new OrderProbe(analytics, dataVersion, fragmentCache);
+        }
+    }
+
+    /**
+     * Ouvintes posicionados entre as etapas, que registram o estado visível.
+     */
+    static class OrderProbe {
+
+        private final WasteAnalytics analytics;
+        private final WasteDataVersion dataVersion;
+        private final RenderedFragmentCache fragmentCache;
+        final List<Snapshot> beforeVersion = new CopyOnWriteArrayList<>();
+        final List<Snapshot> afterVersion = new CopyOnWriteArrayList<>();
+
+        OrderProbe(WasteAnalytics analytics, WasteDataVersion dataVersion, RenderedFragmentCache fragmentCache) {
+            this.analytics = analytics;
+            this.dataVersion = dataVersion;
+            this.fragmentCache = fragmentCache;
+        }
+
+        @TransactionalEventListener(fallbackExecution = true)
+        @Order(WasteRecordedEvent.ORDER_VERSION - 1)
+        public void beforeVersion(WasteRecordedEvent event) {
+            beforeVersion.add(snapshot());
+        }
+
+        @TransactionalEventListener(fallbackExecution = true)
+        @Order(WasteRecordedEvent.ORDER_CACHES - 1)
+        public void afterVersion(WasteRecordedEvent event) {
+            afterVersion.add(snapshot());
+        }
+
+        @EventListener
+        @Order(WasteRecordedEvent.ORDER_VERSION - 1)
+        public void beforeVersion(WasteDataReloadedEvent event) {
+            beforeVersion.add(snapshot());
+        }
+
+        @EventListener
+        @Order(WasteRecordedEvent.ORDER_CACHES - 1)
+        public void afterVersion(WasteDataReloadedEvent event) {
+            afterVersion.add(snapshot());
+        }
+
+        void clear() {
+            beforeVersion.clear();
+            afterVersion.clear();
+        }
+
+        private Snapshot snapshot() {
+            return new Snapshot(analytics.getCount(), dataVersion.getVersion(), fragmentCache.getStats().size() > 0);
+        }
+    }
+}
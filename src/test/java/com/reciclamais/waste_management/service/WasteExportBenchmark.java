@@ -0,0 +1,127 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.service.WasteImportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exporta alguns milhões de resíduos sintéticos e verifica que a memória
+ * retida durante a exportação não cresce com a quantidade de linhas.
+ *
+ * Não faz parte da suíte de testes; execute com {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@DirtiesContext
+@SpringBootTest(properties = {
+        // Banco próprio, descartado com o contexto (apagar milhões de linhas no H2 é lento);
+        // com execução preguiçosa o H2 entrega as linhas sob demanda, como um cursor no PostgreSQL
+        "spring.datasource.url=jdbc:h2:mem:export-benchmark;LAZY_QUERY_EXECUTION=TRUE",
+        "waste.aggregates.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.reciclamais.waste_management=INFO"
+})
+class WasteExportBenchmark {
+
+    private static final int ROWS = 2_000_000;
+    private static final int INSERT_CHUNK = 200_000;
+    private static final long CHECKPOINT_BYTES = 64L * 1024 * 1024;
+    private static final long MAX_RETAINED_GROWTH = 32L * 1024 * 1024;
+
+    @Autowired
+    private WasteExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User(null, "Exportação", "exportacao@example.com", "senha-codificada", TypeUser.USER));
+        long start = System.nanoTime();
+        // Em blocos, cada um em sua transação, para não acumular o log de desfazer do H2
+        for (int first = 1; first <= ROWS; first += INSERT_CHUNK) {
+            jdbcTemplate.update("INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled) " +
+                    "SELECT x, CASEWHEN(MOD(x, 2) = 0, 'PAPEL', 'VIDRO'), MOD(x, 97) + 0.5, " +
+                    "DATEADD(DAY, MOD(x, 3650), DATE '2015-01-01'), CONCAT('Leitura sintética ', x), ?, MOD(x, 3) = 0 " +
+                    "FROM SYSTEM_RANGE(?, ?)", user.getId(), first, Math.min(first + INSERT_CHUNK - 1, ROWS));
+        }
+        System.out.printf("Inseridos %d resíduos em %d ms%n", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    void exportKeepsHeapFlat() throws Exception {
+        export(Format.CSV);
+        export(Format.NDJSON);
+    }
+
+    private void export(Format format) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = retainedHeap(memory);
+        HeapSamplingOutputStream output = new HeapSamplingOutputStream(memory);
+
+        long start = System.nanoTime();
+        long rows = exportService.export(new WasteExportService.Filter(null, null, null, null), format, output);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long growth = output.maxRetained - baseline;
+        System.out.printf("%s: %d resíduos, %d MB em %d ms; memória retida: base %d MB, crescimento máximo %d MB%n",
+                format, rows, output.bytes / (1024 * 1024), millis, baseline / (1024 * 1024), growth / (1024 * 1024));
+        assertEquals(ROWS, rows);
+        assertTrue(growth < MAX_RETAINED_GROWTH, "Memória retida cresceu " + growth / (1024 * 1024) + " MB");
+    }
+
+    private static long retainedHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Descarta os bytes e mede a memória retida (após coleta) a cada
+     * {@link #CHECKPOINT_BYTES} escritos.
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private final MemoryMXBean memory;
+        private long bytes;
+        private long nextCheckpoint = CHECKPOINT_BYTES;
+        private long maxRetained;
+
+        private HeapSamplingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(int len) {
+            bytes += len;
+            if (bytes >= nextCheckpoint) {
+                nextCheckpoint += CHECKPOINT_BYTES;
+                maxRetained = Math.max(maxRetained, retainedHeap(memory));
+            }
+        }
+    }
+}
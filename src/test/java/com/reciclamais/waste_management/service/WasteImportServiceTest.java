@@ -0,0 +1,206 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.ImportReportDTO;
+import com.reciclamais.waste_management.dto.ImportReportDTO.RejectedRowDTO;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import com.reciclamais.waste_management.service.WasteImportService.Format;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a importação em lote: campos CSV entre aspas, relatório das linhas
+ * rejeitadas, pesos não finitos, lote com falha no banco desfeito sem afetar
+ * os demais e limite do tamanho do lote.
+ */
+@SpringBootTest(properties = "waste.import.max-batch-size=3")
+class WasteImportServiceTest {
+
+    private static final String EMAIL = "importa@example.com";
+    private static final String FAILING_DESCRIPTION = "Linha que falha no banco";
+
+    @Autowired
+    private WasteImportService importService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Importação", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("ALTER TABLE tb_waste DROP CONSTRAINT IF EXISTS chk_import_falha");
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void parsesQuotedFieldsAndEscapedQuotes() throws IOException {
+        ImportReportDTO report = importCsv(null,
+                "description,email,type,weight,date,recycled",
+                "\"Caixas, jornais e revistas\"," + EMAIL + ",PAPEL,2.5,2024-03-01,sim",
+                "\"Garrafas \"\"long neck\"\" verdes\"," + EMAIL + ",vidro,1.0,2024-03-02,0",
+                "\"\"\"Latas\"\" amassadas, limpas\"," + EMAIL + ",ALUMINIO,0.5,2024-03-03,");
+
+        assertEquals(3, report.getAccepted());
+        assertEquals(0, report.getRejected());
+        assertEquals(List.of("\"Latas\" amassadas, limpas", "Caixas, jornais e revistas",
+                        "Garrafas \"long neck\" verdes"),
+                descriptions());
+        assertEquals(List.of(true, false, false), wasteRepository.findAll().stream()
+                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
+                .map(Waste::getRecycled)
+                .toList());
+    }
+
+    @Test
+    void reportsRejectedRowsWithLineNumbersAndReasons() throws IOException {
+        ImportReportDTO report = importCsv(null,
+                "email,type,weight,date,description,recycled",
+                EMAIL + ",PAPEL,2.0,2024-03-01,Papelão de mudança,true",
+                EMAIL + ",MADEIRA,2.0,2024-03-01,Tipo que não existe,true",
+                "",
+                EMAIL + ",VIDRO,dois,2024-03-01,Peso que não é número,true",
+                "desconhecido@example.com,VIDRO,1.0,2024-03-01,Usuário que não existe,true",
+                EMAIL + ",VIDRO,1.0,2024-02-30,Data que não existe,true",
+                EMAIL + ",VIDRO,1.0,2024-03-01,Curta,talvez",
+                EMAIL + ",VIDRO,1.0,2024-03-01,Vidros de conserva,true");
+
+        assertEquals(2, report.getAccepted());
+        assertEquals(5, report.getRejected());
+        List<RejectedRowDTO> rows = report.getRejectedRows();
+        assertEquals(List.of(3L, 5L, 6L, 7L, 8L), rows.stream().map(RejectedRowDTO::getLine).toList());
+        assertTrue(rows.get(0).getReason().contains("Tipo de resíduo inválido"), rows.get(0).getReason());
+        assertTrue(rows.get(1).getReason().contains("Peso inválido"), rows.get(1).getReason());
+        assertTrue(rows.get(2).getReason().contains("Usuário não encontrado"), rows.get(2).getReason());
+        assertTrue(rows.get(3).getReason().contains("Data inválida"), rows.get(3).getReason());
+        assertTrue(rows.get(4).getReason().contains("reciclado inválido"), rows.get(4).getReason());
+        assertEquals(2, wasteRepository.count());
+    }
+
+    @Test
+    void rejectsNonFiniteWeights() throws IOException {
+        ImportReportDTO csv = importCsv(null,
+                "email,type,weight,date,description,recycled",
+                EMAIL + ",PAPEL,NaN,2024-03-01,Peso que não é número,true",
+                EMAIL + ",PAPEL,Infinity,2024-03-01,Peso infinito positivo,true",
+                EMAIL + ",PAPEL,-Infinity,2024-03-01,Peso infinito negativo,true",
+                EMAIL + ",PAPEL,0x1p3,2024-03-01,Peso em hexadecimal,true",
+                EMAIL + ",PAPEL,1e400,2024-03-01,Peso fora do intervalo,true",
+                EMAIL + ",PAPEL,2.5,2024-03-01,Papelão de mudança,true");
+        ImportReportDTO ndjson = importNdjson(
+                "{\"email\":\"" + EMAIL + "\",\"type\":\"PAPEL\",\"weight\":\"NaN\","
+                        + "\"date\":\"2024-03-02\",\"description\":\"Peso que não é número\"}",
+                "{\"email\":\"" + EMAIL + "\",\"type\":\"PAPEL\",\"weight\":\"Infinity\","
+                        + "\"date\":\"2024-03-02\",\"description\":\"Peso infinito positivo\"}",
+                "{\"email\":\"" + EMAIL + "\",\"type\":\"PAPEL\",\"weight\":1e400,"
+                        + "\"date\":\"2024-03-02\",\"description\":\"Peso fora do intervalo\"}");
+
+        assertEquals(1, csv.getAccepted());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), csv.getRejectedRows().stream().map(RejectedRowDTO::getLine).toList());
+        assertEquals(0, ndjson.getAccepted());
+        assertEquals(3, ndjson.getRejected());
+        for (RejectedRowDTO row : concat(csv.getRejectedRows(), ndjson.getRejectedRows())) {
+            assertTrue(row.getReason().contains("Peso"), row.getReason());
+        }
+        // Os totais mensais só contêm o resíduo válido
+        assertEquals(2.5, monthlyRepository.sumByMonthAndType().get(0).getTotalWeight(), 1e-9);
+        assertEquals(List.of("Papelão de mudança"), descriptions());
+    }
+
+    @Test
+    void failingBatchIsRolledBackAlone() throws IOException {
+        jdbcTemplate.execute("ALTER TABLE tb_waste ADD CONSTRAINT chk_import_falha CHECK (description <> '"
+                + FAILING_DESCRIPTION + "')");
+
+        // Lotes de 2: linhas 2-3, 4-5 (falha na 5) e 6-7
+        ImportReportDTO report = importCsv(2,
+                "email,type,weight,date,description,recycled",
+                EMAIL + ",PAPEL,1.0,2024-03-01,Primeiro lote um,true",
+                EMAIL + ",PAPEL,2.0,2024-03-01,Primeiro lote dois,true",
+                EMAIL + ",PAPEL,4.0,2024-03-01,Segundo lote um,true",
+                EMAIL + ",PAPEL,8.0,2024-03-01," + FAILING_DESCRIPTION + ",true",
+                EMAIL + ",PAPEL,16.0,2024-03-01,Terceiro lote um,true",
+                EMAIL + ",PAPEL,32.0,2024-03-01,Terceiro lote dois,true");
+
+        assertEquals(4, report.getAccepted());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(4L, 5L), report.getRejectedRows().stream().map(RejectedRowDTO::getLine).toList());
+        assertTrue(report.getRejectedRows().get(0).getReason().startsWith("Erro ao gravar o lote"));
+        assertEquals(List.of("Primeiro lote dois", "Primeiro lote um", "Terceiro lote dois", "Terceiro lote um"),
+                descriptions());
+        // Os totais mensais do lote desfeito também são descartados
+        assertEquals(51.0, monthlyRepository.sumByMonthAndType().get(0).getTotalWeight(), 1e-9);
+    }
+
+    @Test
+    void batchSizeIsClampedToTheConfiguredMaximum() throws IOException {
+        jdbcTemplate.execute("ALTER TABLE tb_waste ADD CONSTRAINT chk_import_falha CHECK (description <> '"
+                + FAILING_DESCRIPTION + "')");
+
+        // Lote pedido enorme, limitado a 3: somente as linhas 2-4 são desfeitas
+        ImportReportDTO report = importCsv(Integer.MAX_VALUE,
+                "email,type,weight,date,description,recycled",
+                EMAIL + ",PAPEL,1.0,2024-03-01,Primeiro lote um,true",
+                EMAIL + ",PAPEL,1.0,2024-03-01,Primeiro lote dois,true",
+                EMAIL + ",PAPEL,1.0,2024-03-01," + FAILING_DESCRIPTION + ",true",
+                EMAIL + ",PAPEL,1.0,2024-03-01,Segundo lote um,true");
+
+        assertEquals(1, report.getAccepted());
+        assertEquals(List.of(2L, 3L, 4L), report.getRejectedRows().stream().map(RejectedRowDTO::getLine).toList());
+        assertThrows(IllegalArgumentException.class, () -> importCsv(0, "email,type,weight,date,description"));
+    }
+
+    private ImportReportDTO importCsv(Integer batchSize, String... lines) throws IOException {
+        byte[] content = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importWastes(new ByteArrayInputStream(content), Format.CSV, batchSize);
+    }
+
+    private ImportReportDTO importNdjson(String... lines) throws IOException {
+        byte[] content = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return importService.importWastes(new ByteArrayInputStream(content), Format.NDJSON, null);
+    }
+
+    private static List<RejectedRowDTO> concat(List<RejectedRowDTO> first, List<RejectedRowDTO> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    private List<String> descriptions() {
+        return wasteRepository.findAll().stream().map(Waste::getDescription).sorted().toList();
+    }
+}
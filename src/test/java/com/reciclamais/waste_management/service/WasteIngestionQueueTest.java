@@ -0,0 +1,136 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.config.AppThreads;
+import com.reciclamais.waste_management.exceptions.WasteQueueFullException;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.model.WasteMonthly;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que a fila de gravação assíncrona grava todos os registros aceitos,
+ * inclusive os pendentes no encerramento e os aceitos durante o encerramento.
+ */
+@SpringBootTest(properties = {"waste.ingestion.async=true", "waste.ingestion.overflow=BLOCK"})
+@DirtiesContext
+class WasteIngestionQueueTest {
+
+    private static final String EMAIL = "fila@example.com";
+    private static final int SUBMISSIONS = 400;
+
+    @Autowired
+    private WasteIngestionQueue ingestionQueue;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteBatchWriter batchWriter;
+
+    @Autowired
+    private AppThreads threads;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Fila", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void acceptedSubmissionsAreWrittenInGroupsAndFlushedOnShutdown() throws Exception {
+        ExecutorService collectors = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int index = i;
+            collectors.execute(() -> ingestionQueue.submit(new Waste(null, Type.VIDRO, 1.5, LocalDate.now(),
+                    "Coleta pela fila " + index, null, true), EMAIL));
+        }
+        collectors.shutdown();
+        assertTrue(collectors.awaitTermination(30, TimeUnit.SECONDS));
+
+        ingestionQueue.shutdown();
+
+        WasteIngestionQueue.Stats stats = ingestionQueue.getStats();
+        assertEquals(SUBMISSIONS, stats.accepted());
+        assertEquals(SUBMISSIONS, stats.written());
+        assertEquals(0, stats.pending());
+        assertTrue(stats.groups() <= SUBMISSIONS);
+        assertEquals(SUBMISSIONS, wasteRepository.count());
+        assertEquals(SUBMISSIONS * 1.5, monthlyRepository.findAll().stream()
+                .mapToDouble(WasteMonthly::getTotalWeight).sum(), 1e-6);
+
+        assertThrows(WasteQueueFullException.class, () -> ingestionQueue.submit(new Waste(null, Type.VIDRO, 1.5,
+                LocalDate.now(), "Coleta após o encerramento", null, true), EMAIL));
+    }
+
+    @Test
+    void submissionsRacingWithShutdownAreEitherWrittenOrRejected() throws Exception {
+        WasteIngestionQueue queue = new WasteIngestionQueue(wasteService, userCache, batchWriter, threads, true,
+                100_000, WasteIngestionQueue.Overflow.REJECT, Duration.ofSeconds(2), 50, Duration.ofSeconds(30));
+        queue.start();
+
+        List<CompletableFuture<Void>> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            submitters.add(CompletableFuture.runAsync(() -> {
+                for (int n = 0; n < 5000; n++) {
+                    try {
+                        queue.submit(new Waste(null, Type.PAPEL, 1.0, LocalDate.now(),
+                                "Coleta durante o encerramento", null, true), EMAIL);
+                    } catch (WasteQueueFullException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+        Thread.sleep(200);
+        queue.shutdown();
+        CompletableFuture.allOf(submitters.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        WasteIngestionQueue.Stats stats = queue.getStats();
+        assertTrue(stats.accepted() > 0);
+        assertEquals(stats.accepted(), stats.written());
+        assertEquals(0, stats.pending());
+        assertEquals(stats.accepted(), wasteRepository.count());
+    }
+}
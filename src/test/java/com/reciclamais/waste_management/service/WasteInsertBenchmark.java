@@ -0,0 +1,134 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede a vazão de inserção de 100 mil resíduos pelo JPA e pelo gravador em lote.
+ *
+ * Não faz parte da suíte de testes; execute com {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "waste.aggregates.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.reciclamais.waste_management=INFO"
+})
+class WasteInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int WARMUP_ROWS = 10_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WasteBatchWriter batchWriter;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User(null, "Benchmark", "benchmark@example.com", "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void jpaInsert() {
+        insertWithJpa(WARMUP_ROWS);
+        wasteRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertWithJpa(ROWS);
+        report("JPA (persist + flush a cada " + BATCH_SIZE + ")", start);
+        assertEquals(ROWS, wasteRepository.count());
+    }
+
+    @Test
+    void batchWriterInsert() {
+        insertWithBatchWriter(WARMUP_ROWS);
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        insertWithBatchWriter(ROWS);
+        report("WasteBatchWriter (lotes de " + BATCH_SIZE + ")", start);
+        assertEquals(ROWS, wasteRepository.count());
+    }
+
+    private void insertWithJpa(int rows) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+            int from = offset;
+            transaction.executeWithoutResult(status -> {
+                for (int i = from; i < from + BATCH_SIZE; i++) {
+                    entityManager.persist(newWaste(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void insertWithBatchWriter(int rows) {
+        List<Waste> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(newWaste(i));
+            if (batch.size() == BATCH_SIZE) {
+                batchWriter.write(batch);
+                batch.clear();
+            }
+        }
+        batchWriter.write(batch);
+    }
+
+    private Waste newWaste(int i) {
+        return new Waste(null, Type.values()[i % Type.values().length], 1.0 + i % 50,
+                LocalDate.of(2024, 1 + i % 12, 1 + i % 28), "Resíduo de benchmark " + i, user, i % 2 == 0);
+    }
+
+    private static void report(String strategy, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %d linhas em %.2f s (%.0f linhas/s)%n", strategy, ROWS, seconds, ROWS / seconds);
+    }
+}
@@ -0,0 +1,160 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.WasteCursor;
+import com.reciclamais.waste_management.dto.WasteDTO;
+import com.reciclamais.waste_management.dto.WasteSliceDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica a paginação por chave (data, id) do histórico de resíduos:
+ * páginas sem repetições nem lacunas com várias coletas na mesma data,
+ * detecção da próxima página, cursores inválidos e limite do tamanho.
+ */
+@SpringBootTest(properties = "waste.aggregates.enabled=false")
+class WastePaginationTest {
+
+    private static final String FIRST_EMAIL = "pagina1@example.com";
+    private static final LocalDate START = LocalDate.of(2024, 2, 1);
+    private static final LocalDate END = LocalDate.of(2024, 2, 10);
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final List<Waste> wastes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = userRepository.saveAll(List.of(
+                new User(null, "Página Um", FIRST_EMAIL, "senha-codificada", TypeUser.USER),
+                new User(null, "Página Dois", "pagina2@example.com", "senha-codificada", TypeUser.USER)));
+        // Quatro coletas por dia, de 2024-01-30 a 2024-02-12: bordas do período e datas repetidas
+        for (int i = 0; i < 56; i++) {
+            wastes.add(wasteRepository.save(new Waste(null, Type.values()[i % 4], 1.0 + i,
+                    LocalDate.of(2024, 1, 30).plusDays(i / 4), "Coleta paginada " + i, users.get(i % 2), true)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("pagina"))
+                .toList());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void walksPeriodWithoutDuplicatesOrGaps() {
+        List<Long> expected = expectedIds(waste -> !waste.getDate().isBefore(START) && !waste.getDate().isAfter(END));
+
+        for (int size : new int[]{1, 3, 4, 7, 40, 500}) {
+            List<Long> walked = walk(cursor -> wasteService.findPageByPeriod(START, END, cursor, size), size);
+            assertEquals(expected, walked, "tamanho " + size);
+        }
+    }
+
+    @Test
+    void walksUserHistoryWithoutDuplicatesOrGaps() {
+        List<Long> expected = expectedIds(waste -> waste.getUser().getEmail().equals(FIRST_EMAIL));
+
+        for (int size : new int[]{1, 5, 28}) {
+            List<Long> walked = walk(cursor -> wasteService.findPageByUser(FIRST_EMAIL, cursor, size), size);
+            assertEquals(expected, walked, "tamanho " + size);
+        }
+    }
+
+    @Test
+    void lastFullPageHasNoNextCursor() {
+        // 40 coletas no período: a quarta página de 10 é a última, sem página vazia depois
+        WasteCursor cursor = null;
+        for (int page = 1; page <= 4; page++) {
+            WasteSliceDTO slice = wasteService.findPageByPeriod(START, END, cursor, 10);
+            assertEquals(10, slice.getItems().size());
+            if (page < 4) {
+                assertNotNull(slice.getNextCursor());
+                cursor = WasteCursor.decode(slice.getNextCursor());
+            } else {
+                assertNull(slice.getNextCursor());
+            }
+        }
+        assertNull(wasteService.findPageByPeriod(START, END, null, 40).getNextCursor());
+        assertNotNull(wasteService.findPageByPeriod(START, END, null, 39).getNextCursor());
+    }
+
+    @Test
+    void rejectsInvalidCursorsAndPageSizes() {
+        for (String cursor : new String[]{"", "2024-02-01", "2024-02-30_5", "2024-02-01_x", "_10", "abc_def"}) {
+            assertThrows(IllegalArgumentException.class, () -> WasteCursor.decode(cursor), cursor);
+        }
+        WasteCursor cursor = new WasteCursor(LocalDate.of(2024, 2, 5), 42);
+        assertEquals(cursor, WasteCursor.decode(cursor.encode()));
+
+        assertEquals(40, wasteService.findPageByPeriod(START, END, null, 500).getItems().size());
+        assertThrows(IllegalArgumentException.class, () -> wasteService.findPageByPeriod(START, END, null, 501));
+        assertThrows(IllegalArgumentException.class, () -> wasteService.findPageByPeriod(START, END, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> wasteService.findPageByUser(FIRST_EMAIL, null, -1));
+    }
+
+    private List<Long> walk(Function<WasteCursor, WasteSliceDTO> pages, int size) {
+        List<Long> ids = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        WasteCursor cursor = null;
+        do {
+            WasteSliceDTO slice = pages.apply(cursor);
+            assertTrue(slice.getItems().size() <= size);
+            for (WasteDTO waste : slice.getItems()) {
+                assertTrue(seen.add(waste.getId()), "resíduo repetido: " + waste.getId());
+                ids.add(waste.getId());
+            }
+            cursor = slice.getNextCursor() == null ? null : WasteCursor.decode(slice.getNextCursor());
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<Long> expectedIds(Predicate<Waste> filter) {
+        return wastes.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(Waste::getDate).thenComparing(Waste::getId).reversed())
+                .map(Waste::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,246 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.WasteManagementApplication;
+import com.reciclamais.waste_management.event.WasteDataReloadedEvent;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica as migrações do PostgreSQL e a manutenção das partições mensais de
+ * {@code tb_waste} em um PostgreSQL embarcado, com um banco novo por teste:
+ * criação de partições (e movimentação da partição padrão), retenção com
+ * arquivamento e com remoção, incluindo os envios e os totais mensais do mês,
+ * e a atualização de um banco criado antes das migrações.
+ */
+class WastePartitionMaintainerTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private String database;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void createDatabase() {
+        database = "waste_" + DATABASES.incrementAndGet();
+        new JdbcTemplate(postgres.getPostgresDatabase()).execute("CREATE DATABASE " + database);
+        dataSource = postgres.getDatabase("postgres", database);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void createsMissingPartitionsAndMovesDefaultRows() {
+        migrate();
+        insertUser(1);
+        YearMonth current = YearMonth.now();
+        YearMonth future = current.plusMonths(6);
+        // A migração cria as partições até três meses à frente
+        insertWaste(1, future.atDay(10), 1);
+        assertEquals(1, count("tb_waste_default"));
+
+        WastePartitionMaintainer maintainer = maintainer(0, "archive");
+        assertTrue(maintainer.isPartitioned());
+        assertEquals(3, maintainer.createPartitions(current, future));
+
+        assertEquals(0, count("tb_waste_default"));
+        assertEquals(1, count(partition(future)));
+        assertEquals(1, count("tb_waste"));
+        assertEquals(0, maintainer.createPartitions(current, future));
+        assertTrue(maintainer.applyRetention().isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void archiveRetentionMovesOldPartitionAndRemovesItsSubmissionsAndTotals() {
+        migrate();
+        YearMonth old = YearMonth.now().minusMonths(5);
+        createMonthWithData(old);
+
+        WastePartitionMaintainer maintainer = maintainer(2, "archive");
+        assertEquals(List.of(old), maintainer.applyRetention());
+
+        assertNull(regclass(partition(old)));
+        assertNotNull(regclass("archive." + partition(old)));
+        assertEquals(1, count("archive." + partition(old)));
+        assertRetainedOnlyCurrentMonth();
+        assertEquals(List.of(new WasteDataReloadedEvent(0)), events);
+
+        assertTrue(maintainer.applyRetention().isEmpty());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void dropRetentionRemovesOldPartition() {
+        migrate();
+        YearMonth old = YearMonth.now().minusMonths(5);
+        createMonthWithData(old);
+
+        WastePartitionMaintainer maintainer = maintainer(2, "drop");
+        assertEquals(List.of(old), maintainer.applyRetention());
+
+        assertNull(regclass(partition(old)));
+        assertNull(regclass("archive." + partition(old)));
+        assertRetainedOnlyCurrentMonth();
+        assertEquals(List.of(new WasteDataReloadedEvent(0)), events);
+    }
+
+    @Test
+    void upgradesDatabaseCreatedBeforeMigrations() {
+        // Esquema gerado pelo Hibernate (ddl-auto: update) antes das migrações
+        jdbcTemplate.execute("""
+                CREATE TABLE tb_users (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    name VARCHAR(50) NOT NULL,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    password VARCHAR(255) NOT NULL,
+                    type_user VARCHAR(10) CHECK (type_user IN ('ADMIN', 'USER')))""");
+        jdbcTemplate.execute("""
+                CREATE TABLE tb_waste (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    type VARCHAR(255) NOT NULL,
+                    weight FLOAT(53) NOT NULL,
+                    date DATE NOT NULL,
+                    description VARCHAR(500) NOT NULL,
+                    user_id BIGINT NOT NULL REFERENCES tb_users,
+                    recycled BOOLEAN NOT NULL)""");
+        jdbcTemplate.update("INSERT INTO tb_users (name, email, password, type_user) " +
+                "VALUES ('Antigo', 'antigo@reciclamais.com', 'x', 'USER')");
+        LocalDate lastYear = LocalDate.now().minusYears(1);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO tb_waste (type, weight, date, description, user_id, recycled) " +
+                    "VALUES ('PAPEL', 2.5, ?, 'Caixas', 1, true)", Date.valueOf(lastYear.plusMonths(i)));
+        }
+
+        migrate();
+
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "SELECT version FROM flyway_schema_history WHERE type = 'BASELINE'", String.class));
+        assertEquals(3, count("tb_waste"));
+        assertEquals(1, count("tb_users"));
+        assertTrue(maintainer(0, "archive").isPartitioned());
+        assertEquals(1, count(partition(YearMonth.from(lastYear))));
+        for (String table : List.of("tb_waste_monthly", "tb_waste_submission", "spring_session")) {
+            assertNotNull(regclass(table), table);
+        }
+        for (String index : List.of("idx_waste_date", "idx_waste_user_date", "idx_waste_submission_waste")) {
+            assertNotNull(regclass(index), index);
+        }
+        Long nextWaste = jdbcTemplate.queryForObject("SELECT nextval('tb_waste_seq')", Long.class);
+        assertTrue(nextWaste > 3, "tb_waste_seq deve começar após os ids existentes: " + nextWaste);
+
+        // O Hibernate valida as entidades contra o esquema migrado (ddl-auto: validate)
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WasteManagementApplication.class)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", database),
+                        "--spring.datasource.username=postgres",
+                        "--server.port=0",
+                        "--management.server.port=0")) {
+            assertTrue(context.isRunning());
+        }
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    private WastePartitionMaintainer maintainer(int retentionMonths, String action) {
+        return new WastePartitionMaintainer(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                events::add, 3, retentionMonths, action, "archive");
+    }
+
+    /**
+     * Um resíduo, um envio e um total mensal no mês antigo (partição criada
+     * pela manutenção) e no mês atual.
+     */
+    private void createMonthWithData(YearMonth old) {
+        insertUser(1);
+        insertWaste(1, old.atDay(15), 1);
+        insertWaste(2, LocalDate.now(), 1);
+        assertEquals(1, maintainer(0, "archive").createPartitions(old, old));
+        assertEquals(1, count(partition(old)));
+        for (long wasteId = 1; wasteId <= 2; wasteId++) {
+            jdbcTemplate.update("INSERT INTO tb_waste_submission (user_id, idempotency_key, waste_id, created_at) " +
+                    "VALUES (1, ?, ?, ?)", "chave-" + wasteId, wasteId, OffsetDateTime.now());
+        }
+        for (YearMonth month : List.of(old, YearMonth.now())) {
+            jdbcTemplate.update("INSERT INTO tb_waste_monthly (period_year, period_month, type, user_id, " +
+                    "total_weight, recycled_weight, count) VALUES (?, ?, 'PAPEL', 1, 2.5, 2.5, 1)",
+                    month.getYear(), month.getMonthValue());
+        }
+    }
+
+    private void assertRetainedOnlyCurrentMonth() {
+        YearMonth current = YearMonth.now();
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT id FROM tb_waste", Long.class));
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT waste_id FROM tb_waste_submission", Long.class));
+        assertEquals(List.of(current.getMonthValue()),
+                jdbcTemplate.queryForList("SELECT period_month FROM tb_waste_monthly", Integer.class));
+        assertFalse(jdbcTemplate.queryForList("SELECT relname FROM pg_class WHERE relname = ?", String.class,
+                partition(current)).isEmpty());
+    }
+
+    private void insertUser(long id) {
+        jdbcTemplate.update("INSERT INTO tb_users (id, name, email, password, type_user) VALUES (?, ?, ?, 'x', 'USER')",
+                id, "Usuário " + id, "usuario" + id + "@reciclamais.com");
+    }
+
+    private void insertWaste(long id, LocalDate date, long userId) {
+        jdbcTemplate.update("INSERT INTO tb_waste (id, type, weight, date, description, user_id, recycled) " +
+                "VALUES (?, 'PAPEL', 2.5, ?, 'Caixas', ?, true)", id, Date.valueOf(date), userId);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private String regclass(String name) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, name);
+    }
+
+    private static String partition(YearMonth month) {
+        return "tb_waste_p" + month.format(PARTITION_MONTH);
+    }
+}
@@ -0,0 +1,147 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.dto.TypeWasteDTO;
+import com.reciclamais.waste_management.dto.UserRankingDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara as projeções agrupadas no banco (SUM/GROUP BY) com os mesmos
+ * valores calculados a partir das entidades carregadas.
+ */
+@SpringBootTest(properties = "waste.aggregates.enabled=false")
+class WasteProjectionTest {
+
+    private static final double DELTA = 1e-6;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = userRepository.saveAll(List.of(
+                new User(null, "Projeção Um", "projecao1@example.com", "senha-codificada", TypeUser.USER),
+                new User(null, "Projeção Dois", "projecao2@example.com", "senha-codificada", TypeUser.USER),
+                new User(null, "Projeção Três", "projecao3@example.com", "senha-codificada", TypeUser.USER)));
+        LocalDate start = LocalDate.of(2023, 10, 3);
+        for (int i = 0; i < 90; i++) {
+            wasteRepository.save(new Waste(null, Type.values()[(i * 7) % Type.values().length], 0.25 + (i % 11) * 1.5,
+                    start.plusDays(i * 4L), "Coleta projetada " + i, users.get(i % 3), i % 5 < 3));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("projecao"))
+                .toList());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void totalsMatchEntities() {
+        List<Waste> wastes = wasteService.findAll();
+        double total = wastes.stream().mapToDouble(Waste::getWeight).sum();
+        double recycled = wastes.stream().filter(Waste::getRecycled).mapToDouble(Waste::getWeight).sum();
+
+        assertEquals(total, wasteService.getTotalWaste(), DELTA);
+        assertEquals(recycled, wasteService.getWasteRecycled(), DELTA);
+        assertEquals(recycled / total * 100, wasteService.getRecyclingRate(), DELTA);
+    }
+
+    @Test
+    void weightByTypeMatchesEntities() {
+        List<Waste> wastes = wasteService.findAll();
+        double total = wastes.stream().mapToDouble(Waste::getWeight).sum();
+        Map<String, Double> expected = new HashMap<>();
+        wastes.forEach(waste -> expected.merge(waste.getType().name(), waste.getWeight(), Double::sum));
+
+        List<TypeWasteDTO> byType = wasteService.getWasteByType();
+        assertEquals(expected.size(), byType.size());
+        for (int i = 0; i < byType.size(); i++) {
+            TypeWasteDTO dto = byType.get(i);
+            double weight = expected.get(dto.getType());
+            assertEquals(Math.round(weight), dto.getQuantity(), dto.getType());
+            assertEquals(weight * 100 / total, dto.getPercentage(), 1e-9, dto.getType());
+            if (i > 0) {
+                assertTrue(byType.get(i - 1).getQuantity() >= dto.getQuantity(), "ordem por quantidade");
+            }
+        }
+    }
+
+    @Test
+    void userRankingsMatchEntities() {
+        Map<Long, Double> expected = new HashMap<>();
+        for (Waste waste : wasteService.findAll()) {
+            if (waste.getRecycled()) {
+                expected.merge(waste.getUser().getId(), waste.getWeight(), Double::sum);
+            }
+        }
+
+        List<UserRankingDTO> rankings = wasteService.getUserRankings();
+        assertEquals(expected.size(), rankings.size());
+        for (int i = 0; i < rankings.size(); i++) {
+            UserRankingDTO ranking = rankings.get(i);
+            assertEquals(expected.get(ranking.getUserId()), ranking.getTotalRecycled(), DELTA);
+            assertEquals(userRepository.findById(ranking.getUserId()).orElseThrow().getName(), ranking.getName());
+            if (i > 0) {
+                assertTrue(rankings.get(i - 1).getTotalRecycled() >= ranking.getTotalRecycled());
+            }
+        }
+    }
+
+    @Test
+    void monthlyTotalsMatchEntities() {
+        Map<String, double[]> expected = new TreeMap<>();
+        for (Waste waste : wasteService.findAll()) {
+            double[] values = expected.computeIfAbsent(waste.getDate().withDayOfMonth(1) + " " + waste.getType(),
+                    key -> new double[3]);
+            values[0] += waste.getWeight();
+            values[1] += waste.getRecycled() ? waste.getWeight() : 0;
+            values[2]++;
+        }
+
+        List<MonthlyWasteDTO> monthly = wasteRepository.sumWeightByMonthAndType();
+        assertEquals(expected.size(), monthly.size());
+        for (MonthlyWasteDTO row : monthly) {
+            double[] values = expected.get(row.getPeriod() + " " + row.getType());
+            assertEquals(values[0], row.getTotalWeight(), DELTA);
+            assertEquals(values[1], row.getRecycledWeight(), DELTA);
+            assertEquals((long) values[2], row.getCount());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica que gravações concorrentes do mesmo mês, tipo e usuário criam e
+ * somam uma única linha mensal, sem violar a restrição única.
+ */
+@SpringBootTest
+class WasteRollupServiceTest {
+
+    private static final String EMAIL = "rollup@example.com";
+    private static final int WRITERS = 8;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "Rollup", EMAIL, "senha-codificada", TypeUser.USER));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.delete(userRepository.findByEmail(EMAIL).orElseThrow());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void concurrentFirstWritesShareOneMonthlyRow() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // Cada rodada usa um mês ainda sem linha mensal
+            LocalDate date = LocalDate.of(2020, 1, 15).plusMonths(round);
+            CyclicBarrier start = new CyclicBarrier(WRITERS);
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await(10, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    wasteService.save(new Waste(null, Type.PAPEL, 2.0, date, "Gravação concorrente",
+                            null, true), EMAIL);
+                }));
+            }
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        }
+
+        List<MonthlyWasteDTO> monthly = monthlyRepository.sumByMonthAndType();
+        assertEquals(ROUNDS, monthlyRepository.count());
+        assertEquals(ROUNDS, monthly.size());
+        for (MonthlyWasteDTO row : monthly) {
+            assertEquals(WRITERS, row.getCount());
+            assertEquals(WRITERS * 2.0, row.getTotalWeight(), 1e-9);
+            assertEquals(WRITERS * 2.0, row.getRecycledWeight(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.reciclamais.waste_management.service;
+
+import com.reciclamais.waste_management.dto.MonthlyWasteDTO;
+import com.reciclamais.waste_management.model.Type;
+import com.reciclamais.waste_management.model.TypeUser;
+import com.reciclamais.waste_management.model.User;
+import com.reciclamais.waste_management.model.Waste;
+import com.reciclamais.waste_management.repository.UserRepository;
+import com.reciclamais.waste_management.repository.WasteMonthlyRepository;
+import com.reciclamais.waste_management.repository.WasteRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica quantas instruções SQL cada método do {@link WasteService} executa,
+ * garantindo que não há carregamento N+1 de usuários.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "waste.aggregates.enabled=false"
+})
+class WasteServiceQueryCountTest {
+
+    private static final String FIRST_EMAIL = "coletor1@example.com";
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 15);
+
+    @Autowired
+    private WasteService wasteService;
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private WasteRepository wasteRepository;
+
+    @Autowired
+    private WasteMonthlyRepository monthlyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<User> users = userRepository.saveAll(List.of(
+                newUser("Coletor Um", FIRST_EMAIL),
+                newUser("Coletor Dois", "coletor2@example.com"),
+                newUser("Coletor Três", "coletor3@example.com")));
+        for (int i = 0; i < 12; i++) {
+            Waste waste = new Waste(null, Type.values()[i % 4], 5.0 + i, TODAY.minusMonths(i % 3),
+                    "Coleta de teste número " + i, users.get(i % users.size()), i % 2 == 0);
+            wasteRepository.save(waste);
+        }
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monthlyRepository.deleteAllInBatch();
+        wasteRepository.deleteAllInBatch();
+        userRepository.deleteAll(userRepository.findAll().stream()
+                .filter(user -> user.getEmail().startsWith("coletor"))
+                .toList());
+        userCache.invalidateAll();
+    }
+
+    @Test
+    void aggregatesRunOneStatementWithoutLoadingEntities() {
+        assertProjection(1, wasteService::getTotalWaste);
+        assertProjection(1, wasteService::getWasteRecycled);
+        assertProjection(2, wasteService::getRecyclingRate);
+        assertProjection(1, wasteService::getWasteByType);
+        assertProjection(1, wasteService::getUserRankings);
+        assertProjection(1, forecastService::predictNextMonthWaste);
+    }
+
+    @Test
+    void entityQueriesFetchUsersInTheSameStatement() {
+        assertStatements(1, () -> wasteService.findAll().forEach(waste -> waste.getUser().getName()));
+        assertStatements(1, () -> wasteService.findByPeriod(TODAY.minusMonths(1), TODAY)
+                .forEach(waste -> waste.getUser().getName()));
+        assertStatements(1, () -> wasteService.findByUser(FIRST_EMAIL)
+                .forEach(waste -> waste.getUser().getName()));
+    }
+
+    @Test
+    void pagesAreProjectedInOneStatement() {
+        assertProjection(1, () -> wasteService.findPageByUser(FIRST_EMAIL, null, 2));
+        assertProjection(1, () -> wasteService.findPageByPeriod(TODAY.minusMonths(2), TODAY, null, 5));
+    }
+
+    @Test
+    void saveLooksUpUserOnceAndInsertsWasteAndMonthlyTotal() {
+        Waste first = new Waste(null, Type.PAPEL, 3.0, TODAY, "Papelão da coleta seletiva", null, true);
+        Waste second = new Waste(null, Type.PAPEL, 2.0, TODAY, "Jornais da coleta seletiva", null, true);
+        // Instruções do Hibernate: usuário e resíduo; o total mensal é um único
+        // upsert pelo JdbcTemplate, fora das estatísticas do Hibernate
+        assertStatements(2, () -> wasteService.save(first, FIRST_EMAIL), first);
+        // usuário em cache: somente o resíduo
+        assertStatements(1, () -> wasteService.save(second, FIRST_EMAIL), second);
+
+        // Os resíduos do setUp não passam pelo serviço: a única linha mensal é a dos dois registros
+        List<MonthlyWasteDTO> monthly = monthlyRepository.sumByMonthAndType();
+        assertEquals(1, monthly.size());
+        assertEquals(2, monthly.get(0).getCount());
+        assertEquals(5.0, monthly.get(0).getTotalWeight(), 1e-9);
+    }
+
+    /**
+     * Como {@link #assertStatements(long, Runnable)}, somando a consulta à
+     * sequência quando o id do resíduo gravado abriu um novo bloco.
+     */
+    private void assertStatements(long expected, Runnable action, Waste saved) {
+        statistics.clear();
+        action.run();
+        long sequenceCalls = (saved.getId() - 1) % Waste.ID_ALLOCATION_SIZE == 0 ? 1 : 0;
+        assertEquals(expected + sequenceCalls, statistics.getPrepareStatementCount());
+    }
+
+    private void assertStatements(long expected, Runnable action) {
+        statistics.clear();
+        action.run();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private void assertProjection(long expected, Runnable action) {
+        assertStatements(expected, action);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private static User newUser(String name, String email) {
+        return new User(null, name, email, "senha-codificada", TypeUser.USER);
+    }
+}